@@ -0,0 +1,86 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package benchmark;
+
+import core.PlayingCard;
+import data.GameDataSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ Fixed, seeded inputs shared by the benchmarks
+ The same seed always gives the same hands and game states, so numbers taken
+ before and after a change are measured on exactly the same work
+ */
+public final class BenchmarkCorpus {
+    public static final long SEED = 30008;
+    public static final int CORPUS_SIZE = 1024;
+    public static final String MELD_FILE = "melds.json";
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+
+    private BenchmarkCorpus() {
+    }
+
+    // Random hands of the given size, dealt from a shuffled double deck
+    public static List<List<PlayingCard>> hands(int handSize, long seed) {
+        Random random = new Random(seed);
+        List<PlayingCard> deck = PlayingCard.fullDeck();
+        List<List<PlayingCard>> hands = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            Collections.shuffle(deck, random);
+            hands.add(new ArrayList<>(deck.subList(0, handSize)));
+        }
+        return hands;
+    }
+
+    public static String trump(int index) {
+        return TRUMPS[index % TRUMPS.length];
+    }
+
+    /**
+     Snapshots in the middle of the trick taking phase
+     Player 0 holds 12 - tricksPlayed cards, the played cards are random, and
+     every second snapshot has a card led by player 1 in the current trick
+     */
+    public static List<GameDataSnapshot> trickSnapshots(long seed) {
+        Random random = new Random(seed);
+        List<PlayingCard> deck = PlayingCard.fullDeck();
+        List<GameDataSnapshot> snapshots = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            Collections.shuffle(deck, random);
+            int tricksPlayed = random.nextInt(12);
+            int handSize = 12 - tricksPlayed;
+            List<PlayingCard> hand0 = new ArrayList<>(deck.subList(0, handSize));
+            List<PlayingCard> hand1 = new ArrayList<>(deck.subList(handSize, handSize * 2));
+            List<PlayingCard> played = new ArrayList<>(deck.subList(handSize * 2, handSize * 2 + tricksPlayed * 2));
+            List<PlayingCard> trick = new ArrayList<>();
+            if (i % 2 == 1) {
+                trick.add(hand1.remove(0));
+            }
+            snapshots.add(new GameDataSnapshot(List.of(hand0, hand1), played, trump(i),
+                    100, new int[]{0, 0}, trick, deck.size() - handSize * 2 - tricksPlayed * 2, 0));
+        }
+        return snapshots;
+    }
+
+    // Properties of an all-smart AI, the meld score cache is off so every call searches
+    public static Properties smartProperties(boolean additionalMelds) {
+        Properties properties = new Properties();
+        properties.setProperty("melds.additional", String.valueOf(additionalMelds));
+        properties.setProperty("melds.cache.size", "0");
+        properties.setProperty("players.0.smartbids", "true");
+        properties.setProperty("mode.smarttrick", "true");
+        properties.setProperty("mode.cutthroat", "false");
+        properties.setProperty("isAuto", "false");
+        properties.setProperty("players.bid_first", "computer");
+        return properties;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package benchmark;
+
+import ai.AIBuilder;
+import ai.GameAI;
+import engine.AIPlayerController;
+import engine.CutThroatPhaseHook;
+import engine.PinochleEngine;
+import engine.PlayerController;
+import meld.MeldAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ A full AI against AI game on the headless engine, from the deal to the winners
+ Game n always uses the seed SEED + n, so the same games are played every run
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cutThroat;
+
+    private Properties properties;
+    private MeldAnalyzer analyzer;
+    private GameAI[] gameAIs;
+    private PlayerController[] controllers;
+    private long gameIndex = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        properties = BenchmarkCorpus.smartProperties(true);
+        properties.setProperty("mode.cutthroat", String.valueOf(cutThroat));
+        // The cache is part of a real game, keep it on here
+        properties.remove("melds.cache.size");
+        analyzer = new MeldAnalyzer(BenchmarkCorpus.MELD_FILE, properties);
+        gameAIs = new GameAI[PinochleEngine.NB_PLAYERS];
+        controllers = new PlayerController[PinochleEngine.NB_PLAYERS];
+        for (int i = 0; i < controllers.length; i++) {
+            gameAIs[i] = new AIBuilder(properties, analyzer)
+                    .configureFromProperties()
+                    .build();
+            controllers[i] = new AIPlayerController(gameAIs[i]);
+        }
+    }
+
+    @Benchmark
+    public String headlessGame() {
+        for (GameAI gameAI : gameAIs) {
+            gameAI.reset();
+        }
+        PinochleEngine engine = new PinochleEngine(properties, analyzer,
+                new Random(BenchmarkCorpus.SEED + (gameIndex++ % BenchmarkCorpus.CORPUS_SIZE)));
+        if (cutThroat) {
+            engine.addPhaseHook(new CutThroatPhaseHook(controllers));
+        }
+        return engine.play(controllers);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package benchmark;
+
+import core.CardSet;
+import meld.MeldAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ MeldAnalyzer.calculateBestScore on a corpus of hands
+ One operation is the best score of one hand, the cache is off
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MeldBenchmark {
+
+    @Param({"false", "true"})
+    public boolean additionalMelds;
+
+    @Param({"12", "13", "14"})
+    public int handSize;
+
+    @Param({"memoized", "backtracking"})
+    public String optimizer;
+
+    private MeldAnalyzer analyzer;
+    private CardSet[] hands;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Properties properties = BenchmarkCorpus.smartProperties(additionalMelds);
+        properties.setProperty("melds.optimizer", optimizer);
+        analyzer = new MeldAnalyzer(BenchmarkCorpus.MELD_FILE, properties);
+
+        List<List<core.PlayingCard>> corpus = BenchmarkCorpus.hands(handSize, BenchmarkCorpus.SEED);
+        hands = new CardSet[corpus.size()];
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = CardSet.of(corpus.get(i));
+        }
+    }
+
+    @Benchmark
+    public int calculateBestScore() {
+        int index = next++ & (hands.length - 1);
+        return analyzer.calculateBestScore(hands[index], BenchmarkCorpus.trump(index));
+    }
+
+    @Benchmark
+    public int analyzeAllTrumps() {
+        int index = next++ & (hands.length - 1);
+        return analyzer.analyzeAllTrumps(hands[index]).size();
+    }
+}
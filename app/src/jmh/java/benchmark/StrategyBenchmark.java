@@ -0,0 +1,128 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package benchmark;
+
+import ai.strategy.CardDiscardStrategy;
+import ai.strategy.SmartBiddingStrategy;
+import ai.strategy.SmartCardPlayStrategy;
+import core.PlayingCard;
+import data.GameDataSnapshot;
+import meld.MeldAnalyzer;
+import org.openjdk.jmh.annotations.*;
+import protocolframework.DecisionType;
+import protocolframework.Request.BidRequest;
+import protocolframework.Request.GeneralCardDecisionRequest;
+import protocolframework.decision.BidDecision;
+import protocolframework.decision.GeneralCardDecision;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ One decision of each AI strategy, and the snapshot every decision starts from
+ The requests are built in the setup, so only the decision itself is measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyBenchmark {
+    private static final int CUT_THROAT_HAND_SIZE = 14;
+
+    @Param({"false", "true"})
+    public boolean additionalMelds;
+
+    private SmartCardPlayStrategy cardPlayStrategy;
+    private SmartBiddingStrategy biddingStrategy;
+    private CardDiscardStrategy discardStrategy;
+
+    private GeneralCardDecisionRequest[] cardPlayRequests;
+    private BidRequest[] bidRequests;
+    private GeneralCardDecisionRequest[] discardRequests;
+    private SnapshotSource[] snapshotSources;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeldAnalyzer analyzer = new MeldAnalyzer(BenchmarkCorpus.MELD_FILE,
+                BenchmarkCorpus.smartProperties(additionalMelds));
+        cardPlayStrategy = new SmartCardPlayStrategy();
+        biddingStrategy = new SmartBiddingStrategy(analyzer);
+        discardStrategy = new CardDiscardStrategy();
+
+        List<GameDataSnapshot> snapshots = BenchmarkCorpus.trickSnapshots(BenchmarkCorpus.SEED);
+        cardPlayRequests = new GeneralCardDecisionRequest[snapshots.size()];
+        snapshotSources = new SnapshotSource[snapshots.size()];
+        for (int i = 0; i < snapshots.size(); i++) {
+            GameDataSnapshot snapshot = snapshots.get(i);
+            cardPlayRequests[i] = new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_PLAY, 0,
+                    snapshot.getPlayerHand(0));
+            snapshotSources[i] = SnapshotSource.of(snapshot);
+        }
+
+        List<List<PlayingCard>> bidHands = BenchmarkCorpus.hands(12, BenchmarkCorpus.SEED);
+        bidRequests = new BidRequest[bidHands.size()];
+        for (int i = 0; i < bidHands.size(); i++) {
+            // Every second request answers a bid, the others open the bidding
+            bidRequests[i] = new BidRequest(handSnapshot(bidHands.get(i), null), 0, i % 2 == 0 ? 0 : 100, i % 2 == 0);
+        }
+
+        List<List<PlayingCard>> discardHands = BenchmarkCorpus.hands(CUT_THROAT_HAND_SIZE, BenchmarkCorpus.SEED);
+        discardRequests = new GeneralCardDecisionRequest[discardHands.size()];
+        for (int i = 0; i < discardHands.size(); i++) {
+            List<PlayingCard> hand = discardHands.get(i);
+            discardRequests[i] = new GeneralCardDecisionRequest(handSnapshot(hand, BenchmarkCorpus.trump(i)),
+                    DecisionType.CARD_DISCARD, 0, hand);
+        }
+    }
+
+    private static GameDataSnapshot handSnapshot(List<PlayingCard> hand, String trumpSuit) {
+        return new GameDataSnapshot(List.of(hand, List.of()), List.of(), trumpSuit, 0,
+                new int[]{0, 0}, List.of(), 0, 0);
+    }
+
+    private int nextIndex() {
+        return next++ & (BenchmarkCorpus.CORPUS_SIZE - 1);
+    }
+
+    @Benchmark
+    public GeneralCardDecision smartCardPlay() {
+        return cardPlayStrategy.decide(cardPlayRequests[nextIndex()]);
+    }
+
+    @Benchmark
+    public BidDecision smartBidding() {
+        return biddingStrategy.decide(bidRequests[nextIndex()]);
+    }
+
+    @Benchmark
+    public GeneralCardDecision cardDiscard() {
+        return discardStrategy.decide(discardRequests[nextIndex()]);
+    }
+
+    // A mid-game snapshot, the engine makes one for every decision
+    @Benchmark
+    public GameDataSnapshot snapshotConstruction() {
+        SnapshotSource source = snapshotSources[nextIndex()];
+        return new GameDataSnapshot(source.hands, source.playedCards, source.trumpSuit, source.currentBid,
+                source.scores, source.currentTrick, source.packSize, source.bidWinnerIndex);
+    }
+
+    // What the engine passes to the snapshot constructor
+    private record SnapshotSource(List<List<PlayingCard>> hands, List<PlayingCard> playedCards,
+                                  String trumpSuit, int currentBid, int[] scores,
+                                  List<PlayingCard> currentTrick, int packSize, int bidWinnerIndex) {
+        static SnapshotSource of(GameDataSnapshot snapshot) {
+            return new SnapshotSource(List.of(snapshot.getPlayerHand(0), snapshot.getPlayerHand(1)),
+                    snapshot.getAllPlayedCards(), snapshot.getTrumpSuit(), snapshot.getCurrentBid(),
+                    snapshot.getScores(), snapshot.getCurrentTrick(), snapshot.getPackSize(),
+                    snapshot.getBidWinnerIndex());
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import engine.HeadlessPinochle;
+
 import java.util.Properties;
 
 public class Driver {
@@ -5,7 +7,10 @@ public class Driver {
 
     public static void main(String[] args) {
         final Properties properties = PropertiesLoader.loadPropertiesFile(DEFAULT_PROPERTIES_PATH);
-        String logResult = new Pinochle(properties).runApp();
+        // "mode.headless=true" plays the game without opening the window
+        String logResult = Boolean.parseBoolean(properties.getProperty("mode.headless", "false"))
+                ? new HeadlessPinochle(properties).runApp()
+                : new Pinochle(properties).runApp();
         System.out.println("logResult = " + logResult);
     }
 
@@ -7,23 +7,32 @@
 import ai.*;
 import ch.aplu.jcardgame.*;
 import ch.aplu.jgamegrid.*;
+import core.PlayingCard;
 import core.Rank;
 import core.Suit;
 import data.*;
+import engine.*;
 import protocolframework.DecisionType;
-import protocolframework.Request.BidRequest;
 import protocolframework.Request.GeneralCardDecisionRequest;
-import protocolframework.decision.BidDecision;
 import protocolframework.decision.GeneralCardDecision;
 import meld.*;
 
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+/**
+ The JGameGrid window of the game
+
+ All the rules now live in the headless PinochleEngine. This class only renders
+ what the engine reports (it is a GameEventListener) and collects the input of
+ the human player (GuiHumanController), so the GUI game and the simulations
+ play exactly the same game
+ */
 @SuppressWarnings("serial")
-public class Pinochle extends CardGame {
+public class Pinochle extends CardGame implements GameEventListener {
     private final Map<String, String> trumpImages = new HashMap<>(Map.of(
             Suit.SPADES.getSuitShortHand(), "sprites/bigspade.gif",
             Suit.CLUBS.getSuitShortHand(), "sprites/bigclub.gif",
@@ -34,13 +43,11 @@ public class Pinochle extends CardGame {
     static public final int seed = 30008;
     static final Random random = new Random(seed);
     private final Properties properties;
-    private final StringBuilder logResult = new StringBuilder();
-    private final List<List<String>> playerAutoMovements = new ArrayList<>();
 
 
     private final String version = "1.0";
-    public final int nbPlayers = 2;
-    public final int nbStartCards = 12;
+    public final int nbPlayers = PinochleEngine.NB_PLAYERS;
+    public final int nbStartCards = PinochleEngine.NB_START_CARDS;
     private final int handWidth = 400;
     private final int trickWidth = 40;
     private int currentBid = 0;
@@ -89,23 +96,12 @@ public class Pinochle extends CardGame {
     private final Location currentBidLocation = new Location(550, 50);
     private final Location newBidLocation = new Location(550, 75);
 
-    private boolean hasHumanBid = false;
     private int humanBid = 0;
     private final int BID_SELECTION_VALUE = 10;
     private final int MAX_SINGLE_BID = 20;
-    private final int COMPUTER_PLAYER_INDEX = 0;
-    private final int HUMAN_PLAYER_INDEX = 1;
-    private boolean hasComputerPassed = false;
-    private boolean hasHumanPassed = false;
+    private final int COMPUTER_PLAYER_INDEX = PinochleEngine.COMPUTER_PLAYER_INDEX;
+    private final int HUMAN_PLAYER_INDEX = PinochleEngine.HUMAN_PLAYER_INDEX;
     private int bidWinPlayerIndex = 0;
-    private final List<Integer> computerAutoBids = new ArrayList<>();
-    private final List<Integer> humanAutoBids = new ArrayList<>();
-    private int computerAutoBidIndex = 0;
-    private int humanAutoBidIndex = 0;
-
-    public static final String RANDOM_BID = "random";
-    public static final String COMPUTER_BID = "computer";
-    public static final String HUMAN_BID = "human";
 
     /**
      * Trump Elements
@@ -141,11 +137,19 @@ public class Pinochle extends CardGame {
             new Location(625, 350)
     };
 
+    private static final int SELECTION_X = 350;
+    private static final int SELECTION_Y = 350;
+    private static final int ROW_LAYOUT_WIDTH = 200;
+    private static final int CARD_MOVE_DELAY_MS = 50;
+
 
     private final Location playingLocation = new Location(350, 350);
     private final Location textLocation = new Location(350, 450);
     private int thinkingTime = 2000;
     private int delayTime = 600;
+    // Fast mode: no animation pauses, the table is drawn once per trick (or once per game)
+    private boolean fastMode = false;
+    private boolean redrawEachTrick = true;
     private Hand[] hands;
     private Hand[] trickWinningHands;
 
@@ -153,7 +157,9 @@ public class Pinochle extends CardGame {
     private MeldAnalyzer meldAnalyzer; // Card deck analyzer
     private GameAI computerAI; // General AI interface
     private ExtensionManager modeManager; // DLC Extension Manager
-    private List<Card> allPlayedCards = new ArrayList<>(); // Information expert, recording historical decks
+    private final PinochleEngine engine; // The rules of the game
+    private final PlayerController[] controllers = new PlayerController[nbPlayers];
+    private final Card[] guiCards = new Card[PlayingCard.DECK_SIZE]; // Engine card -> sprite
 
     public void setStatus(String string) {
         setStatusText(string);
@@ -161,7 +167,6 @@ public class Pinochle extends CardGame {
 
     private int[] scores = new int[nbPlayers];
 
-    private int[] autoIndexHands = new int[nbPlayers];
     private boolean isAuto = false;
     private Hand playingArea;
     private Hand pack;
@@ -192,30 +197,76 @@ public class Pinochle extends CardGame {
         Arrays.fill(scores, 0);
     }
 
-    private List<String> getTenToAceCards() {
-        return Arrays.asList(
-                Rank.ACE.getRankCardValue() + trumpSuit,
-                Rank.JACK.getRankCardValue() + trumpSuit,
-                Rank.QUEEN.getRankCardValue() + trumpSuit,
-                Rank.KING.getRankCardValue() + trumpSuit,
-                Rank.TEN.getRankCardValue() + trumpSuit);
+    /**
+     * Card Mapping
+     */
+
+    // The engine only knows PlayingCard, every one of them has exactly one sprite
+    private void initCardMapping() {
+        pack = deck.toHand(false);
+        for (Card card : pack.getCardList()) {
+            guiCards[toPlayingCard(card).ordinal()] = card;
+        }
     }
 
-    private int calculateMeldingScore(List list) {
-        if (list == null || list.isEmpty()) {
-            return 0;
+    private Card toGuiCard(PlayingCard card) {
+        return guiCards[card.ordinal()];
+    }
+
+    private PlayingCard toPlayingCard(Card card) {
+        return PlayingCard.of((Suit) card.getSuit(), (Rank) card.getRank());
+    }
+
+    private List<PlayingCard> toPlayingCards(List<Card> cards) {
+        return cards.stream().map(this::toPlayingCard).collect(Collectors.toList());
+    }
+
+    // Animation pause, skipped in fast mode. Waiting for the human is not an animation
+    public void pause(int milliseconds) {
+        if (!fastMode) {
+            delay(milliseconds);
         }
-        return this.meldAnalyzer.calculateBestScore(list, trumpSuit);
+    }
+
+    public boolean isFastMode() {
+        return fastMode;
+    }
+
+    // Draw every hand and the trick piles at once, used by the fast mode instead of the per-card draws
+    private void redrawTable() {
+        for (int i = 0; i < nbPlayers; i++) {
+            hands[i].draw();
+            trickWinningHands[i].draw();
+        }
+        playingArea.draw();
+        refresh();
+    }
+
+    // In fast mode the table is only drawn per trick, the human has to see the hand and the trick to answer
+    private void drawForHuman() {
+        if (fastMode) {
+            hands[HUMAN_PLAYER_INDEX].draw();
+            playingArea.draw();
+            refresh();
+        }
+    }
+
+    // Move the sprite from wherever it is into the hand
+    private void moveGuiCard(Card card, Hand target, boolean doDraw) {
+        if (card.getHand() != null) {
+            card.removeFromHand(doDraw);
+        }
+        target.insert(card, doDraw);
     }
 
     /**
-     * Card Dealing
-     * @param list
-     * @return
+     * Table Setup
      */
 
-
-    private Card selected;
+    // The buttons and the double clicks hand the moves of the human to the game thread through it
+    private final GuiHumanController humanInput = new GuiHumanController();
+    private int remainingDiscards = 0;
+    private final List<PlayingCard> humanDiscards = new ArrayList<>();
 
     private void initGame() {
         hands = new Hand[nbPlayers];
@@ -225,29 +276,29 @@ public class Pinochle extends CardGame {
             trickWinningHands[i] = new Hand(deck);
         }
         playingArea = new Hand(deck);
-        dealingOut(hands, nbPlayers, nbStartCards);
         playingArea.setView(this, new RowLayout(playingLocation,
                 (playingArea.getNumberOfCards() + 3) * trickWidth));
         playingArea.draw();
 
-        for (int i = 0; i < nbPlayers; i++) {
-            hands[i].sort(Hand.SortType.SUITPRIORITY, false);
-        }
         // Set up human player for interaction
+        // One listener for both the card play and the cut-throat discards
         CardListener
                 cardListener =
                 new CardAdapter()  // Human Player plays card
                 {
                     public void leftDoubleClicked(Card card) {
-                        if (!checkValidTrick(card,
-                                hands[HUMAN_PLAYER_INDEX].getCardList(),
-                                playingArea.getCardList())) {
+                        if (remainingDiscards > 0) {
+                            discardHumanCard(card);
+                            return;
+                        }
+                        if (!engine.isValidPlay(HUMAN_PLAYER_INDEX, toPlayingCard(card))) {
                             setStatus(
                                     "Card is not valid. Player needs to choose higher card of the same suit or trump suit");
                             return;
                         }
-                        selected = card;
-                        hands[HUMAN_PLAYER_INDEX].setTouchEnabled(false);
+                        if (humanInput.getCards().offer(toPlayingCard(card))) {
+                            hands[HUMAN_PLAYER_INDEX].setTouchEnabled(false);
+                        }
                     }
                 };
         hands[HUMAN_PLAYER_INDEX].addCardListener(cardListener);
@@ -258,7 +309,6 @@ public class Pinochle extends CardGame {
             layouts[i].setRotationAngle(180 * i);
             hands[i].setView(this, layouts[i]);
             hands[i].setTargetArea(new TargetArea(playingLocation));
-            hands[i].draw();
         }
 
         RowLayout[] trickHandLayouts = new RowLayout[nbPlayers];
@@ -269,122 +319,44 @@ public class Pinochle extends CardGame {
             trickWinningHands[i].setView(this, trickHandLayouts[i]);
             trickWinningHands[i].draw();
         }
-    }
-
-
-    // return random Card from ArrayList
-    public static Card randomCard(ArrayList<Card> list) {
-        int x = random.nextInt(list.size());
-        return list.get(x);
-    }
-
-    private String getCardName(Card card) {
-        Suit suit = (Suit) card.getSuit();
-        Rank rank = (Rank) card.getRank();
-        return rank.getRankCardValue() + suit.getSuitShortHand();
-    }
-
-
-    private Rank getRankFromString(String cardName) {
-        String rankString = cardName.substring(0, cardName.length() - 1);
-        Integer rankValue = Integer.parseInt(rankString);
 
-        for (Rank rank : Rank.values()) {
-            if (rank.getShortHandValue() == rankValue) {
-                return rank;
-            }
-        }
-
-        return Rank.ACE;
-    }
-
-    private Suit getSuitFromString(String cardName) {
-        String rankString = cardName.substring(0, cardName.length() - 1);
-        String
-                suitString =
-                cardName.substring(cardName.length() - 1, cardName.length());
-        Integer rankValue = Integer.parseInt(rankString);
-
-        for (Suit suit : Suit.values()) {
-            if (suit.getSuitShortHand().equals(suitString)) {
-                return suit;
+        if (fastMode) {
+            // Nothing is laid out card by card, so the views are set once for the whole game:
+            // the trick as wide as a full trick, the trick piles as the normal mode leaves them
+            playingArea.setView(this, new RowLayout(playingLocation, (nbPlayers + 2) * trickWidth));
+            for (int i = 0; i < nbPlayers; i++) {
+                trickHandLayouts[i] = new RowLayout(trickHandLocations[i], handWidth);
+                trickHandLayouts[i].setRotationAngle(90);
+                trickWinningHands[i].setView(this, trickHandLayouts[i]);
             }
         }
-        return Suit.CLUBS;
     }
 
+    private void discardHumanCard(Card card) {
+        Hand playerHand = hands[HUMAN_PLAYER_INDEX];
+        playerHand.setTouchEnabled(false);
+        card.removeFromHand(false);
+        humanDiscards.add(toPlayingCard(card));
+        remainingDiscards--;
+        playerHand.draw();
 
-    private Card getCardFromList(List<Card> cards,
-                                 String cardName) {
-        Rank existingRank = getRankFromString(cardName);
-        Suit existingSuit = getSuitFromString(cardName);
-        for (Card card : cards) {
-            Suit suit = (Suit) card.getSuit();
-            Rank rank = (Rank) card.getRank();
-            if (suit.getSuitShortHand().equals(existingSuit.getSuitShortHand())
-                    &&
-                    rank.getRankCardValue() ==
-                            existingRank.getRankCardValue()) {
-                return card;
-            }
-        }
-
-        return null;
-    }
-
-    private Card applyAutoMovement(Hand hand,
-                                   String nextMovement) {
-        if (hand.isEmpty())
-            return null;
-        String[] cardStrings = nextMovement.split("-");
-        String cardDealtString = cardStrings[0];
-        if (nextMovement.isEmpty()) {
-            return null;
-        }
-        Card dealt = getCardFromList(hand.getCardList(), cardDealtString);
-        if (dealt == null) {
-            System.err.println("cannot draw card: " +
-                    cardDealtString +
-                    " - hand: " +
-                    hand.getCardList());
+        if (remainingDiscards > 0) {
+            setStatus("Please discard " + remainingDiscards + " more cards.");
+            playerHand.setTouchEnabled(true);
+        } else {
+            setStatus("Card selection completed!");
+            humanInput.getDiscards().offer(new ArrayList<>(humanDiscards));
         }
-
-        return dealt;
     }
 
-    private void dealingOut(Hand[] hands,
-                            int nbPlayers,
-                            int nbCardsPerPlayer) {
-        pack = deck.toHand(false);
-
-        for (int i = 0; i < nbPlayers; i++) {
-            String initialCardsKey = "players." + i + ".initialcards";
-            String initialCardsValue = properties.getProperty(initialCardsKey);
-            if (initialCardsValue == null) {
-                continue;
-            }
-            String[] initialCards = initialCardsValue.split(",");
-            for (String initialCard : initialCards) {
-                if (initialCard.length() <= 1) {
-                    continue;
-                }
-                Card card = getCardFromList(pack.getCardList(), initialCard);
-                if (card != null) {
-                    card.removeFromHand(false);
-                    hands[i].insert(card, false);
-                }
-            }
-        }
-
+    // The engine has dealt, put the sprites into the hands
+    @Override
+    public void onDealt(PinochleEngine engine) {
         for (int i = 0; i < nbPlayers; i++) {
-            int cardsToDealt = nbCardsPerPlayer - hands[i].getNumberOfCards();
-            for (int j = 0; j < cardsToDealt; j++) {
-                if (pack.isEmpty())
-                    return;
-                Card dealt = randomCard(pack.getCardList());
-                dealt.removeFromHand(false);
-                hands[i].insert(dealt, false);
+            for (PlayingCard card : engine.getHand(i)) {
+                moveGuiCard(toGuiCard(card), hands[i], false);
             }
+            hands[i].draw();
         }
     }
 
@@ -408,14 +380,10 @@ public class Pinochle extends CardGame {
         bidConfirmActor.setActEnabled(false);
         bidPassActor.setActEnabled(false);
 
-        hasComputerPassed = false;
-
         System.out.println("init bids");
         bidSelectionActor.addButtonListener(new GGButtonListener() {
             @Override
             public void buttonPressed(GGButton ggButton) {
-                hasHumanBid = false;
-
                 if (humanBid >= MAX_SINGLE_BID) {
                     bidSelectionActor.setActEnabled(false);
                     setStatus("Maximum amount of a single bid reached");
@@ -437,11 +405,13 @@ public class Pinochle extends CardGame {
         bidConfirmActor.addButtonListener(new GGButtonListener() {
             @Override
             public void buttonPressed(GGButton ggButton) {
-                currentBid = currentBid + humanBid;
-                hasHumanBid = true;
-                humanBid = 0;
-                updateBidText(HUMAN_PLAYER_INDEX, currentBid);
+                // The engine reads a bid of 0 as a pass, so there must be something to confirm
+                if (humanBid == 0) {
+                    setStatus("Please select a bid first or pass");
+                    return;
+                }
                 setStatus("");
+                humanInput.getBids().offer(humanBid);
             }
 
             @Override
@@ -458,8 +428,8 @@ public class Pinochle extends CardGame {
             public void buttonPressed(GGButton ggButton) {
                 updateBidText(HUMAN_PLAYER_INDEX, 0);
                 humanBid = 0;
-                hasHumanPassed = true;
                 setStatus("");
+                humanInput.getBids().offer(0);
             }
 
             @Override
@@ -512,7 +482,7 @@ public class Pinochle extends CardGame {
         playerBidActor = new TextActor(playerBidString, Color.WHITE, bgColor, smallFont);
         addActor(playerBidActor, playerBidLocation);
 
-        delay(delayTime);
+        pause(delayTime);
     }
 
     private void displayBidButtons(boolean isShown) {
@@ -521,108 +491,27 @@ public class Pinochle extends CardGame {
         bidPassActor.setActEnabled(isShown);
     }
 
-    private void askForBidForPlayerIndex(int playerIndex) {
-
+    @Override
+    public void onBid(int playerIndex, int bidIncrement, int newCurrentBid) {
         if (playerIndex == COMPUTER_PLAYER_INDEX) {
-            int bidValue;
-            if (isAuto && computerAutoBids != null && computerAutoBidIndex < computerAutoBids.size()) {
-                bidValue = computerAutoBids.get(computerAutoBidIndex);
-                computerAutoBidIndex++;
-            } else {
-                //CHANGE
-                //Request the decision of the AI module
-                BidDecision decision = computerAI.makeDecision(
-                        new BidRequest(
-                                createSnapshot(),
-                                playerIndex,
-                                currentBid,
-                                currentBid == 0
-                        )
-                );
-                bidValue = decision.shouldPass() ? 0 : decision.getBidAmount();
-            }
-
-            updateBidText(playerIndex, currentBid + bidValue);
-
-            delay(thinkingTime);
-            if (bidValue == 0) {
-                hasComputerPassed = true;
-                hasHumanBid = false;
-
-                return;
+            updateBidText(playerIndex, currentBid + bidIncrement);
+            pause(thinkingTime);
+            currentBid = newCurrentBid;
+            if (bidIncrement != 0) {
+                updateBidText(playerIndex, 0);
             }
-
-            currentBid += bidValue;
-            updateBidText(playerIndex, 0);
-            hasHumanBid = false;
         } else {
-            displayBidButtons(true);
-            updateBidText(playerIndex, 0);
-            if (isAuto && humanAutoBids != null && humanAutoBidIndex < humanAutoBids.size()) {
-                humanBid = humanAutoBids.get(humanAutoBidIndex);
-                currentBid = currentBid + humanBid;
-                humanAutoBidIndex++;
-                if (humanBid == 0) {
-                    hasHumanPassed = true;
-                }
-                updateBidText(HUMAN_PLAYER_INDEX, currentBid);
-            } else {
-                while (!hasHumanBid && !hasHumanPassed) delay(delayTime);
-            }
-            hasHumanBid = true;
+            currentBid = newCurrentBid;
+            updateBidText(HUMAN_PLAYER_INDEX, bidIncrement == 0 ? 0 : currentBid);
         }
     }
 
-    private void askForBid() {
-        initBids();
-        displayBidButtons(false);
-        String bidOrder = properties.getProperty("players.bid_first", "random");
-        String player0Bids = properties.getProperty("players.0.bids", "");
-        String player1Bids = properties.getProperty("players.1.bids", "");
-
-        if (player0Bids != null) {
-            if (!player0Bids.isEmpty()) {
-                List<String> bidStrings = Arrays.asList(player0Bids.split(","));
-                computerAutoBids.addAll(bidStrings.stream().map(Integer::parseInt).toList());
-            }
-        }
-
-        if (player1Bids != null) {
-            if (!player1Bids.isEmpty()) {
-                List<String> bidStrings = Arrays.asList(player1Bids.split(","));
-                humanAutoBids.addAll(bidStrings.stream().map(Integer::parseInt).toList());
-            }
-        }
-
-        boolean isContinueBidding = true;
-        updateBidText(-1, 0);
-        Random rand = new Random(1);
-        int playerIndex = switch (bidOrder) {
-            case RANDOM_BID -> rand.nextInt(nbPlayers);
-            case COMPUTER_BID -> COMPUTER_PLAYER_INDEX;
-            case HUMAN_BID -> HUMAN_PLAYER_INDEX;
-            default -> COMPUTER_PLAYER_INDEX;
-        };
-
-        do {
-            for (int i = 0; i < nbPlayers; i++) {
-                askForBidForPlayerIndex(playerIndex);
-                playerIndex = (playerIndex + 1) % nbPlayers;
-                isContinueBidding = !hasHumanPassed && !hasComputerPassed;
-                if (!isContinueBidding) {
-                    // This is a BUG where clicking "pass" will skip the AI
-                    // quote(when computer first)
-                    //However, since it is an assignment,
-                    // I try my best not to change the original system
-                    bidWinPlayerIndex = playerIndex;
-                    break;
-                }
-            }
-        } while (isContinueBidding);
-
+    @Override
+    public void onBiddingFinished(int bidWinnerIndex, int finalBid) {
+        bidWinPlayerIndex = bidWinnerIndex;
+        currentBid = finalBid;
         removeBids();
         updateBidResult();
-        addBidInfoToLog();
     }
 
     private void updateTrumpActor() {
@@ -631,63 +520,44 @@ public class Pinochle extends CardGame {
         addActor(trumpActor, trumpLocation);
     }
 
-    private void askForTrumpCard() {
-        if (isAuto) {
-            trumpSuit = properties.getProperty("players.trump", "C");
-            updateTrumpActor();
-            return;
-        }
-
-        addActor(trumpInstructionActor, trumpInstructionLocation);
-        if (bidWinPlayerIndex == COMPUTER_PLAYER_INDEX) {
-            //CHANGE:
-            // Request the decision of the AI module
-            BidDecision decision = computerAI.makeDecision(
-                    new BidRequest(
-                            createSnapshot(),
-                            bidWinPlayerIndex,
-                            0, // Just want to know the ace card
-                            false
-                    )
-            );
-            trumpSuit = decision.getRecommendedTrumpSuit();
-        } else {
-            addActor(clubTrumpActor, clubTrumpLocation);
-            addActor(spadeTrumpActor, spadeTrumpLocation);
-            addActor(heartTrumpActor, heartTrumpLocation);
-            addActor(diamondTrumpActor, diamondTrumpLocation);
+    private void displayTrumpButtons() {
+        addActor(clubTrumpActor, clubTrumpLocation);
+        addActor(spadeTrumpActor, spadeTrumpLocation);
+        addActor(heartTrumpActor, heartTrumpLocation);
+        addActor(diamondTrumpActor, diamondTrumpLocation);
 
-            GGButtonListener buttonListener = new GGButtonListener() {
-                @Override
-                public void buttonPressed(GGButton ggButton) {
-                    if (ggButton.equals(clubTrumpActor)) {
-                        trumpSuit = Suit.CLUBS.getSuitShortHand();
-                    } else if (ggButton.equals(spadeTrumpActor)) {
-                        trumpSuit = Suit.SPADES.getSuitShortHand();
-                    } else if (ggButton.equals(heartTrumpActor)) {
-                        trumpSuit = Suit.HEARTS.getSuitShortHand();
-                    } else if (ggButton.equals(diamondTrumpActor)) {
-                        trumpSuit = Suit.DIAMONDS.getSuitShortHand();
-                    }
+        GGButtonListener buttonListener = new GGButtonListener() {
+            @Override
+            public void buttonPressed(GGButton ggButton) {
+                if (ggButton.equals(clubTrumpActor)) {
+                    humanInput.getTrumps().offer(Suit.CLUBS.getSuitShortHand());
+                } else if (ggButton.equals(spadeTrumpActor)) {
+                    humanInput.getTrumps().offer(Suit.SPADES.getSuitShortHand());
+                } else if (ggButton.equals(heartTrumpActor)) {
+                    humanInput.getTrumps().offer(Suit.HEARTS.getSuitShortHand());
+                } else if (ggButton.equals(diamondTrumpActor)) {
+                    humanInput.getTrumps().offer(Suit.DIAMONDS.getSuitShortHand());
                 }
+            }
 
-                @Override
-                public void buttonReleased(GGButton ggButton) {
-                }
+            @Override
+            public void buttonReleased(GGButton ggButton) {
+            }
 
-                @Override
-                public void buttonClicked(GGButton ggButton) {
-                }
-            };
+            @Override
+            public void buttonClicked(GGButton ggButton) {
+            }
+        };
 
-            clubTrumpActor.addButtonListener(buttonListener);
-            spadeTrumpActor.addButtonListener(buttonListener);
-            heartTrumpActor.addButtonListener(buttonListener);
-            diamondTrumpActor.addButtonListener(buttonListener);
+        clubTrumpActor.addButtonListener(buttonListener);
+        spadeTrumpActor.addButtonListener(buttonListener);
+        heartTrumpActor.addButtonListener(buttonListener);
+        diamondTrumpActor.addButtonListener(buttonListener);
+    }
 
-            while (trumpSuit == null)
-                delay(delayTime);
-        }
+    @Override
+    public void onTrumpSelected(String selectedTrumpSuit) {
+        trumpSuit = selectedTrumpSuit;
         removeActor(clubTrumpActor);
         removeActor(spadeTrumpActor);
         removeActor(heartTrumpActor);
@@ -715,200 +585,125 @@ public class Pinochle extends CardGame {
     }
 
     /**
-     * Logging Logic
-     *
-     * @param player
-     * @param card
+     * Turns
      */
 
-    private void addCardPlayedToLog(int player,
-                                    Card card) {
-        logResult.append("P" + player + "-");
-
-        Rank cardRank = (Rank) card.getRank();
-        Suit cardSuit = (Suit) card.getSuit();
-        logResult.append(cardRank.getCardLog() + cardSuit.getSuitShortHand());
-
-        logResult.append(",");
-    }
-
-    private void addBidInfoToLog() {
-        logResult.append("Bid:" + bidWinPlayerIndex + "-" + currentBid + "\n");
-    }
-
-    private void addTrumpInfoToLog() {
-        logResult.append("Trump: " + trumpSuit + "\n");
-        logResult.append(
-                "Melding Scores: " + scores[0] + "-" + scores[1] + "\n");
-    }
-
-    private void addRoundInfoToLog(int roundNumber) {
-        logResult.append("\n");
-        logResult.append("Round" + roundNumber + ":");
-    }
-
-    private void addPlayerCardsToLog() {
-        logResult.append("Initial Cards:");
-        for (int i = 0; i < nbPlayers; i++) {
-            logResult.append("P" + i + "-");
-            logResult.append(convertCardListoString(hands[i]));
-        }
-    }
-
-    private String convertCardListoString(Hand hand) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(hand.getCardList().stream().map(card -> {
-            Rank rank = (Rank) card.getRank();
-            Suit suit = (Suit) card.getSuit();
-            return rank.getCardLog() + suit.getSuitShortHand();
-        }).collect(Collectors.joining(",")));
-        sb.append("-");
-        return sb.toString();
-    }
-
-    private void addEndOfGameToLog(List<Integer> winners) {
-        logResult.append("\n");
-        logResult.append("Trick Winning: ");
-        for (int i = 0; i < nbPlayers; i++) {
-            logResult.append("P" + i + ":");
-            logResult.append(convertCardListoString(trickWinningHands[i]));
-        }
-        logResult.append("\n");
-        logResult.append("Final Score: ");
-        for (int i = 0; i < scores.length; i++) {
-            logResult.append(scores[i] + ",");
+    @Override
+    public void onTurn(EnginePhase phase, int playerIndex) {
+        switch (phase) {
+            case TRUMP_SELECTION -> {
+                if (!isAuto) {
+                    addActor(trumpInstructionActor, trumpInstructionLocation);
+                }
+            }
+            case TRICK_TAKING -> {
+                if (!isAuto && playerIndex != HUMAN_PLAYER_INDEX) {
+                    setStatusText("Player " + playerIndex + " thinking...");
+                }
+            }
+            default -> {
+            }
         }
-        logResult.append("\n");
-        logResult.append("Winners: " +
-                String.join(", ", winners.stream().map(String::valueOf)
-                        .collect(Collectors.toList())));
     }
 
     /**
-     * Check Trick Taking logic
-     *
-     * @param card1
-     * @param card2
-     * @return
+     * Cut-throat card movements
      */
 
-    private boolean isSameSuit(Card card1,
-                               Card card2) {
-        Suit card1Suit = (Suit) card1.getSuit();
-        Suit card2Suit = (Suit) card2.getSuit();
-        return card1Suit.getSuitShortHand()
-                .equals(card2Suit.getSuitShortHand());
-    }
-
-    private boolean isHigherRank(Card card1,
-                                 Card card2) {
-        Rank card2Rank = (Rank) card2.getRank();
-        Rank card1Rank = (Rank) card1.getRank();
-        return card1Rank.getRankCardValue() > card2Rank.getRankCardValue();
-    }
-
-    private Card getHigherCardFromList(Card existingCard,
-                                       List<Card> cards) {
-        return cards.stream().filter(playerCard -> {
-            return isSameSuit(existingCard, playerCard) &&
-                    isHigherRank(playerCard, existingCard);
-        }).findAny().orElse(null);
-    }
-
-    private Card getTrumpCard(List<Card> cards) {
-        return cards.stream().filter(playerCard -> {
-            Suit playerCardSuit = (Suit) playerCard.getSuit();
-            return playerCardSuit.getSuitShortHand().equals(trumpSuit);
-        }).findAny().orElse(null);
-    }
-
-    public boolean checkValidTrick(Card playingCard,
-                                   List<Card> playerCards,
-                                   List<Card> existingCards) {
-        if (existingCards.isEmpty()) {
-            return true;
+    @Override
+    public void onCardDrawnFromPack(PlayingCard card) {
+        Card guiCard = toGuiCard(card);
+        if (guiCard.getHand() != null) {
+            guiCard.removeFromHand(!fastMode);
         }
+    }
 
-        Suit playingSuit = (Suit) playingCard.getSuit();
-        Rank playingRank = (Rank) playingCard.getRank();
-        Card existingCard = existingCards.get(0);
-        Suit existingSuit = (Suit) existingCard.getSuit();
-        Rank existingRank = (Rank) existingCard.getRank();
-
-        // Same core.Suit, Higher core.Rank, then valid
-        if (playingSuit.getSuitShortHand()
-                .equals(existingSuit.getSuitShortHand()) &&
-                playingRank.getRankCardValue() >
-                        existingRank.getRankCardValue()) {
-            return true;
+    @Override
+    public void onCardAddedToHand(PlayingCard card, int playerIndex) {
+        moveGuiCard(toGuiCard(card), hands[playerIndex], !fastMode);
+        if (!fastMode) {
+            refreshAllHands();
         }
+        pause(CARD_MOVE_DELAY_MS);
+    }
 
-        // If the chosen is not the same suit, higher rank and there is one, then not valid
-        Card higherCard = getHigherCardFromList(existingCard, playerCards);
-        if (higherCard != null) {
-            return false;
+    @Override
+    public void onCardRemovedFromHand(PlayingCard card, int playerIndex) {
+        Card guiCard = toGuiCard(card);
+        if (guiCard.getHand() != null) {
+            guiCard.removeFromHand(!fastMode);
         }
-
-        boolean
-                isExistingTrump =
-                existingSuit.getSuitShortHand().equals(trumpSuit);
-        boolean
-                isPlayingTrump =
-                playingSuit.getSuitShortHand().equals(trumpSuit);
-        // If the current is trump, then there is already no trump card with higher rank.
-        // Otherwise, the above should return false.
-        if (isExistingTrump) {
-            return true;
+        if (!fastMode) {
+            refreshAllHands();
         }
+        pause(CARD_MOVE_DELAY_MS);
+    }
 
-        // If the current is not trump card, then playing trump card is valid
-        if (isPlayingTrump) {
-            return true;
+    public void refreshAllHands() {
+        for (Hand hand : hands) {
+            hand.draw();
         }
+        refresh();
+    }
 
-        // If the current is not trump card, and we have a trump card,
-        // but not having a same suit, higher rank card, then we have to play trump card
-        Card trumpCard = getTrumpCard(playerCards);
-        if (trumpCard != null) {
-            return false;
+    // Show some cards in the middle of the table, such as the cut-throat revealed cards
+    public void displayCards(List<PlayingCard> cards, Location displayLocation) {
+        Hand tempHand = new Hand(deck);
+        for (PlayingCard card : cards) {
+            moveGuiCard(toGuiCard(card), tempHand, true);
         }
 
-        // If we don't have a trump card, any card is valid
-        return true;
+        RowLayout layout = new RowLayout(displayLocation, ROW_LAYOUT_WIDTH);
+        tempHand.setView(this, layout);
+        tempHand.draw();
     }
 
+    /**
+     * Melding and trick taking
+     */
 
-    private int checkWinner(int playerIndex) {
-        assert (playingArea.getCardList().size() == 2);
-        int previousPlayerIndex = Math.abs(playerIndex - 1) % 2;
-        Card card1 = playingArea.getCardList().get(0);
-        Card card2 = playingArea.getCardList().get(1);
+    @Override
+    public void onMeldScored(int playerIndex, int meldScore) {
+        scores[playerIndex] = meldScore;
+        updateScore(playerIndex);
+        pause(delayTime);
+    }
 
-        boolean
-                isHigherRankSameSuit =
-                isSameSuit(card1, card2) && isHigherRank(card2, card1);
-        if (isHigherRankSameSuit) {
-            return playerIndex;
+    @Override
+    public void onCardPlayed(int playerIndex, PlayingCard card) {
+        if (isAuto) {
+            pause(delayTime);
         }
-
-        Suit card1Suit = (Suit) card1.getSuit();
-        if (card1Suit.getSuitShortHand().equals(trumpSuit)) {
-            return previousPlayerIndex;
+        Card guiCard = toGuiCard(card);
+        if (fastMode) {
+            // Nothing is drawn until the trick is won
+            guiCard.removeFromHand(false);
+            playingArea.insert(guiCard, false);
+            return;
         }
+        guiCard.removeFromHand(true);
+        playingArea.insert(guiCard, true);
 
-        Suit card2Suit = (Suit) card2.getSuit();
-        if (card2Suit.getSuitShortHand().equals(trumpSuit)) {
-            return playerIndex;
+        playingArea.setView(this, new RowLayout(playingLocation, (playingArea.getNumberOfCards() + 2) * trickWidth));
+        playingArea.draw();
+        if (playingArea.getNumberOfCards() == nbPlayers) {
+            delay(delayTime);
         }
-
-        return previousPlayerIndex;
     }
 
-    private void transferCardsToWinner(int trickWinPlayerIndex) {
-
-        allPlayedCards.addAll(playingArea.getCardList());
-
-        for (Card card : playingArea.getCardList()) {
+    @Override
+    public void onTrickWon(int trickWinPlayerIndex, List<PlayingCard> trick) {
+        if (fastMode) {
+            for (Card card : new ArrayList<>(playingArea.getCardList())) {
+                trickWinningHands[trickWinPlayerIndex].insert(card, false);
+            }
+            playingArea.removeAll(false);
+            if (redrawEachTrick) {
+                redrawTable();
+            }
+            return;
+        }
+        for (Card card : new ArrayList<>(playingArea.getCardList())) {
             trickWinningHands[trickWinPlayerIndex].insert(card, true);
         }
         playingArea.removeAll(true);
@@ -925,168 +720,124 @@ public class Pinochle extends CardGame {
         delay(delayTime);
     }
 
-
-    private void updateTrickScore() {
-        for (int i = 0; i < nbPlayers; i++) {
-            List<Card> cards = trickWinningHands[i].getCardList();
-            int score = 0;
-            for (Card card : cards) {
-                Rank rank = (Rank) card.getRank();
-                Suit suit = (Suit) card.getSuit();
-                boolean
-                        isNineCard =
-                        rank.getRankCardValue() == Rank.NINE.getRankCardValue();
-                boolean isTrumpCard = suit.getSuitShortHand().equals(trumpSuit);
-                if (isNineCard && isTrumpCard) {
-                    score += Rank.NINE_TRUMP;
-                } else {
-                    score += rank.getScoreValue();
-                }
-            }
-
-            scores[i] += score;
-            if (i == bidWinPlayerIndex) {
-                if (scores[i] < currentBid) {
-                    scores[i] = 0;
-                }
-            }
+    @Override
+    public void onGameOver(int[] finalScores, List<Integer> winners) {
+        scores = finalScores;
+        for (int i = 0; i < nbPlayers; i++)
+            updateScore(i);
+        String winText;
+        if (winners.size() == 1) {
+            winText = "Game over. Winner is player: " +
+                    winners.iterator().next();
+        } else {
+            winText = "Game Over. Drawn winners are players: " +
+                    String.join(", ", winners.stream().map(String::valueOf)
+                            .collect(Collectors.toList()));
+        }
+        addActor(new Actor("sprites/gameover.gif"), textLocation);
+        setStatusText(winText);
+        if (fastMode) {
+            // The last state of the table, in case it was only drawn once per game
+            redrawTable();
+        } else {
+            refresh();
         }
     }
 
-    private void playGame() {
-
-        // ADD :
-        computerAI.reset();
-
-
-        askForBid();
-        askForTrumpCard();
+    /**
+     The human player behind the window
+     Every question of the engine shows the buttons or enables the double clicks,
+     then the game thread sleeps until the listeners hand the move over
+     */
+    private class GuiHumanController extends InputPlayerController {
 
-        // ADD :
-        // Notification Mode Manager: Post-bid stage (The Cut-throat mode is executed here)
-        if (modeManager.hasActiveModes()) {
-            modeManager.notifyPhase(GamePhase.POST_BIDDING, createSnapshot(), bidWinPlayerIndex);
-        }
-        if (modeManager.hasActiveModes()) {
-            modeManager.notifyPhase(GamePhase.PRE_MELDING, createSnapshot(), bidWinPlayerIndex);
+        @Override
+        protected void onBidRequested(GameDataSnapshot snapshot, int playerIndex, int currentBid) {
+            humanBid = 0;
+            drawForHuman();
+            displayBidButtons(true);
+            updateBidText(playerIndex, 0);
         }
 
-        for (int i = 0; i < nbPlayers; i++) {
-            scores[i] = calculateMeldingScore(hands[i].getCardList());
-            updateScore(i);
-            delay(delayTime);
+        @Override
+        protected void onTrumpRequested(GameDataSnapshot snapshot, int playerIndex) {
+            drawForHuman();
+            displayTrumpButtons();
         }
-        addTrumpInfoToLog();
-
-
-        int nextPlayer = bidWinPlayerIndex;
-        int numberOfCards = hands[COMPUTER_PLAYER_INDEX].getNumberOfCards();
-        addPlayerCardsToLog();
-        for (int i = 0; i < numberOfCards; i++) {
-            addRoundInfoToLog(i);
-            for (int j = 0; j < nbPlayers; j++) {
-                if (isAuto) {
-                    int nextPlayerAutoIndex = autoIndexHands[nextPlayer];
-                    List<String>
-                            nextPlayerMovement =
-                            playerAutoMovements.get(nextPlayer);
-                    String nextMovement = "";
-
-                    if (nextPlayerMovement.size() > nextPlayerAutoIndex &&
-                            !nextPlayerMovement.equals("")) {
-                        nextMovement =
-                                nextPlayerMovement.get(nextPlayerAutoIndex);
-                        nextPlayerAutoIndex++;
-
-                        autoIndexHands[nextPlayer] = nextPlayerAutoIndex;
-                        Hand nextHand = hands[nextPlayer];
-
-                        // Apply movement for player
-                        selected = applyAutoMovement(nextHand, nextMovement);
-                        delay(delayTime);
-                        if (selected != null) {
-                            selected.removeFromHand(true);
-                        } else {
-                            //CHANGE
-                            // Let the new AI module make decisions on card operations
-                            selected =
-                                    requestComputerCardPlay(nextPlayer,
-                                            hands[nextPlayer].getCardList());
-                            selected.removeFromHand(true);
-                        }
-                    } else {
-                        //CHANGE
-                        // Let the new AI module make decisions on card operations
-                        selected =
-                                requestComputerCardPlay(nextPlayer,
-                                        hands[nextPlayer].getCardList());
-                        selected.removeFromHand(true);
-                    }
-                }
-
-                if (!isAuto) {
-                    if (HUMAN_PLAYER_INDEX == nextPlayer) {
-                        hands[HUMAN_PLAYER_INDEX].setTouchEnabled(true);
-
-                        setStatus("Player " +
-                                nextPlayer +
-                                " is playing. Please double click on a card to discard");
-                        selected = null;
-                        while (null == selected)
-                            delay(delayTime);
-                        selected.removeFromHand(true);
-                    } else {
-                        setStatusText("Player " + nextPlayer + " thinking...");
-                        // CHANGE
-                        // Let the new AI module make decisions on card operations
-                        selected = requestComputerCardPlay(nextPlayer, hands[nextPlayer].getCardList());
-                        selected.removeFromHand(true);
-                    }
-                }
-
 
-                addCardPlayedToLog(nextPlayer, selected);
-                playingArea.insert(selected, true);
+        @Override
+        protected void onCardPlayRequested(GameDataSnapshot snapshot, int playerIndex, List<PlayingCard> hand) {
+            drawForHuman();
+            hands[HUMAN_PLAYER_INDEX].setTouchEnabled(true);
 
-                playingArea.setView(this, new RowLayout(playingLocation, (playingArea.getNumberOfCards() + 2) * trickWidth));
-                playingArea.draw();
+            setStatus("Player " +
+                    playerIndex +
+                    " is playing. Please double click on a card to discard");
+        }
 
-                if (playingArea.getCardList().size() == 2) {
-                    delay(delayTime);
-                    int trickWinPlayerIndex = checkWinner(nextPlayer);
-                    transferCardsToWinner(trickWinPlayerIndex);
+        //Wait for the user to select one card from the revealed cards
+        @Override
+        public int requestRevealedCardChoice(GameDataSnapshot snapshot, int playerIndex,
+                                             List<PlayingCard> revealedCards) {
+            CompletableFuture<Integer> choice = getRevealedChoices().request();
+            drawForHuman();
+            setStatus("Double-click one of the revealed cards to select it");
 
-                    nextPlayer = trickWinPlayerIndex;
-                } else {
-                    nextPlayer = (nextPlayer + 1) % nbPlayers;
-                }
+            Hand selectionHand = new Hand(deck);
+            for (PlayingCard card : revealedCards) {
+                moveGuiCard(toGuiCard(card), selectionHand, true);
             }
-        }
+            selectionHand.setView(Pinochle.this,
+                    new RowLayout(new Location(SELECTION_X, SELECTION_Y), ROW_LAYOUT_WIDTH));
+            selectionHand.draw();
 
-        updateTrickScore();
-    }
+            selectionHand.addCardListener(new CardAdapter() {
+                @Override
+                public void leftDoubleClicked(Card card) {
+                    int index = revealedCards.indexOf(toPlayingCard(card));
+                    if (index >= 0) {
+                        getRevealedChoices().offer(index);
+                    }
+                }
+            });
+            selectionHand.setTouchEnabled(true);
 
-    private void setupPlayerAutoMovements() {
-        String
-                player0AutoMovement =
-                properties.getProperty("players.0.cardsPlayed");
-        String
-                player1AutoMovement =
-                properties.getProperty("players.1.cardsPlayed");
+            int selectedIndex = choice.join();
+            selectionHand.setTouchEnabled(false);
+            return selectedIndex;
+        }
 
-        String[] playerMovements = new String[]{"", ""};
-        if (player0AutoMovement != null) {
-            playerMovements[0] = player0AutoMovement;
+        // The classic operation of card games allows players to remove their cards
+        @Override
+        public List<PlayingCard> requestDiscards(GameDataSnapshot snapshot, int playerIndex,
+                                                 List<PlayingCard> hand, int discardCount) {
+            List<PlayingCard> discards = super.requestDiscards(snapshot, playerIndex, hand, discardCount);
+            hands[HUMAN_PLAYER_INDEX].draw();
+            setStatus("");
+            return discards;
         }
 
-        if (player1AutoMovement != null) {
-            playerMovements[1] = player1AutoMovement;
+        @Override
+        protected void onDiscardsRequested(GameDataSnapshot snapshot, int playerIndex,
+                                           List<PlayingCard> hand, int discardCount) {
+            humanDiscards.clear();
+            remainingDiscards = discardCount;
+            drawForHuman();
+            hands[HUMAN_PLAYER_INDEX].setTouchEnabled(true);
+            setStatus("Double-click " + discardCount + " cards to DISCARD them.");
         }
+    }
 
-        for (int i = 0; i < playerMovements.length; i++) {
-            String movementString = playerMovements[i];
-            List<String> movements = Arrays.asList(movementString.split(","));
-            playerAutoMovements.add(movements);
+    // The computer always plays with the AI, "isAuto" puts the script in front of it
+    private void initControllers() {
+        PlayerController computerController = new AIPlayerController(computerAI);
+        PlayerController humanController = humanInput;
+        for (int i = 0; i < nbPlayers; i++) {
+            if (isAuto) {
+                controllers[i] = new ScriptedPlayerController(properties, i, computerController);
+            } else {
+                controllers[i] = i == COMPUTER_PLAYER_INDEX ? computerController : humanController;
+            }
         }
     }
 
@@ -1097,35 +848,16 @@ public class Pinochle extends CardGame {
         setStatusText("Initializing...");
         initScores();
         initScore();
-        setupPlayerAutoMovements();
+        initControllers();
         initGame();
-        playGame();
-
-        for (int i = 0; i < nbPlayers; i++)
-            updateScore(i);
-        int maxScore = 0;
-        for (int i = 0; i < nbPlayers; i++)
-            if (scores[i] > maxScore)
-                maxScore = scores[i];
-        List<Integer> winners = new ArrayList<Integer>();
-        for (int i = 0; i < nbPlayers; i++)
-            if (scores[i] == maxScore)
-                winners.add(i);
-        String winText;
-        if (winners.size() == 1) {
-            winText = "Game over. Winner is player: " +
-                    winners.iterator().next();
-        } else {
-            winText = "Game Over. Drawn winners are players: " +
-                    String.join(", ", winners.stream().map(String::valueOf)
-                            .collect(Collectors.toList()));
-        }
-        addActor(new Actor("sprites/gameover.gif"), textLocation);
-        setStatusText(winText);
-        refresh();
-        addEndOfGameToLog(winners);
+        initBids();
+        displayBidButtons(false);
+        updateBidText(-1, 0);
 
-        return logResult.toString();
+        // ADD :
+        // The random draws of the AI come from the seed too, as in HeadlessPinochle
+        computerAI.reseed(seed);
+        return engine.play(controllers);
     }
 
 
@@ -1136,6 +868,9 @@ public class Pinochle extends CardGame {
         thinkingTime =
                 Integer.parseInt(properties.getProperty("thinkingTime", "200"));
         delayTime = Integer.parseInt(properties.getProperty("delayTime", "50"));
+        // mode.fast=true skips the animations, mode.fast.redraw=trick|game says how often the table is drawn
+        fastMode = Boolean.parseBoolean(properties.getProperty("mode.fast", "false"));
+        redrawEachTrick = !"game".equalsIgnoreCase(properties.getProperty("mode.fast.redraw", "trick"));
 
 
         // ADD:
@@ -1146,6 +881,10 @@ public class Pinochle extends CardGame {
                 .configureFromProperties()
                 .build();
 
+        this.engine = new PinochleEngine(properties, meldAnalyzer, random);
+        this.engine.addListener(this);
+        initCardMapping();
+
         // The place to register the game mode through the configuration file
         this.modeManager = new ExtensionManager();
         if (Boolean.parseBoolean(
@@ -1154,52 +893,52 @@ public class Pinochle extends CardGame {
             modeManager.activateMode("cutthroat", this);
         }
 
+        // Notification Mode Manager at every stage (The Cut-throat mode is executed after bidding)
+        this.engine.addPhaseHook((phase, gameEngine) -> {
+            if (modeManager.hasActiveModes()) {
+                modeManager.notifyPhase(GamePhase.valueOf(phase.name()),
+                        gameEngine.createSnapshot(), gameEngine.getBidWinPlayerIndex());
+            }
+        });
     }
 
     //ADD: FUNC
 
     // Code reuse, proxy call snapshot creation
     public GameDataSnapshot createSnapshot() {
-        return new GameDataSnapshot(
-                hands,
-                allPlayedCards,
-                trumpSuit,
-                currentBid,
-                scores,
-                playingArea,
-                pack.getNumberOfCards(),
-                bidWinPlayerIndex
-        );
+        return engine.createSnapshot();
     }
 
-    // Code reuse, proxy calls card requests
-    public Card requestComputerCardPlay(int playerIndex,
-                                        List<Card> validCards) {
+    // Provide an AI interface for external use systems
+    public GeneralCardDecision requestAIDecision(int playerIndex, DecisionType decisionType, List<PlayingCard> availableCards) {
         GameDataSnapshot snapshot = createSnapshot();
 
         GeneralCardDecisionRequest request = new GeneralCardDecisionRequest(
-                snapshot,
-                DecisionType.CARD_PLAY,
-                playerIndex,
-                validCards
-        );
+                snapshot, decisionType, playerIndex, availableCards);
 
-        GeneralCardDecision decision = computerAI.makeDecision(request);
+        return computerAI.makeDecision(request);
+    }
 
-        List<Integer> selectedIndices = decision.getSelectedIndices();
+    // The seat of the player, used by the game modes to ask for choices
+    public PlayerController getPlayerController(int playerIndex) {
+        return controllers[playerIndex];
+    }
 
-        int selectedIndex = selectedIndices.get(0);
-        return validCards.get(selectedIndex);
+    // Card services for the game modes, the engine checks and applies them
+    public PlayingCard drawFromPack() {
+        return engine.drawFromPack();
     }
 
-    // Provide an AI interface for external use systems
-    public GeneralCardDecision requestAIDecision(int playerIndex, DecisionType decisionType, List<Card> availableCards) {
-        GameDataSnapshot snapshot = createSnapshot();
+    public PlayingCard drawFromPack(String cardLog) {
+        return engine.drawFromPack(cardLog);
+    }
 
-        GeneralCardDecisionRequest request = new GeneralCardDecisionRequest(
-                snapshot, decisionType, playerIndex, availableCards);
+    public void addCardToHand(PlayingCard card, int playerIndex) {
+        engine.addCardToHand(card, playerIndex);
+    }
 
-        return computerAI.makeDecision(request);
+    public void removeCardFromHand(PlayingCard card, int playerIndex) {
+        engine.removeCardFromHand(card, playerIndex);
     }
 
 
@@ -1209,19 +948,14 @@ public class Pinochle extends CardGame {
         return hands;
     }
 
-    public Hand getPack() {
-        return pack;
+    public PinochleEngine getEngine() {
+        return engine;
     }
 
     public int getBidWinPlayerIndex() {
         return bidWinPlayerIndex;
     }
 
-
-    public void setSelected(Card card) {
-        this.selected = card;
-    }
-
     public Deck getDeck() {
         return deck;
     }
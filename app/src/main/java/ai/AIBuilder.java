@@ -25,13 +25,24 @@ import java.util.*;
  and decide whether the parameters should be enabled according to the configuration
  */
 public class AIBuilder {
+    // Milliseconds one decision may take, no limit when not set
+    // (thinkingTime is only the pause of the GUI, it does not limit the AI)
+    public static final String DEADLINE_KEY = "ai.deadlineMillis";
+
     private final Map<DecisionType, ChainBuilder> chainBuilders = new HashMap<>();
     private final Properties config;
     private final MeldAnalyzer meldAnalyzer;
+    private final ParallelRootEvaluator rootEvaluator;
 
     public AIBuilder(Properties config, MeldAnalyzer meldAnalyzer) {
+        this(config, meldAnalyzer, ParallelRootEvaluator.fromProperties(config));
+    }
+
+    // With search workers that are shared with other AIs, "ai.threads" is not read then
+    public AIBuilder(Properties config, MeldAnalyzer meldAnalyzer, ParallelRootEvaluator rootEvaluator) {
         this.config = config;
         this.meldAnalyzer = meldAnalyzer;
+        this.rootEvaluator = rootEvaluator;
         initializeAllChainBuilders();
     }
 
@@ -131,7 +142,9 @@ public class AIBuilder {
         // Verify that all decision types have chains
         validateAllDecisionTypesHaveChains(chains);
 
-        return new ConfigurableGameAI(chains);
+        String deadlineValue = config.getProperty(DEADLINE_KEY, "").trim();
+        long deadlineMillis = deadlineValue.isEmpty() ? 0 : Long.parseLong(deadlineValue);
+        return new ConfigurableGameAI(chains, deadlineMillis);
     }
 
     // Essentially, other bidding strategies can continue to be added
@@ -143,6 +156,8 @@ public class AIBuilder {
     // Essentially, other card-playing strategies can continue to be added
     private void configureCardPlayFromProperties(ChainBuilder chain, Properties config, MeldAnalyzer analyzer) {
         chain.addStrategyIfEnabled(config, "mode.smarttrick", SmartCardPlayStrategy::new);
+        chain.addStrategyIfEnabled(config, "mode.montecarlo", () -> new MonteCarloCardPlayStrategy(config, rootEvaluator));
+        chain.addStrategyIfEnabled(config, "mode.endgame", () -> new EndgameCardPlayStrategy(config));
     }   // more
 
     // as it is very simple, there is currently no intelligent card-flipping
@@ -155,6 +170,7 @@ public class AIBuilder {
     // Essentially, other mode.cutthroat strategies can continue to be added
     private void configureCardDiscardFromProperties(ChainBuilder chain, Properties config, MeldAnalyzer analyzer) {
         chain.addStrategyIfEnabled(config, "mode.cutthroat", CardDiscardStrategy::new);
+        chain.addStrategyIfEnabled(config, "mode.smartdiscard", () -> new MeldKeepingDiscardStrategy(analyzer));
         // more
     }
 
@@ -25,18 +25,33 @@ import java.util.*;
 
  It uses the universal request decision protocol designed by us
 The packaged decision information can be returned through the request protocol
+
+ Every decision can get the same time limit (ai.deadlineMillis, none by default).
+ The request carries the deadline down the chains, and a chain answers with
+ what it has when the time is up (see DecisionTypeChain). A game with a limit
+ depends on the speed of the machine, so scripted games and tests leave it out
  */
 public class ConfigurableGameAI implements GameAI {
     private final Map<DecisionType, DecisionTypeChain> decisionChains = new HashMap<>();
+    private final long deadlineMillis;
 
     public ConfigurableGameAI(Map<DecisionType, DecisionTypeChain> chains) {
+        this(chains, 0);
+    }
+
+    /**
+     @param deadlineMillis time for one decision, 0 or less for no limit
+     */
+    public ConfigurableGameAI(Map<DecisionType, DecisionTypeChain> chains, long deadlineMillis) {
         this.decisionChains.putAll(chains);
+        this.deadlineMillis = deadlineMillis;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Decision> T makeDecision(DecisionRequest<T> request) {
         DecisionType requestType = request.getType();
+        request.restrictDeadline(Deadline.afterMillis(deadlineMillis));
 
         DecisionTypeChain chain = decisionChains.get(requestType);
         if (chain != null && chain.canHandle(requestType)) {
@@ -49,6 +64,10 @@ public class ConfigurableGameAI implements GameAI {
         throw new UnsupportedOperationException("No chain registered for type: " + requestType);
     }
 
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
     @Override
     public boolean supportsDecisionType(DecisionType type) {
         return decisionChains.containsKey(type);
@@ -58,4 +77,18 @@ public class ConfigurableGameAI implements GameAI {
     public void reset() {
         decisionChains.values().forEach(DecisionTypeChain::reset);
     }
+
+    // Every chain gets its own seed, in the order of the decision types
+    // (not the order of the map, which can change from run to run)
+    @Override
+    public void reseed(long seed) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (DecisionType type : DecisionType.values()) {
+            long chainSeed = seeds.nextLong();
+            DecisionTypeChain chain = decisionChains.get(type);
+            if (chain != null) {
+                chain.reseed(chainSeed);
+            }
+        }
+    }
 }
\ No newline at end of file
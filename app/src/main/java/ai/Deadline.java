@@ -0,0 +1,66 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package ai;
+
+/**
+ A point in time after which a decision has to be ready
+
+ Based on System.nanoTime. The times are compared by difference, so a
+ deadline far away (or none at all) can not wrap around and expire at once
+ */
+public final class Deadline {
+    public static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean limited;
+
+    private Deadline(long expiresAtNanos, boolean limited) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.limited = limited;
+    }
+
+    // A deadline the given time from now, no limit for 0 or less
+    public static Deadline afterMillis(long millis) {
+        return millis > 0 ? afterNanos(millis * 1_000_000L) : NONE;
+    }
+
+    public static Deadline afterNanos(long nanos) {
+        return nanos > 0 ? new Deadline(System.nanoTime() + nanos, true) : NONE;
+    }
+
+    public boolean isExpired() {
+        return limited && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    // Nanoseconds left, Long.MAX_VALUE without limit, 0 once expired
+    public long remainingNanos() {
+        if (!limited) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isLimited() {
+        return limited;
+    }
+
+    // The earlier of the two deadlines
+    public Deadline min(Deadline other) {
+        if (!other.limited) {
+            return this;
+        }
+        if (!limited) {
+            return other;
+        }
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    @Override
+    public String toString() {
+        return limited ? "Deadline[" + remainingNanos() / 1_000_000L + " ms left]" : "Deadline[none]";
+    }
+}
@@ -12,6 +12,13 @@ import protocolframework.*;
 import protocolframework.Request.DecisionRequest;
 import protocolframework.decision.Decision;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Decision type chain with automatic fallback strategy
@@ -21,8 +28,31 @@ import java.util.*;
  * which will select and sort strategies based on the priority of the strategies.
  *  It will be assembled into a two-dimensional responsibility chain,
  * or a responsibility chain forest, in the general AI
+ *
+ * When the request has a deadline, each strategy runs on a worker thread and
+ * gets the time that is left. If it is not finished in time, the best decision
+ * it has published on the request is taken; without one the chain goes on with
+ * the next strategy while there is time, and ends with the fallback strategy.
+ * A late strategy is interrupted, and it sees the request's deadline has passed,
+ * so a search that checks the deadline gives its worker back soon
  */
 public class DecisionTypeChain {
+    // Shared by all chains, one worker per core at most, idle workers go away
+    private static final ThreadPoolExecutor DECISION_WORKERS = newDecisionWorkers();
+
+    private static ThreadPoolExecutor newDecisionWorkers() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger workerCount = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "ai-decision-" + workerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.allowCoreThreadTimeOut(true);
+        return workers;
+    }
+
     private final DecisionType supportedType;
     private final List<DecisionStrategy> strategies = new ArrayList<>();
     private final RandomFallbackStrategy fallbackStrategy;
@@ -48,11 +78,17 @@ public class DecisionTypeChain {
 
     @SuppressWarnings("unchecked")
     public <T extends Decision> T handleRequest(DecisionRequest<T> request) {
+        Deadline deadline = request.getDeadline();
         // First phase: try all business strategies
         for (DecisionStrategy strategy : strategies) {
+            if (deadline.isExpired()) {
+                break; // No time left for anything but the fallback
+            }
             if (strategy.canHandle((DecisionRequest<Decision>) request)) {
                 try {
-                    T decision = (T) strategy.decide((DecisionRequest<Decision>) request);
+                    T decision = deadline.isLimited()
+                            ? decideBefore(strategy, request, deadline)
+                            : (T) strategy.decide((DecisionRequest<Decision>) request);
                     if (decision != null && decision.isValid()) {
                         return decision;
                     }
@@ -77,6 +113,29 @@ public class DecisionTypeChain {
         throw new IllegalStateException("All strategies failed including fallback for type: " + supportedType);
     }
 
+    // Run the strategy on a worker and wait until the deadline at most
+    // On time out the strategy is cancelled (or never started when all workers were busy),
+    // and the best decision published so far is returned, or null
+    @SuppressWarnings("unchecked")
+    private <T extends Decision> T decideBefore(DecisionStrategy strategy, DecisionRequest<T> request,
+                                                Deadline deadline) throws Exception {
+        Future<T> future = DECISION_WORKERS.submit(
+                () -> (T) strategy.decide((DecisionRequest<Decision>) request));
+        try {
+            return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            T bestSoFar = request.getBestSoFar();
+            return bestSoFar != null && bestSoFar.isValid() ? bestSoFar : null;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return request.getBestSoFar();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
     // Check whether it can be handled
     public boolean canHandle(DecisionType type) {
         return supportedType == type;
@@ -94,4 +153,12 @@ public class DecisionTypeChain {
         strategies.forEach(DecisionStrategy::reset);
         fallbackStrategy.reset();
     }
+
+    // Every strategy gets its own seed, in the order of the chain
+    public void reseed(long seed) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (DecisionStrategy strategy : getStrategies()) {
+            strategy.reseed(seeds.nextLong());
+        }
+    }
 }
\ No newline at end of file
@@ -25,9 +25,21 @@ public interface GameAI {
     // Randomness is also a kind of brain
     <T extends Decision> T makeDecision(DecisionRequest<T> request);
 
+    // The same, but the decision has to be ready by the deadline
+    default <T extends Decision> T makeDecision(DecisionRequest<T> request, Deadline deadline) {
+        request.restrictDeadline(deadline);
+        return makeDecision(request);
+    }
+
     // Reset the status of the AI
     default void reset() {}
 
+    // Reset, and take every random draw of the AI from this seed, so the same
+    // seed plays the same game again whatever thread it runs on
+    default void reseed(long seed) {
+        reset();
+    }
+
     // Check whether the AI supports specific types of decisions
     default boolean supportsDecisionType(DecisionType type) {
         return true;
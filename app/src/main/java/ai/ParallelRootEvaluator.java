@@ -0,0 +1,198 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntConsumer;
+
+/**
+ Evaluates the candidate moves of one decision at the same time
+
+ A search based strategy hands over its candidates (numbered 0..n-1) and a
+ scorer. Every candidate becomes a task on a ForkJoin pool, and the results are
+ gathered by a Collector that always knows the best candidate found so far.
+ When the deadline comes, evaluate returns that best candidate, the tasks
+ that are still running are expected to see the same deadline and stop
+
+ The result does not depend on the order the tasks finish in: ties go to the
+ lowest candidate number, so a seeded search still gives the same move
+
+ Settings (in the AI properties):
+ ai.threads  number of workers, 1 evaluates on the caller thread
+             (default: the common pool, one worker per core)
+ */
+public class ParallelRootEvaluator {
+    public static final String THREADS_KEY = "ai.threads";
+
+    private static final ParallelRootEvaluator SEQUENTIAL = new ParallelRootEvaluator(null);
+
+    private final ForkJoinPool pool;
+
+    /**
+     @param pool the workers, null to evaluate on the caller thread
+     */
+    public ParallelRootEvaluator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static ParallelRootEvaluator sequential() {
+        return SEQUENTIAL;
+    }
+
+    public static ParallelRootEvaluator commonPool() {
+        return new ParallelRootEvaluator(ForkJoinPool.commonPool());
+    }
+
+    public static ParallelRootEvaluator fromProperties(Properties config) {
+        String threadsValue = config.getProperty(THREADS_KEY, "");
+        if (threadsValue.isEmpty()) {
+            return commonPool();
+        }
+        int threads = Integer.parseInt(threadsValue);
+        return threads <= 1 ? sequential() : new ParallelRootEvaluator(new ForkJoinPool(threads));
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    // Stop the workers of an own pool, the common pool is left alone
+    public void shutdown() {
+        if (pool != null && pool != ForkJoinPool.commonPool()) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     Score the candidates, in parallel if there is a pool
+     @param candidateCount number of candidates
+     @param scorer scores one candidate, it should return soon after the deadline
+     @param deadline when the best result so far is returned
+     @return the collected scores, with at least the first candidate scored
+     */
+    public Collector evaluate(int candidateCount, CandidateScorer scorer, Deadline deadline) {
+        return evaluate(candidateCount, scorer, deadline, candidate -> { });
+    }
+
+    /**
+     The same, and tells whenever a new best candidate comes in
+     @param onNewBest gets the new best candidate, called by the worker that scored it
+     */
+    public Collector evaluate(int candidateCount, CandidateScorer scorer, Deadline deadline, IntConsumer onNewBest) {
+        Collector collector = new Collector(candidateCount, onNewBest);
+        if (pool == null || candidateCount <= 1) {
+            for (int i = 0; i < candidateCount; i++) {
+                // The first candidate is always scored, so there is a result
+                if (i > 0 && deadline.isExpired()) {
+                    break;
+                }
+                collector.offer(i, scorer.score(i, deadline));
+            }
+            return collector;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; i++) {
+            int candidate = i;
+            tasks.add(pool.submit(() -> collector.offer(candidate, scorer.score(candidate, deadline))));
+        }
+
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                if (deadline.isLimited()) {
+                    task.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                } else {
+                    task.get();
+                }
+            } catch (TimeoutException e) {
+                break; // The rest is what it is
+            } catch (ExecutionException | CancellationException e) {
+                System.err.println("Candidate evaluation failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Tasks that have not started yet are not needed any more
+        tasks.forEach(task -> task.cancel(false));
+
+        if (!collector.hasResult()) {
+            // Not even one candidate in time, take the first one on the caller thread
+            collector.offer(0, scorer.score(0, Deadline.afterNanos(1)));
+        }
+        return collector;
+    }
+
+    /**
+     Scores one candidate of a decision, higher is better
+     Return NaN when there is nothing to say about the candidate
+     */
+    @FunctionalInterface
+    public interface CandidateScorer {
+        double score(int candidate, Deadline deadline);
+    }
+
+    /**
+     The scores that have arrived so far, safe to fill from several workers
+     */
+    public static final class Collector {
+        private final double[] scores;
+        private final boolean[] scored;
+        private int bestCandidate = -1;
+        private int scoredCount = 0;
+        private final IntConsumer onNewBest;
+
+        Collector(int candidateCount, IntConsumer onNewBest) {
+            this.scores = new double[candidateCount];
+            this.scored = new boolean[candidateCount];
+            this.onNewBest = onNewBest;
+        }
+
+        synchronized void offer(int candidate, double score) {
+            if (Double.isNaN(score) || scored[candidate]) {
+                return;
+            }
+            scores[candidate] = score;
+            scored[candidate] = true;
+            scoredCount++;
+            if (bestCandidate < 0 || score > scores[bestCandidate]
+                    || (score == scores[bestCandidate] && candidate < bestCandidate)) {
+                bestCandidate = candidate;
+                onNewBest.accept(candidate);
+            }
+        }
+
+        // The best candidate so far, -1 if none has been scored
+        public synchronized int getBestCandidate() {
+            return bestCandidate;
+        }
+
+        public synchronized boolean hasResult() {
+            return bestCandidate >= 0;
+        }
+
+        public synchronized boolean isScored(int candidate) {
+            return scored[candidate];
+        }
+
+        public synchronized double getScore(int candidate) {
+            return scored[candidate] ? scores[candidate] : Double.NaN;
+        }
+
+        public synchronized int getScoredCount() {
+            return scoredCount;
+        }
+    }
+}
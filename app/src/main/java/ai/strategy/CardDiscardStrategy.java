@@ -6,9 +6,8 @@
  */
 package ai.strategy;
 
-import ch.aplu.jcardgame.Card;
-import core.Rank;
-import core.Suit;
+import core.CardSet;
+import core.PlayingCard;
 import protocolframework.Request.DecisionRequest;
 import protocolframework.Request.GeneralCardDecisionRequest;
 import protocolframework.decision.GeneralCardDecision;
@@ -37,7 +36,7 @@ public class CardDiscardStrategy implements DecisionStrategy<GeneralCardDecision
     public GeneralCardDecision decide(DecisionRequest<GeneralCardDecision> request) {
         GeneralCardDecisionRequest cardRequest = (GeneralCardDecisionRequest) request;
 
-        List<Card> currentHand = cardRequest.getAvailableCards();
+        List<PlayingCard> currentHand = cardRequest.getAvailableCards();
         String trumpSuit = cardRequest.getSnapshot().getTrumpSuit();
 
         if (currentHand.size() <= 12) {
@@ -60,6 +59,18 @@ public class CardDiscardStrategy implements DecisionStrategy<GeneralCardDecision
         return 0;
     }
 
+    /**
+     * Every card of the hand in the order this strategy would discard them.
+     * Used by MeldKeepingDiscardStrategy as its tie-break order.
+     *
+     * @param allCards current hand cards
+     * @param trumpSuit trump suit used for evaluation
+     * @return all the indices, the first one is discarded first
+     */
+    List<Integer> rankDiscardCandidates(List<PlayingCard> allCards, String trumpSuit) {
+        return selectCardsToDiscard(allCards, trumpSuit, allCards.size());
+    }
+
     /**
      * Select cards to discard, keeping the best cards.
      *
@@ -68,90 +79,61 @@ public class CardDiscardStrategy implements DecisionStrategy<GeneralCardDecision
      * @param discardCount number of cards to discard
      * @return the list of indices to be discarded
      */
-    private List<Integer> selectCardsToDiscard(List<Card> allCards, String trumpSuit, int discardCount) {
+    private List<Integer> selectCardsToDiscard(List<PlayingCard> allCards, String trumpSuit, int discardCount) {
         if (discardCount <= 0) {
             return Collections.emptyList();
         }
 
-        Map<String, List<CardWithIndex>> suitGroups = groupCardsBySuit(allCards);
-
-        List<String> nonTrumpSuits = new ArrayList<>();
-        for (String suit : suitGroups.keySet()) {
-            if (!suit.equals(trumpSuit)) {
-                nonTrumpSuits.add(suit);
-            }
-        }
+        CardSet hand = CardSet.of(allCards);
+        int trumpIndex = CardSet.suitIndex(trumpSuit);
 
         //Sort by the number of cards of suit and color, and discard the
         // fewer ones first
         // If the quantity is the same, sort in reverse alphabetical order to ensure a deterministic result
+        List<Integer> nonTrumpSuits = new ArrayList<>();
+        for (int suit = 0; suit < CardSet.SUIT_COUNT; suit++) {
+            if (suit != trumpIndex && hand.countInSuit(suit) > 0) {
+                nonTrumpSuits.add(suit);
+            }
+        }
         nonTrumpSuits.sort((a, b) -> {
-            int sizeCompare = Integer.compare(suitGroups.get(a).size(), suitGroups.get(b).size());
+            int sizeCompare = Integer.compare(hand.countInSuit(a), hand.countInSuit(b));
             if (sizeCompare != 0) {
                 return sizeCompare;
             }
-           return b.compareTo(a);
+            return CardSet.suitShortHand(b).compareTo(CardSet.suitShortHand(a));
         });
 
         List<Integer> discardIndices = new ArrayList<>();
 
         // Discard non-ace suits according to their priority
-        for (String suit : nonTrumpSuits) {
-            if (discardIndices.size() >= discardCount) break;
-
-            List<CardWithIndex> suitCards = new ArrayList<>(suitGroups.get(suit));
-
-            // Sort the cards in ascending order of rankCardValue within the suit,
-            // and prepare to discard the cards with high rankCardValue
-            suitCards.sort(Comparator.comparingInt(a -> ((Rank) a.card.getRank()).getRankCardValue()));
-
-            // Discard starting from the entire suit (prioritize discarding cards with high rankCardValue)
-            for (CardWithIndex cardWithIndex : suitCards) {
-                if (discardIndices.size() >= discardCount) break;
-                discardIndices.add(cardWithIndex.index);
+        // Within the suit the cards go in ascending order of rankCardValue
+        for (int suit : nonTrumpSuits) {
+            for (int value = 0; value < CardSet.RANK_COUNT; value++) {
+                addSuitCards(allCards, suit, value, discardIndices, discardCount);
             }
         }
 
         //If you still need to discard, discard from the ace suit
-        if (discardIndices.size() < discardCount && suitGroups.containsKey(trumpSuit)) {
-            List<CardWithIndex> trumpCards = new ArrayList<>(suitGroups.get(trumpSuit));
-
-            // The ace cards are sorted in descending order of rankCardValue,
-            // and the cards with high rankCardValue are discarded
-            trumpCards.sort((a, b) -> Integer.compare(
-                    ((Rank) b.card.getRank()).getRankCardValue(),
-                    ((Rank) a.card.getRank()).getRankCardValue()
-            ));
-
-            for (CardWithIndex cardWithIndex : trumpCards) {
-                if (discardIndices.size() >= discardCount) break;
-                discardIndices.add(cardWithIndex.index);
+        // The ace cards go in descending order of rankCardValue
+        if (trumpIndex >= 0) {
+            for (int value = CardSet.RANK_COUNT - 1; value >= 0; value--) {
+                addSuitCards(allCards, trumpIndex, value, discardIndices, discardCount);
             }
         }
 
         return discardIndices;
     }
 
-    // Group the cards by suit while retaining the original index
-    private Map<String, List<CardWithIndex>> groupCardsBySuit(List<Card> allCards) {
-        Map<String, List<CardWithIndex>> suitGroups = new HashMap<>();
-
+    // Add the indices of the cards with this suit and rankCardValue, in hand order
+    private void addSuitCards(List<PlayingCard> allCards, int suit, int rankCardValue,
+                              List<Integer> discardIndices, int discardCount) {
         for (int i = 0; i < allCards.size(); i++) {
-            Card card = allCards.get(i);
-            Suit suit = (Suit) card.getSuit();
-            String suitName = suit.getSuitShortHand();
-
-            CardWithIndex cardWithIndex = new CardWithIndex(card, i);
-            suitGroups.computeIfAbsent(suitName, k -> new ArrayList<>()).add(cardWithIndex);
+            if (discardIndices.size() >= discardCount) return;
+            PlayingCard card = allCards.get(i);
+            if (CardSet.suitIndexOf(card.getTypeIndex()) == suit && card.getRankCardValue() == rankCardValue) {
+                discardIndices.add(i);
+            }
         }
-
-        return suitGroups;
-    }
-
-    /**
-         * Internal utility class that wraps a card with its original index and evaluated value.
-         * Used to track card positions when sorting and selecting cards to discard.
-         */
-        private record CardWithIndex(Card card, int index) {
     }
-}
\ No newline at end of file
+}
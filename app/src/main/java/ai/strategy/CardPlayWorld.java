@@ -0,0 +1,217 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package ai.strategy;
+
+import core.CardSet;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ What one player knows during the trick rounds, for the search based card play
+ Built once per decision and then only read, so several workers can share it
+
+ The seats are relative: ME is the player who decides, OPPONENT the other one.
+ Only the size of the opponent's hand is taken from the snapshot, the cards are
+ either deduced or drawn from the hidden cards
+ */
+final class CardPlayWorld {
+    static final int NB_PLAYERS = 2;
+    static final int ME = 0;
+    static final int OPPONENT = 1;
+
+    final CardSet myHand;
+    final int opponentHandSize;
+    final int leadType;           // The opponent's card in the trick, -1 when we lead
+    final int trumpIndex;
+    private final int[] hiddenCards;  // Types of the cards the opponent may hold, one entry per copy
+    private final int hiddenCount;    // How many of them are allowed by what the opponent has shown
+    private final int[] baseScores;   // Meld plus the tricks already won, ME and OPPONENT
+    private final int bidWinner;      // ME, OPPONENT or -1
+    private final int bid;
+
+    private CardPlayWorld(CardSet myHand, int[] hiddenCards, int hiddenCount, int opponentHandSize,
+                          int leadType, int trumpIndex, int[] baseScores, int bidWinner, int bid) {
+        this.myHand = myHand;
+        this.hiddenCards = hiddenCards;
+        this.hiddenCount = hiddenCount;
+        this.opponentHandSize = opponentHandSize;
+        this.leadType = leadType;
+        this.trumpIndex = trumpIndex;
+        this.baseScores = baseScores;
+        this.bidWinner = bidWinner;
+        this.bid = bid;
+    }
+
+    /**
+     Work out the world of a player from the snapshot
+     @return the world, or null when the snapshot does not leave enough hidden cards for the opponent
+     */
+    static CardPlayWorld of(GameDataSnapshot snapshot, int playerIndex) {
+        int opponentIndex = (playerIndex + 1) % NB_PLAYERS;
+        int trumpIndex = CardSet.suitIndex(snapshot.getTrumpSuit());
+        List<PlayingCard> playedCards = snapshot.getAllPlayedCards();
+        List<PlayingCard> currentTrick = snapshot.getCurrentTrick();
+        CardSet myHand = snapshot.getPlayerCardSet(playerIndex);
+        int opponentHandSize = snapshot.getPlayerHand(opponentIndex).size();
+
+        CardSet hidden = CardSet.FULL_DECK.minus(myHand)
+                .minus(snapshot.getPlayedCardSet())
+                .minus(snapshot.getCurrentTrickCardSet());
+        if (hidden.size() < opponentHandSize) {
+            return null;
+        }
+
+        // Replay the finished tricks: who won the points, and which cards the opponent can not hold
+        int[] trickPoints = new int[NB_PLAYERS];
+        long excluded = 0;
+        int leader = snapshot.getBidWinnerIndex();
+        for (int i = 0; i + 1 < playedCards.size(); i += NB_PLAYERS) {
+            int leadType = playedCards.get(i).getTypeIndex();
+            int followType = playedCards.get(i + 1).getTypeIndex();
+            int follower = (leader + 1) % NB_PLAYERS;
+            if (follower == opponentIndex) {
+                excluded |= shownMissing(leadType, followType, trumpIndex);
+            }
+            int trick = TrickRules.resolveTrick(leadType, followType, trumpIndex);
+            int winner = TrickRules.isSecondWinner(trick) ? follower : leader;
+            trickPoints[winner] += TrickRules.trickPoints(trick);
+            leader = winner;
+        }
+
+        // Allowed cards first, so a draw from the first hiddenCount entries respects them
+        int[] hiddenCards = new int[hidden.size()];
+        int allowed = 0;
+        int other = hiddenCards.length;
+        for (int type = hidden.nextType(0); type >= 0; type = hidden.nextType(type + 1)) {
+            for (int c = 0; c < hidden.count(type); c++) {
+                if ((excluded & (1L << type)) == 0) {
+                    hiddenCards[allowed++] = type;
+                } else {
+                    hiddenCards[--other] = type;
+                }
+            }
+        }
+        // Shown information that does not fit (a changed rule, a human mistake) is ignored
+        int hiddenCount = allowed >= opponentHandSize ? allowed : hiddenCards.length;
+
+        int[] baseScores = {
+                snapshot.getPlayerScore(playerIndex) + trickPoints[playerIndex],
+                snapshot.getPlayerScore(opponentIndex) + trickPoints[opponentIndex]
+        };
+        int bidWinner = snapshot.getBidWinnerIndex() == playerIndex ? ME
+                : snapshot.getBidWinnerIndex() == opponentIndex ? OPPONENT : -1;
+        int leadType = currentTrick.isEmpty() ? -1 : currentTrick.get(0).getTypeIndex();
+
+        return new CardPlayWorld(myHand, hiddenCards, hiddenCount, opponentHandSize, leadType, trumpIndex,
+                baseScores, bidWinner, snapshot.getCurrentBid());
+    }
+
+    // The card types a follower has shown not to hold by not beating the lead
+    private static long shownMissing(int leadType, int followType, int trumpIndex) {
+        long higher = TrickRules.higherInSuitMask(leadType);
+        if ((higher & (1L << followType)) != 0) {
+            return 0;
+        }
+        long missing = higher;
+        if (CardSet.suitIndexOf(leadType) != trumpIndex && CardSet.suitIndexOf(followType) != trumpIndex) {
+            missing |= CardSet.suitMask(trumpIndex);
+        }
+        return missing;
+    }
+
+    /**
+     The first available card of the best candidate type
+     @param totals the value of every candidate type (higher is better), null if they are all equal
+     @return index in availableCards
+     */
+    static int bestCardIndex(List<PlayingCard> availableCards, long candidates, double[] totals) {
+        int bestIndex = -1;
+        double bestTotal = 0;
+        for (int i = 0; i < availableCards.size(); i++) {
+            int type = availableCards.get(i).getTypeIndex();
+            if ((candidates & (1L << type)) == 0) {
+                continue;
+            }
+            double total = totals == null ? 0 : totals[type];
+            if (bestIndex < 0 || total > bestTotal) {
+                bestIndex = i;
+                bestTotal = total;
+            }
+        }
+        return bestIndex;
+    }
+
+    // Every allowed hidden card is in the opponent's hand, there is nothing to guess
+    boolean isDeducible() {
+        return hiddenCount == opponentHandSize;
+    }
+
+    // A working copy of the hidden cards for drawOpponentHand, one per worker
+    int[] newDeck() {
+        return hiddenCards.clone();
+    }
+
+    /**
+     A random opponent hand from the allowed hidden cards
+     @param deck the worker's copy from newDeck, shuffled in place
+     @return the hand packed as CardSet.asLong
+     */
+    long drawOpponentHand(int[] deck, SplittableRandom random) {
+        long handOnes = 0;
+        long handTwos = 0;
+        for (int i = 0; i < opponentHandSize; i++) {
+            int j = i + random.nextInt(hiddenCount - i);
+            int type = deck[j];
+            deck[j] = deck[i];
+            deck[i] = type;
+
+            long bit = 1L << type;
+            handTwos |= handOnes & bit;
+            handOnes |= bit;
+        }
+        return handOnes | (handTwos << 32);
+    }
+
+    // The opponent hand when isDeducible, packed as CardSet.asLong
+    long deducedOpponentHand() {
+        CardSet hand = CardSet.EMPTY;
+        for (int i = 0; i < hiddenCount; i++) {
+            hand = hand.with(hiddenCards[i]);
+        }
+        return hand.asLong();
+    }
+
+    // Points still to be won: both hands and the card in the trick
+    int remainingPoints(long opponentHand) {
+        int points = leadType < 0 ? 0 : TrickRules.getTypePoints(leadType, trumpIndex);
+        for (CardSet hand : new CardSet[]{myHand, CardSet.fromLong(opponentHand)}) {
+            for (int type = hand.nextType(0); type >= 0; type = hand.nextType(type + 1)) {
+                points += hand.count(type) * TrickRules.getTypePoints(type, trumpIndex);
+            }
+        }
+        return points;
+    }
+
+    /**
+     Final score of ME minus the final score of OPPONENT
+     @param myPoints points ME wins in the rest of the game
+     @param opponentPoints points OPPONENT wins in the rest of the game
+     */
+    int finalMargin(int myPoints, int opponentPoints) {
+        return finalScore(ME, myPoints) - finalScore(OPPONENT, opponentPoints);
+    }
+
+    private int finalScore(int player, int points) {
+        int score = baseScores[player] + points;
+        // The bid winner loses everything if the bid was not made
+        return player == bidWinner && score < bid ? 0 : score;
+    }
+}
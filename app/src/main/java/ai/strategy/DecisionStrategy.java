@@ -33,5 +33,11 @@ public interface DecisionStrategy<T extends Decision> {
     // Reset the policy state
     default void reset() {}
 
+    // Take the random draws from this seed from now on (reset starts them again from it)
+    // A strategy without random draws only resets
+    default void reseed(long seed) {
+        reset();
+    }
+
     int getPriority();
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package ai.strategy;
+
+import ai.Deadline;
+import core.CardSet;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+import protocolframework.DecisionType;
+import protocolframework.Request.DecisionRequest;
+import protocolframework.Request.GeneralCardDecisionRequest;
+import protocolframework.decision.GeneralCardDecision;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ Perfect play for the last tricks
+
+ Once few cards are left, the EndgameSolver can play the rest of the game out
+ exactly. When the opponent's hand is known (every card we have not seen and
+ that the opponent has not shown to be missing must be in their hand), the
+ solver's card is simply the best card
+
+ The undealt pack keeps some cards hidden in most games, then a number of
+ opponent hands are drawn like in the Monte Carlo strategy, and each of them
+ is solved exactly instead of played out by a cheap policy
+
+ It only takes over at the end of the game, before that the request goes
+ down the chain to the other card play strategies. The drawn hands stop at the
+ request's deadline, and so does the search of a hand: a decision that comes too
+ late gives up by itself instead of keeping its worker
+
+ Every thread has its own solver and table, so decisions of several games (or
+ a late one and the next one) do not wait for each other
+
+ Settings:
+ endgame.cards    largest hand the solver takes (default 6)
+ endgame.samples  number of drawn hands when the opponent's hand is not known (default 24)
+ endgame.seed     seed of the draws, random when not set,
+                  a game that reseeds its AI (see GameAI.reseed) replaces it
+ */
+public class EndgameCardPlayStrategy implements DecisionStrategy<GeneralCardDecision> {
+    public static final String CARDS_KEY = "endgame.cards";
+    public static final String SAMPLES_KEY = "endgame.samples";
+    public static final String SEED_KEY = "endgame.seed";
+
+    private static final int DEFAULT_CARDS = 6;
+    private static final int DEFAULT_SAMPLES = 24;
+    private static final int TABLE_BITS = 17;
+    private static final int ENDGAME_PRIORITY = 3; // Above every other card play strategy
+    private static final ThreadLocal<EndgameSolver> SOLVERS =
+            ThreadLocal.withInitial(() -> new EndgameSolver(TABLE_BITS));
+
+    private final int maxCards;
+    private final int samples;
+    private long seed;
+    private SplittableRandom random; // Only gives the seed of every decision's draws
+
+    public EndgameCardPlayStrategy(Properties config) {
+        this(Integer.parseInt(config.getProperty(CARDS_KEY, String.valueOf(DEFAULT_CARDS))),
+                Integer.parseInt(config.getProperty(SAMPLES_KEY, String.valueOf(DEFAULT_SAMPLES))),
+                parseSeed(config.getProperty(SEED_KEY, "")));
+    }
+
+    /**
+     @param maxCards largest hand the solver takes
+     @param samples number of drawn hands when the opponent's hand is not known
+     @param seed seed of the draws
+     */
+    public EndgameCardPlayStrategy(int maxCards, int samples, long seed) {
+        this.maxCards = maxCards;
+        this.samples = Math.max(1, samples);
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    private static long parseSeed(String value) {
+        return value.isEmpty() ? System.nanoTime() : Long.parseLong(value);
+    }
+
+    @Override
+    public boolean canHandle(DecisionRequest<GeneralCardDecision> request) {
+        GameDataSnapshot snapshot = request.getSnapshot();
+        int handSize = snapshot.getPlayerHand(request.getPlayerIndex()).size();
+        return request instanceof GeneralCardDecisionRequest
+                && snapshot.getNumberOfPlayers() == CardPlayWorld.NB_PLAYERS
+                && CardSet.suitIndex(snapshot.getTrumpSuit()) >= 0
+                && snapshot.getCurrentTrick().size() < CardPlayWorld.NB_PLAYERS
+                && handSize > 0 && handSize <= maxCards;
+    }
+
+    @Override
+    public GeneralCardDecision decide(DecisionRequest<GeneralCardDecision> request) {
+        GeneralCardDecisionRequest cardRequest = (GeneralCardDecisionRequest) request;
+        List<PlayingCard> availableCards = cardRequest.getAvailableCards();
+        if (availableCards.isEmpty()) {
+            return new GeneralCardDecision(Collections.emptyList());
+        }
+
+        CardPlayWorld world = CardPlayWorld.of(request.getSnapshot(), request.getPlayerIndex());
+        if (world == null) {
+            return null;
+        }
+
+        long candidates = TrickRules.legalTypes(world.myHand.typeMask(), world.leadType, world.trumpIndex)
+                & CardSet.of(availableCards).typeMask();
+        if (candidates == 0) {
+            return null;
+        }
+        if (Long.bitCount(candidates) == 1) {
+            return new GeneralCardDecision(List.of(CardPlayWorld.bestCardIndex(availableCards, candidates, null)));
+        }
+
+        EndgameSolver solver = SOLVERS.get();
+        Deadline deadline = request.getDeadline();
+        int[] values = new int[CardSet.TYPE_COUNT];
+        double[] totals = new double[CardSet.TYPE_COUNT];
+        int solved = 0;
+        if (world.isDeducible()) {
+            solved += addMargins(solver, world, world.deducedOpponentHand(), candidates, values, totals, deadline);
+        } else {
+            SplittableRandom draws = new SplittableRandom(nextSeed());
+            int[] deck = world.newDeck();
+            for (int s = 0; s < samples && !deadline.isExpired(); s++) {
+                solved += addMargins(solver, world, world.drawOpponentHand(deck, draws), candidates, values, totals,
+                        deadline);
+            }
+        }
+        if (solved == 0) {
+            return null; // Out of time before one hand was solved, the chain takes its best so far
+        }
+        return new GeneralCardDecision(List.of(CardPlayWorld.bestCardIndex(availableCards, candidates, totals)));
+    }
+
+    // Solve one opponent hand and add the final score margin of every candidate, 0 if the deadline came first
+    private int addMargins(EndgameSolver solver, CardPlayWorld world, long opponentHand, long candidates,
+                           int[] values, double[] totals, Deadline deadline) {
+        if (!solver.solve(world.myHand.asLong(), opponentHand, world.leadType, world.trumpIndex, candidates,
+                values, deadline)) {
+            return 0;
+        }
+        int remainingPoints = world.remainingPoints(opponentHand);
+        for (long c = candidates; c != 0; c &= c - 1) {
+            int type = Long.numberOfTrailingZeros(c);
+            totals[type] += world.finalMargin(values[type], remainingPoints - values[type]);
+        }
+        return 1;
+    }
+
+    // The draws of every decision start from their own seed, taken in the order of the decisions
+    private synchronized long nextSeed() {
+        return random.nextLong();
+    }
+
+    @Override
+    public DecisionType getSupportedType() {
+        return DecisionType.CARD_PLAY;
+    }
+
+    @Override
+    public int getPriority() {
+        return ENDGAME_PRIORITY;
+    }
+
+    @Override
+    public synchronized void reseed(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    @Override
+    public synchronized void reset() {
+        // The solvers' tables stay valid, only the draws start again
+        random = new SplittableRandom(seed);
+    }
+}
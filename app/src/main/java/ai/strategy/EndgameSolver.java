@@ -0,0 +1,221 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package ai.strategy;
+
+import ai.Deadline;
+import core.CardSet;
+import core.TrickRules;
+
+/**
+ Exact solver for the rest of the trick rounds when both hands are known
+
+ Alpha-beta over the follow-and-beat rules of TrickRules, with a transposition
+ table. The value of a position is the number of points ME wins from there on:
+ the opponent wins the rest, and the final score margin only grows with these
+ points, so the best card for the points is also the best card for the game
+
+ A position is both hands, the leader, the card already in the trick and the
+ trump. It does not depend on how the game got there, so the table stays valid
+ from one move to the next and only has to be sized, never cleared
+
+ Hands are CardSet.asLong values (bits 24-31 are free and hold the rest of the
+ key), the search changes them in place and creates no object
+
+ A solver is used by one thread at a time. The search looks at its deadline
+ every few thousand positions and gives up when it has passed; a position is
+ only stored once it is searched completely, so the table stays right
+ */
+final class EndgameSolver {
+    private static final int ME = CardPlayWorld.ME;
+    private static final int OPPONENT = CardPlayWorld.OPPONENT;
+    private static final int NO_LEAD = CardSet.TYPE_COUNT;
+    private static final int STATE_SHIFT = 24;
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private static final long DEADLINE_CHECK_MASK = (1 << 12) - 1; // Every 4096 positions
+
+    private static final byte EMPTY = 0;
+    private static final byte EXACT = 1;
+    private static final byte LOWER_BOUND = 2;
+    private static final byte UPPER_BOUND = 3;
+
+    private final long[] tableMine;
+    private final long[] tableTheirs;
+    private final int[] tableValues;
+    private final byte[] tableFlags;
+    private final int tableMask;
+
+    // The position being searched, indexed by ME and OPPONENT
+    private final long[] ones = new long[CardPlayWorld.NB_PLAYERS];
+    private final long[] twos = new long[CardPlayWorld.NB_PLAYERS];
+    private int trumpIndex;
+    private long visitedNodes;
+    private Deadline deadline = Deadline.NONE;
+
+    /**
+     @param tableBits the table has 2^tableBits entries (21 bytes each)
+     */
+    EndgameSolver(int tableBits) {
+        int size = 1 << tableBits;
+        this.tableMine = new long[size];
+        this.tableTheirs = new long[size];
+        this.tableValues = new int[size];
+        this.tableFlags = new byte[size];
+        this.tableMask = size - 1;
+    }
+
+    /**
+     The exact points ME wins from the current trick on, for every candidate card
+     @param myHand my hand, packed as CardSet.asLong
+     @param opponentHand the opponent's hand, packed the same way
+     @param leadType the opponent's card in the trick, -1 when ME leads
+     @param trump the trump suit index
+     @param candidates the card types to try, they must be legal
+     @param values receives the points of every candidate, indexed by type
+     @param deadline the search gives up after it
+     @return false if the deadline came first, the values are then not all set
+     */
+    boolean solve(long myHand, long opponentHand, int leadType, int trump, long candidates, int[] values,
+                  Deadline deadline) {
+        this.trumpIndex = trump;
+        this.deadline = deadline;
+        load(ME, myHand);
+        load(OPPONENT, opponentHand);
+
+        try {
+            for (long c = candidates; c != 0; c &= c - 1) {
+                int type = Long.numberOfTrailingZeros(c);
+                remove(ME, type);
+                if (leadType < 0) {
+                    values[type] = search(ME, type, -INFINITY, INFINITY);
+                } else {
+                    values[type] = afterTrick(OPPONENT, leadType, ME, type, -INFINITY, INFINITY);
+                }
+                restore(ME, type);
+            }
+            return true;
+        } catch (SearchTimeout e) {
+            return false;
+        }
+    }
+
+    // Number of positions searched since the solver was created
+    long getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    /**
+     Points of ME from a position where the trick is empty (leadType -1) or holds the lead card
+     Fail soft alpha-beta, ME maximizes and OPPONENT minimizes
+     */
+    private int search(int leader, int leadType, int alpha, int beta) {
+        if (leadType < 0 && ones[leader] == 0) {
+            return 0;
+        }
+        if ((++visitedNodes & DEADLINE_CHECK_MASK) == 0 && deadline.isExpired()) {
+            throw SearchTimeout.INSTANCE;
+        }
+
+        long keyMine = packed(ME);
+        long keyTheirs = packed(OPPONENT)
+                | (long) (leader | (leadType < 0 ? NO_LEAD : leadType) << 1 | trumpIndex << 6) << STATE_SHIFT;
+        int slot = slotOf(keyMine, keyTheirs);
+        if (tableFlags[slot] != EMPTY && tableMine[slot] == keyMine && tableTheirs[slot] == keyTheirs) {
+            int stored = tableValues[slot];
+            byte flag = tableFlags[slot];
+            if (flag == EXACT || (flag == LOWER_BOUND && stored >= beta) || (flag == UPPER_BOUND && stored <= alpha)) {
+                return stored;
+            }
+        }
+
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int mover = leadType < 0 ? leader : 1 - leader;
+        boolean maximizing = mover == ME;
+        int best = maximizing ? -INFINITY : INFINITY;
+
+        long legal = leadType < 0 ? ones[mover] : TrickRules.legalTypes(ones[mover], leadType, trumpIndex);
+        for (long moves = legal; moves != 0; moves &= moves - 1) {
+            int type = Long.numberOfTrailingZeros(moves);
+            remove(mover, type);
+            int value = leadType < 0
+                    ? search(leader, type, alpha, beta)
+                    : afterTrick(leader, leadType, mover, type, alpha, beta);
+            restore(mover, type);
+
+            if (maximizing) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, best);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, best);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        tableMine[slot] = keyMine;
+        tableTheirs[slot] = keyTheirs;
+        tableValues[slot] = best;
+        tableFlags[slot] = best <= originalAlpha ? UPPER_BOUND : best >= originalBeta ? LOWER_BOUND : EXACT;
+        return best;
+    }
+
+    // Finish the trick and search on from the winner's lead, the window is shifted by the points just won
+    private int afterTrick(int leader, int leadType, int follower, int followType, int alpha, int beta) {
+        int trick = TrickRules.resolveTrick(leadType, followType, trumpIndex);
+        int winner = TrickRules.isSecondWinner(trick) ? follower : leader;
+        int gain = winner == ME ? TrickRules.trickPoints(trick) : 0;
+        return gain + search(winner, -1, alpha - gain, beta - gain);
+    }
+
+    // Unwinds the search at the deadline, without a stack trace as it is thrown often
+    private static final class SearchTimeout extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        static final SearchTimeout INSTANCE = new SearchTimeout();
+
+        private SearchTimeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    private int slotOf(long keyMine, long keyTheirs) {
+        long z = keyMine * 0x9E3779B97F4A7C15L ^ keyTheirs;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31)) & tableMask;
+    }
+
+    private void load(int player, long hand) {
+        ones[player] = hand & 0xFFFFFFFFL;
+        twos[player] = hand >>> 32;
+    }
+
+    private long packed(int player) {
+        return ones[player] | (twos[player] << 32);
+    }
+
+    // Take one copy out, the second copy first
+    private void remove(int player, int type) {
+        long bit = 1L << type;
+        if ((twos[player] & bit) != 0) {
+            twos[player] &= ~bit;
+        } else {
+            ones[player] &= ~bit;
+        }
+    }
+
+    // Undo remove
+    private void restore(int player, int type) {
+        long bit = 1L << type;
+        if ((ones[player] & bit) != 0) {
+            twos[player] |= bit;
+        } else {
+            ones[player] |= bit;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package ai.strategy;
+
+import core.PlayingCard;
+import meld.IncrementalMeldEvaluator;
+import meld.MeldAnalyzer;
+import protocolframework.*;
+import protocolframework.Request.DecisionRequest;
+import protocolframework.Request.GeneralCardDecisionRequest;
+import protocolframework.decision.GeneralCardDecision;
+
+import java.util.*;
+
+/**
+ * Cut-throat discard strategy that keeps the melds of the hand.
+ * It follows the order of CardDiscardStrategy (short non-trump suits and low
+ * cards first), but skips every card the best melds need. Only when every
+ * remaining card is part of a meld it drops the one that loses the fewest
+ * meld points.
+ *
+ * The hand changes one card at a time and every candidate is one card less,
+ * so the meld score is kept by an IncrementalMeldEvaluator instead of a full
+ * search for every candidate. Enabled with "mode.smartdiscard".
+ */
+public class MeldKeepingDiscardStrategy implements DecisionStrategy<GeneralCardDecision> {
+    private static final int FINAL_HAND_SIZE = 12;
+    private static final int MELD_KEEPING_PRIORITY = 1; // Before the plain CardDiscardStrategy
+
+    private final MeldAnalyzer meldAnalyzer;
+    private final CardDiscardStrategy discardOrder = new CardDiscardStrategy();
+
+    public MeldKeepingDiscardStrategy(MeldAnalyzer meldAnalyzer) {
+        this.meldAnalyzer = meldAnalyzer;
+    }
+
+    @Override
+    public GeneralCardDecision decide(DecisionRequest<GeneralCardDecision> request) {
+        GeneralCardDecisionRequest cardRequest = (GeneralCardDecisionRequest) request;
+
+        List<PlayingCard> currentHand = cardRequest.getAvailableCards();
+        String trumpSuit = cardRequest.getSnapshot().getTrumpSuit();
+
+        if (currentHand.size() <= FINAL_HAND_SIZE) {
+            return new GeneralCardDecision(Collections.emptyList());
+        }
+
+        int discardCount = currentHand.size() - FINAL_HAND_SIZE;
+        List<Integer> candidates = new ArrayList<>(discardOrder.rankDiscardCandidates(currentHand, trumpSuit));
+        IncrementalMeldEvaluator evaluator = new IncrementalMeldEvaluator(meldAnalyzer, trumpSuit, currentHand);
+
+        List<Integer> discardIndices = new ArrayList<>();
+        while (discardIndices.size() < discardCount && !candidates.isEmpty()) {
+            int selected = selectNextDiscard(currentHand, candidates, evaluator);
+            candidates.remove(Integer.valueOf(selected));
+            discardIndices.add(selected);
+            evaluator.remove(currentHand.get(selected));
+        }
+
+        return new GeneralCardDecision(discardIndices);
+    }
+
+    // The first card no meld needs, or else the card losing the fewest meld points
+    private int selectNextDiscard(List<PlayingCard> hand, List<Integer> candidates,
+                                  IncrementalMeldEvaluator evaluator) {
+        for (int index : candidates) {
+            if (evaluator.isFree(hand.get(index))) {
+                return index;
+            }
+        }
+
+        int selected = candidates.get(0);
+        int bestScore = -1;
+        for (int index : candidates) {
+            int score = evaluator.scoreWithout(hand.get(index));
+            if (score > bestScore) {
+                bestScore = score;
+                selected = index;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public DecisionType getSupportedType() {
+        return DecisionType.CARD_DISCARD;
+    }
+
+    @Override
+    public int getPriority() {
+        return MELD_KEEPING_PRIORITY;
+    }
+}
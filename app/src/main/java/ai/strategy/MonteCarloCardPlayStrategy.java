@@ -0,0 +1,306 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package ai.strategy;
+
+import ai.Deadline;
+import ai.ParallelRootEvaluator;
+import core.CardSet;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+import protocolframework.DecisionType;
+import protocolframework.Request.DecisionRequest;
+import protocolframework.Request.GeneralCardDecisionRequest;
+import protocolframework.decision.GeneralCardDecision;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ Monte Carlo card play (determinization)
+
+ The opponent's hand is unknown, so many possible hands are drawn from the cards
+ we have not seen (not in our hand, not played, not in the trick). Every legal
+ card is then played in each of these worlds and the rest of the game is played
+ out under the TrickRules, the card with the best average final score margin wins
+
+ - the drawn hands respect what the opponent has shown: when they did not beat
+   a lead they have no higher card of that suit, and no trump either if they
+   did not trump a non-trump lead
+ - all candidate cards are played in the same worlds with the same random
+   numbers, so the comparison is not blurred by luck
+ - the rest of the game is played by a cheap policy: the leader plays a random
+   card, the follower wins with its cheapest winning card or throws its cheapest card
+ - the candidates are scored at the same time by a ParallelRootEvaluator, each
+   stops at the iteration budget or the time budget, whatever comes first
+ - the time budget is cut to the request's deadline, and the best card so far
+   is published on the request every time it changes
+
+ Settings:
+ montecarlo.iterations  number of drawn worlds (default 1000)
+ montecarlo.budget.ms   time budget per move in milliseconds (default 50)
+ montecarlo.seed        seed of the draws, random when not set,
+                        a game that reseeds its AI (see GameAI.reseed) replaces it
+ The number of workers is ai.threads, see ParallelRootEvaluator
+ */
+public class MonteCarloCardPlayStrategy implements DecisionStrategy<GeneralCardDecision> {
+    public static final String ITERATIONS_KEY = "montecarlo.iterations";
+    public static final String BUDGET_KEY = "montecarlo.budget.ms";
+    public static final String SEED_KEY = "montecarlo.seed";
+
+    private static final int DEFAULT_ITERATIONS = 1000;
+    private static final long DEFAULT_BUDGET_MS = 50;
+    private static final int MONTE_CARLO_PRIORITY = 2; // Above the Bayesian strategy
+    private static final int NB_PLAYERS = CardPlayWorld.NB_PLAYERS;
+    private static final int ME = CardPlayWorld.ME;
+    private static final int OPPONENT = CardPlayWorld.OPPONENT;
+
+    private final int iterations;
+    private final long budgetMillis;
+    private final ParallelRootEvaluator evaluator;
+    private long seed;
+    private SplittableRandom random;
+
+    public MonteCarloCardPlayStrategy(Properties config, ParallelRootEvaluator evaluator) {
+        this(Integer.parseInt(config.getProperty(ITERATIONS_KEY, String.valueOf(DEFAULT_ITERATIONS))),
+                Long.parseLong(config.getProperty(BUDGET_KEY, String.valueOf(DEFAULT_BUDGET_MS))),
+                evaluator,
+                parseSeed(config.getProperty(SEED_KEY, "")));
+    }
+
+    /**
+     @param iterations number of drawn worlds per move
+     @param budgetMillis time budget per move, 0 or less for no time limit
+     @param evaluator scores the candidate cards, on several workers if it has a pool
+     @param seed seed of the draws, the same seed gives the same moves when there is no time limit
+     */
+    public MonteCarloCardPlayStrategy(int iterations, long budgetMillis, ParallelRootEvaluator evaluator, long seed) {
+        this.iterations = Math.max(1, iterations);
+        this.budgetMillis = budgetMillis;
+        this.evaluator = evaluator;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    private static long parseSeed(String value) {
+        return value.isEmpty() ? System.nanoTime() : Long.parseLong(value);
+    }
+
+    @Override
+    public boolean canHandle(DecisionRequest<GeneralCardDecision> request) {
+        GameDataSnapshot snapshot = request.getSnapshot();
+        return request instanceof GeneralCardDecisionRequest
+                && snapshot.getNumberOfPlayers() == NB_PLAYERS
+                && CardSet.suitIndex(snapshot.getTrumpSuit()) >= 0
+                && snapshot.getCurrentTrick().size() < NB_PLAYERS;
+    }
+
+    @Override
+    public GeneralCardDecision decide(DecisionRequest<GeneralCardDecision> request) {
+        Deadline deadline = Deadline.afterMillis(budgetMillis).min(request.getDeadline());
+        GeneralCardDecisionRequest cardRequest = (GeneralCardDecisionRequest) request;
+        GameDataSnapshot snapshot = request.getSnapshot();
+        int playerIndex = request.getPlayerIndex();
+
+        List<PlayingCard> availableCards = cardRequest.getAvailableCards();
+        if (availableCards.isEmpty()) {
+            return new GeneralCardDecision(Collections.emptyList());
+        }
+
+        CardPlayWorld world = CardPlayWorld.of(snapshot, playerIndex);
+        if (world == null) {
+            return null; // Nothing consistent to draw from, let the next strategy decide
+        }
+
+        // Only the legal cards are tried, two copies of a card are the same candidate
+        long candidates = TrickRules.legalTypes(world.myHand.typeMask(), world.leadType, world.trumpIndex)
+                & CardSet.of(availableCards).typeMask();
+        if (candidates == 0) {
+            return null;
+        }
+        if (Long.bitCount(candidates) == 1) {
+            return new GeneralCardDecision(List.of(CardPlayWorld.bestCardIndex(availableCards, candidates, null)));
+        }
+
+        // The candidates are scored at the same time by the evaluator's workers
+        int[] types = new int[Long.bitCount(candidates)];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+        }
+        long worldSeed = nextSeed();
+        ParallelRootEvaluator.Collector collector = evaluator.evaluate(types.length,
+                (candidate, until) -> scoreCandidate(world, types[candidate], worldSeed, until), deadline,
+                candidate -> request.publishBestSoFar(new GeneralCardDecision(
+                        List.of(CardPlayWorld.bestCardIndex(availableCards, 1L << types[candidate], null)))));
+
+        long bestType = 1L << types[collector.getBestCandidate()];
+        return new GeneralCardDecision(List.of(CardPlayWorld.bestCardIndex(availableCards, bestType, null)));
+    }
+
+    // Taken in the order of the decisions, a late decision may still run next to the new one
+    private synchronized long nextSeed() {
+        return random.nextLong();
+    }
+
+    /**
+     Average final score margin of one candidate over the drawn worlds
+     Every candidate starts from the same seed, so they all see the same worlds
+     and the same rollout random numbers, whichever worker plays them
+     */
+    private double scoreCandidate(CardPlayWorld world, int type, long worldSeed, Deadline deadline) {
+        Playout playout = new Playout(world, new SplittableRandom(worldSeed));
+        double total = 0;
+        int worlds = 0;
+        // At least one world, so every candidate that gets a turn has a score
+        while (worlds < iterations && (worlds == 0 || !deadline.isExpired())) {
+            total += playout.playWorld(type);
+            worlds++;
+        }
+        return total / worlds;
+    }
+
+    /**
+     Draws worlds and plays a candidate to the end of the game in them
+     The hands are CardSet lanes in plain longs, so a playout creates no object
+     */
+    private static final class Playout {
+        private final CardPlayWorld world;
+        private final SplittableRandom random;
+        private final int[] deck;
+
+        // Hands during a playout, indexed by ME and OPPONENT
+        private final long[] ones = new long[NB_PLAYERS];
+        private final long[] twos = new long[NB_PLAYERS];
+        private final int[] points = new int[NB_PLAYERS];
+        private long rolloutState;
+
+        Playout(CardPlayWorld world, SplittableRandom random) {
+            this.world = world;
+            this.random = random;
+            this.deck = world.newDeck();
+        }
+
+        // Draw the next world and play the card in it
+        double playWorld(int type) {
+            long opponentHand = world.drawOpponentHand(deck, random);
+            rolloutState = random.nextLong();
+            return playOut(type, opponentHand);
+        }
+
+        // Final score margin after playing the card and the rest of the game
+        private double playOut(int firstType, long opponentHand) {
+            long myPacked = world.myHand.asLong();
+            ones[ME] = myPacked & 0xFFFFFFFFL;
+            twos[ME] = myPacked >>> 32;
+            ones[OPPONENT] = opponentHand & 0xFFFFFFFFL;
+            twos[OPPONENT] = opponentHand >>> 32;
+            points[ME] = 0;
+            points[OPPONENT] = 0;
+
+            remove(ME, firstType);
+            int leader;
+            if (world.leadType < 0) {
+                int followType = chooseFollow(OPPONENT, firstType);
+                leader = playTrick(ME, firstType, followType);
+            } else {
+                leader = playTrick(OPPONENT, world.leadType, firstType);
+            }
+
+            while (ones[leader] != 0) {
+                int follower = 1 - leader;
+                int leadType = chooseLead(leader);
+                int followType = chooseFollow(follower, leadType);
+                leader = playTrick(leader, leadType, followType);
+            }
+            return world.finalMargin(points[ME], points[OPPONENT]);
+        }
+
+        // The follow card has already been removed from the hand when it is chosen
+        private int playTrick(int leader, int leadType, int followType) {
+            int trick = TrickRules.resolveTrick(leadType, followType, world.trumpIndex);
+            int winner = TrickRules.isSecondWinner(trick) ? 1 - leader : leader;
+            points[winner] += TrickRules.trickPoints(trick);
+            return winner;
+        }
+
+        // Any card of the hand
+        private int chooseLead(int player) {
+            long types = ones[player];
+            int skip = nextRandom(Long.bitCount(types));
+            for (int i = 0; i < skip; i++) {
+                types &= types - 1;
+            }
+            int type = Long.numberOfTrailingZeros(types);
+            remove(player, type);
+            return type;
+        }
+
+        // The cheapest card that wins, or the cheapest card if none wins
+        private int chooseFollow(int player, int leadType) {
+            long legal = TrickRules.legalTypes(ones[player], leadType, world.trumpIndex);
+            int bestType = -1;
+            boolean bestWins = false;
+            int bestPoints = 0;
+            for (long t = legal; t != 0; t &= t - 1) {
+                int type = Long.numberOfTrailingZeros(t);
+                boolean wins = TrickRules.doesSecondTypeWin(leadType, type, world.trumpIndex);
+                int typePoints = TrickRules.getTypePoints(type, world.trumpIndex);
+                if (bestType < 0 || (wins && !bestWins) || (wins == bestWins && typePoints < bestPoints)) {
+                    bestType = type;
+                    bestWins = wins;
+                    bestPoints = typePoints;
+                }
+            }
+            remove(player, bestType);
+            return bestType;
+        }
+
+        private void remove(int player, int type) {
+            long bit = 1L << type;
+            if ((twos[player] & bit) != 0) {
+                twos[player] &= ~bit;
+            } else {
+                ones[player] &= ~bit;
+            }
+        }
+
+        // splitmix64, restarted for every candidate so they all see the same numbers
+        private int nextRandom(int bound) {
+            rolloutState += 0x9E3779B97F4A7C15L;
+            long z = rolloutState;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z ^= z >>> 31;
+            return (int) ((z >>> 33) % bound);
+        }
+    }
+
+    @Override
+    public DecisionType getSupportedType() {
+        return DecisionType.CARD_PLAY;
+    }
+
+    @Override
+    public int getPriority() {
+        return MONTE_CARLO_PRIORITY;
+    }
+
+    @Override
+    public synchronized void reseed(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    @Override
+    public synchronized void reset() {
+        // Start the draws again, so a seeded game can be played again the same way
+        random = new SplittableRandom(seed);
+    }
+}
@@ -6,7 +6,7 @@
  */
 package ai.strategy;
 
-import ch.aplu.jcardgame.Card;
+import core.PlayingCard;
 import protocolframework.*;
 import protocolframework.Request.DecisionRequest;
 import protocolframework.Request.GeneralCardDecisionRequest;
@@ -25,7 +25,9 @@ import java.util.*;
  */
 public class RandomFallbackStrategy implements DecisionStrategy<Decision> {
     private static final int MAX_HAND_SIZE = 12;
-    private final Random random = new Random();
+    private Random random = new Random();
+    private long seed;
+    private boolean seeded; // Unseeded draws are not started again by reset
 
     @Override
     @SuppressWarnings("unchecked")
@@ -53,6 +55,16 @@ public class RandomFallbackStrategy implements DecisionStrategy<Decision> {
 
     @Override
     public void reset() {
+        if (seeded) {
+            random = new Random(seed);
+        }
+    }
+
+    @Override
+    public void reseed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+        reset();
     }
 
     @Override
@@ -79,7 +91,7 @@ public class RandomFallbackStrategy implements DecisionStrategy<Decision> {
         DecisionRequest<?> rawRequest = request;
         GeneralCardDecisionRequest cardRequest = (GeneralCardDecisionRequest) rawRequest;
 
-        List<Card> availableCards = cardRequest.getAvailableCards();
+        List<PlayingCard> availableCards = cardRequest.getAvailableCards();
 
         if (availableCards.isEmpty()) {
             return new GeneralCardDecision(Collections.emptyList());
@@ -99,13 +111,13 @@ public class RandomFallbackStrategy implements DecisionStrategy<Decision> {
     }
 
 
-    private GeneralCardDecision createRandomPlayDecision(List<Card> availableCards) {
+    private GeneralCardDecision createRandomPlayDecision(List<PlayingCard> availableCards) {
         int selectedIndex = random.nextInt(availableCards.size());
         return new GeneralCardDecision(Arrays.asList(selectedIndex));
     }
 
 
-    private GeneralCardDecision createRandomRevealDecision(List<Card> availableCards) {
+    private GeneralCardDecision createRandomRevealDecision(List<PlayingCard> availableCards) {
         if (availableCards.size() <= 1) {
             return new GeneralCardDecision(Arrays.asList(0));
         }
@@ -115,7 +127,7 @@ public class RandomFallbackStrategy implements DecisionStrategy<Decision> {
 
 
     // Randomly select the cards to discard
-    private GeneralCardDecision createRandomDiscardDecision(List<Card> availableCards) {
+    private GeneralCardDecision createRandomDiscardDecision(List<PlayingCard> availableCards) {
         if (availableCards.size() <= MAX_HAND_SIZE) {
             return new GeneralCardDecision(Collections.emptyList());
         }
@@ -6,9 +6,9 @@
  */
 package ai.strategy;
 
-import ch.aplu.jcardgame.Card;
+import core.CardSet;
+import core.PlayingCard;
 import core.Rank;
-import core.Suit;
 import data.GameDataSnapshot;
 import protocolframework.Request.BidRequest;
 import protocolframework.Request.DecisionRequest;
@@ -55,16 +55,17 @@ public class SmartBiddingStrategy implements DecisionStrategy<BidDecision>{
         BidRequest bidRequest = (BidRequest) request;
         GameDataSnapshot snapshot = request.getSnapshot();
 
-        List<Card> hand = snapshot.getPlayerHand(bidRequest.getPlayerIndex());
-        if (hand.isEmpty()) {
+        List<PlayingCard> handCards = snapshot.getPlayerHand(bidRequest.getPlayerIndex());
+        if (handCards.isEmpty()) {
             return new BidDecision(true, 0, "C");
         }
+        CardSet hand = snapshot.getPlayerCardSet(bidRequest.getPlayerIndex());
 
-        // Determine most common trump suit in hand
-        String assumedTrumpSuit = getCurrentAssumedTrumpSuit(hand);
-
-        // Compute meld score
-        int meldScore = meldAnalyzer.calculateBestScore(hand, assumedTrumpSuit);
+        // Score the melds of every trump (kept from the last round) and take the strongest trump
+        int[] meldScores = meldAnalyzer.calculateAllTrumpScores(hand);
+        int bestSuit = chooseAssumedTrump(hand, meldScores);
+        String assumedTrumpSuit = CardSet.suitShortHand(bestSuit);
+        int meldScore = meldScores[bestSuit];
 
         // If this is the first bid, use meld to initiate
         if (bidRequest.isFirstBid()) {
@@ -100,107 +101,68 @@ public class SmartBiddingStrategy implements DecisionStrategy<BidDecision>{
         return 0;
     }
 
-    private int calculateBidIncrement(List<Card> hand){
-        Map<String, Integer> suitCounts = new HashMap<>();
-
-        for (Card card:hand) {
-            Suit suit =(Suit)card.getSuit();
-            String suitName =suit.getSuitShortHand();
-            suitCounts.put(suitName, suitCounts.getOrDefault(suitName, 0) + 1);
-        }
-
+    private int calculateBidIncrement(CardSet hand){
         // Bid more aggressively if there are 6 or more cards of the same suit
-        for (int count:suitCounts.values()){
-            if (count >= AGGRESSIVE_SUIT_COUNT) {
+        for (int suit = 0; suit < CardSet.SUIT_COUNT; suit++){
+            if (hand.countInSuit(suit) >= AGGRESSIVE_SUIT_COUNT) {
                 return AGGRESSIVE_BID_INCREMENT;
             }
         }
         return DEFAULT_BID_INCREMENT;
     }
 
-    private int calculateMajorSuitValue(List<Card> hand){
-        Map<String, List<Card>> suitGroups = groupCardsBySuit(hand);
-
+    private int calculateMajorSuitValue(CardSet hand){
         int maxValue = 0;
-        for (List<Card> suitCards : suitGroups.values()){
-            int suitValue = suitCards.stream()
-                    .mapToInt(card -> ((Rank) card.getRank()).getScoreValue())
-                    .sum();
-            maxValue = Math.max(maxValue, suitValue);
+        for (int suit = 0; suit < CardSet.SUIT_COUNT; suit++){
+            maxValue = Math.max(maxValue, calculateSuitValue(hand, suit));
         }
 
         return maxValue;
     }
 
-    private int calculateAceKingTenValue(List<Card> hand){
-        Map<String, List<Card>> suitGroups = groupCardsBySuit(hand);
-
+    private int calculateAceKingTenValue(CardSet hand){
         int maxValue = 0;
-        for (List<Card> suitCards : suitGroups.values()){
-            int aceKingTenCount = 0;
-            int suitValue = 0;
+        for (int suit = 0; suit < CardSet.SUIT_COUNT; suit++){
+            boolean hasAceKingTen = hand.contains(CardSet.typeIndex(suit, Rank.ACE))
+                    || hand.contains(CardSet.typeIndex(suit, Rank.TEN))
+                    || hand.contains(CardSet.typeIndex(suit, Rank.KING));
 
-            for (Card card : suitCards) {
-                Rank rank = (Rank) card.getRank();
-                int rankValue = rank.getRankCardValue();
-
-                if (rankValue == Rank.ACE.getRankCardValue()||
-                        rankValue == Rank.TEN.getRankCardValue()||
-                        rankValue == Rank.KING.getRankCardValue()){
-                    aceKingTenCount++;
-                }
-
-                suitValue += rank.getScoreValue();
-            }
-
-            if (aceKingTenCount > 0) {
-                maxValue = Math.max(maxValue, suitValue);
+            if (hasAceKingTen) {
+                maxValue = Math.max(maxValue, calculateSuitValue(hand, suit));
             }
         }
 
         return maxValue;
     }
 
-    private String getCurrentAssumedTrumpSuit(List<Card> hand){
-        Map<String, Integer> suitCounts = new HashMap<>();
-        for (Card card : hand) {
-            Suit suit = (Suit) card.getSuit();
-            String suitName = suit.getSuitShortHand();
-            suitCounts.put(suitName, suitCounts.getOrDefault(suitName,0) + 1);
+    // Sum of the score values of the cards in one suit
+    private int calculateSuitValue(CardSet hand, int suit){
+        int suitValue = 0;
+        for (Rank rank : Rank.values()) {
+            suitValue += hand.count(CardSet.typeIndex(suit, rank)) * rank.getScoreValue();
         }
-
-        String maxSuit = null;
-        int maxCount = 0;
-        List<String> tiedSuits = new ArrayList<>();
-
-        for (Map.Entry<String,Integer> entry:suitCounts.entrySet()){
-            if (entry.getValue() > maxCount){
-                maxCount = entry.getValue();
-                maxSuit = entry.getKey();
-                tiedSuits.clear();
-                tiedSuits.add(maxSuit);
-            } else if (entry.getValue()==maxCount){
-                tiedSuits.add(entry.getKey());
-            }
-        }
-
-        if (tiedSuits.size() >1) {
-            Random random = new Random();
-            return tiedSuits.get(random.nextInt(tiedSuits.size()));
-        }
-
-        return maxSuit != null ? maxSuit : "C";
+        return suitValue;
     }
 
-    private Map<String, List<Card>> groupCardsBySuit(List<Card> hand){
-        Map<String, List<Card>> groups =new HashMap<>();
-
-        for (Card card : hand) {
-            Suit suit = (Suit)card.getSuit();
-            String suitName =suit.getSuitShortHand();
-            groups.computeIfAbsent(suitName, k ->new ArrayList<>()).add(card);
+    /**
+     The trump with the highest meld score plus the score value of its cards
+     Ties go to the longer suit, then to the first suit in S, H, D, C order,
+     so the same hand always gets the same trump
+     @return the suit index of the trump
+     */
+    private int chooseAssumedTrump(CardSet hand, int[] meldScores){
+        int best = -1;
+        int bestValue = 0;
+        int bestLength = 0;
+        for (int suit = 0; suit < meldScores.length; suit++){
+            int value = meldScores[suit] + calculateSuitValue(hand, suit);
+            int length = hand.countInSuit(suit);
+            if (best < 0 || value > bestValue || (value == bestValue && length > bestLength)){
+                best = suit;
+                bestValue = value;
+                bestLength = length;
+            }
         }
-
-        return groups;
+        return best;
     }
-}
\ No newline at end of file
+}
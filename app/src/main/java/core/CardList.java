@@ -0,0 +1,142 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package core;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ An immutable list of cards that keeps its order, with its CardSet ready
+
+ The engine keeps its hands, the trick and the played cards in these lists,
+ so a GameDataSnapshot can hold the lists themselves instead of copies. A list
+ never changes once it has been created, every change returns a new list:
+ - with(card) appends. When the list is the newest version of its storage,
+   the new list shares the storage and only writes the slot after the end,
+   which no older list can see. The played cards of a whole game are one
+   storage, however many snapshots are taken
+ - without(card) copies, it is only used on hands of 12 cards or so
+
+ The CardSet is updated along with the list, so the AI gets the bitset of a
+ hand without counting the cards again
+
+ Lists can be read from any thread. Only one thread (the engine) should
+ append to the same list at a time
+ */
+public final class CardList extends AbstractList<PlayingCard> implements RandomAccess {
+    private static final int MIN_CAPACITY = 16;
+
+    public static final CardList EMPTY = new CardList(new Storage(0), 0, CardSet.EMPTY);
+
+    private final Storage storage;
+    private final int size;
+    private final CardSet cardSet;
+
+    private CardList(Storage storage, int size, CardSet cardSet) {
+        this.storage = storage;
+        this.size = size;
+        this.cardSet = cardSet;
+    }
+
+    // The cards are copied once, in the same order
+    public static CardList copyOf(Collection<PlayingCard> cards) {
+        if (cards == null || cards.isEmpty()) {
+            return EMPTY;
+        }
+        if (cards instanceof CardList) {
+            return (CardList) cards;
+        }
+        Storage storage = new Storage(Math.max(MIN_CAPACITY, cards.size()));
+        int size = 0;
+        for (PlayingCard card : cards) {
+            storage.cards[size++] = card;
+        }
+        storage.used = size;
+        return new CardList(storage, size, CardSet.of(cards));
+    }
+
+    // This list with the card at the end
+    public CardList with(PlayingCard card) {
+        CardSet newSet = cardSet.with(card);
+        synchronized (storage) {
+            if (storage.used == size && size < storage.cards.length) {
+                storage.cards[size] = card;
+                storage.used++;
+                return new CardList(storage, size + 1, newSet);
+            }
+        }
+        // An older version, or full: continue in a new storage
+        Storage grown = new Storage(Math.max(MIN_CAPACITY, size * 2));
+        System.arraycopy(storage.cards, 0, grown.cards, 0, size);
+        grown.cards[size] = card;
+        grown.used = size + 1;
+        return new CardList(grown, size + 1, newSet);
+    }
+
+    // This list with the cards at the end
+    public CardList withAll(Collection<PlayingCard> cards) {
+        CardList list = this;
+        for (PlayingCard card : cards) {
+            list = list.with(card);
+        }
+        return list;
+    }
+
+    // This list without the first copy of the card (the same object), itself if the card is not in it
+    public CardList without(PlayingCard card) {
+        int index = indexOf(card);
+        if (index < 0) {
+            return this;
+        }
+        if (size == 1) {
+            return EMPTY;
+        }
+        Storage copy = new Storage(Math.max(MIN_CAPACITY, size));
+        System.arraycopy(storage.cards, 0, copy.cards, 0, index);
+        System.arraycopy(storage.cards, index + 1, copy.cards, index, size - index - 1);
+        copy.used = size - 1;
+        return new CardList(copy, size - 1, cardSet.without(card));
+    }
+
+    public CardSet getCardSet() {
+        return cardSet;
+    }
+
+    @Override
+    public PlayingCard get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return storage.cards[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (storage.cards[i] == o) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // The slots below used are never written again
+    private static final class Storage {
+        private final PlayingCard[] cards;
+        private int used;
+
+        Storage(int capacity) {
+            this.cards = new PlayingCard[capacity];
+        }
+    }
+}
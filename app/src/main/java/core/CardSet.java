@@ -0,0 +1,283 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ A multiset of Pinochle cards packed into two 24 bit lanes
+
+ The double deck only has 24 different cards (4 suits x 6 ranks), each of them
+ twice. Every card type gets one bit in each lane:
+ - the "ones" lane is set when there is at least one copy
+ - the "twos" lane is set when there are both copies (so twos is inside ones)
+
+ Adding, removing, counting and the set operations are a few bit operations,
+ so the AI and the meld search can compare whole hands without building the
+ "5S" style strings and without List.remove(Object)
+
+ A CardSet is immutable, every change returns a new set. Both lanes together
+ fit into one long (asLong), which is a cheap key for maps and caches
+ */
+public final class CardSet {
+    public static final int SUIT_COUNT = 4;
+    public static final int RANK_COUNT = 6;
+    public static final int TYPE_COUNT = SUIT_COUNT * RANK_COUNT;
+    public static final int MAX_COPIES = 2;
+
+    private static final long LANE_MASK = (1L << TYPE_COUNT) - 1;
+    private static final long SUIT_MASK = (1L << RANK_COUNT) - 1;
+    private static final int TWOS_SHIFT = 32;
+    private static final String[] SUIT_SHORT_HANDS = {"S", "H", "D", "C"};
+    private static final Rank[] RANKS = Rank.values();
+
+    public static final CardSet EMPTY = new CardSet(0, 0);
+    public static final CardSet FULL_DECK = new CardSet(LANE_MASK, LANE_MASK);
+
+    private final long ones;
+    private final long twos;
+
+    private CardSet(long ones, long twos) {
+        this.ones = ones;
+        this.twos = twos;
+    }
+
+    /**
+     * Converters
+     */
+
+    public static CardSet of(Collection<PlayingCard> cards) {
+        // Build both lanes first, so only one set is created
+        long ones = 0;
+        long twos = 0;
+        for (PlayingCard card : cards) {
+            long bit = 1L << card.getTypeIndex();
+            twos |= ones & bit;
+            ones |= bit;
+        }
+        return new CardSet(ones, twos);
+    }
+
+    public static CardSet of(PlayingCard... cards) {
+        return of(List.of(cards));
+    }
+
+    // Rebuild a set from asLong()
+    public static CardSet fromLong(long packed) {
+        return new CardSet(packed & LANE_MASK, (packed >>> TWOS_SHIFT) & LANE_MASK);
+    }
+
+    // Index of the card type, the two copies of a card share it (0..23)
+    public static int typeIndex(Suit suit, Rank rank) {
+        return suit.getSuitIndex() * RANK_COUNT + rank.ordinal();
+    }
+
+    public static int typeIndex(int suitIndex, Rank rank) {
+        return suitIndex * RANK_COUNT + rank.ordinal();
+    }
+
+    // Index of the card type from the suit short hand ("S", "H", "D", "C")
+    public static int typeIndex(String suitShortHand, Rank rank) {
+        int suitIndex = suitIndex(suitShortHand);
+        return suitIndex < 0 ? -1 : suitIndex * RANK_COUNT + rank.ordinal();
+    }
+
+    // Index of the suit ("S"=0, "H"=1, "D"=2, "C"=3), -1 for anything else
+    public static int suitIndex(String suitShortHand) {
+        if (suitShortHand == null || suitShortHand.length() != 1) {
+            return -1;
+        }
+        return switch (suitShortHand.charAt(0)) {
+            case 'S' -> 0;
+            case 'H' -> 1;
+            case 'D' -> 2;
+            case 'C' -> 3;
+            default -> -1;
+        };
+    }
+
+    public static String suitShortHandOf(int typeIndex) {
+        return SUIT_SHORT_HANDS[typeIndex / RANK_COUNT];
+    }
+
+    public static String suitShortHand(int suitIndex) {
+        return SUIT_SHORT_HANDS[suitIndex];
+    }
+
+    public static int suitIndexOf(int typeIndex) {
+        return typeIndex / RANK_COUNT;
+    }
+
+    public static Rank rankOf(int typeIndex) {
+        return RANKS[typeIndex % RANK_COUNT];
+    }
+
+    /**
+     * Single card operations
+     */
+
+    public CardSet with(PlayingCard card) {
+        return with(card.getTypeIndex());
+    }
+
+    // Add one copy, a third copy is ignored
+    public CardSet with(int typeIndex) {
+        long bit = 1L << typeIndex;
+        if ((ones & bit) == 0) {
+            return new CardSet(ones | bit, twos);
+        }
+        return new CardSet(ones, twos | bit);
+    }
+
+    public CardSet without(PlayingCard card) {
+        return without(card.getTypeIndex());
+    }
+
+    // Remove one copy, removing a missing card does nothing
+    public CardSet without(int typeIndex) {
+        long bit = 1L << typeIndex;
+        if ((twos & bit) != 0) {
+            return new CardSet(ones, twos & ~bit);
+        }
+        return new CardSet(ones & ~bit, twos);
+    }
+
+    public boolean contains(PlayingCard card) {
+        return contains(card.getTypeIndex());
+    }
+
+    public boolean contains(int typeIndex) {
+        return (ones & (1L << typeIndex)) != 0;
+    }
+
+    // Number of copies of the card type (0, 1 or 2)
+    public int count(int typeIndex) {
+        return (int) ((ones >>> typeIndex) & 1) + (int) ((twos >>> typeIndex) & 1);
+    }
+
+    public int count(PlayingCard card) {
+        return count(card.getTypeIndex());
+    }
+
+    /**
+     * Whole set operations
+     */
+
+    public int size() {
+        return Long.bitCount(ones) + Long.bitCount(twos);
+    }
+
+    public boolean isEmpty() {
+        return ones == 0;
+    }
+
+    // Every card of the other set (with its copies) is in this set
+    public boolean containsAll(CardSet other) {
+        return (other.ones & ~ones) == 0 && (other.twos & ~twos) == 0;
+    }
+
+    // Remove one copy for every copy in the other set
+    public CardSet minus(CardSet other) {
+        long newOnes = (ones & ~other.ones) | (twos & other.ones & ~other.twos);
+        long newTwos = twos & ~other.ones;
+        return new CardSet(newOnes, newTwos);
+    }
+
+    // Add the other set, at most two copies are kept
+    public CardSet plus(CardSet other) {
+        long newOnes = ones | other.ones;
+        long newTwos = twos | other.twos | (ones & other.ones);
+        return new CardSet(newOnes, newTwos);
+    }
+
+    // Only the cards of one suit
+    public CardSet suit(int suitIndex) {
+        long mask = suitMask(suitIndex);
+        return new CardSet(ones & mask, twos & mask);
+    }
+
+    public CardSet suit(String suitShortHand) {
+        int suitIndex = suitIndex(suitShortHand);
+        return suitIndex < 0 ? EMPTY : suit(suitIndex);
+    }
+
+    public int countInSuit(int suitIndex) {
+        return countIn(suitMask(suitIndex));
+    }
+
+    // Number of cards (with their copies) whose type bit is in the mask
+    public int countIn(long typeMask) {
+        return Long.bitCount(ones & typeMask) + Long.bitCount(twos & typeMask);
+    }
+
+    // The bits of one suit in a lane
+    public static long suitMask(int suitIndex) {
+        return SUIT_MASK << (suitIndex * RANK_COUNT);
+    }
+
+    // Bits of the card types with at least one copy
+    public long typeMask() {
+        return ones;
+    }
+
+    /**
+     Iterate over the card types with at least one copy:
+     for (int i = set.nextType(0); i >= 0; i = set.nextType(i + 1))
+     */
+    public int nextType(int fromIndex) {
+        if (fromIndex >= TYPE_COUNT) {
+            return -1;
+        }
+        long remaining = ones & (LANE_MASK << fromIndex) & LANE_MASK;
+        return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    // Both lanes in one long, the same set always gives the same value
+    public long asLong() {
+        return ones | (twos << TWOS_SHIFT);
+    }
+
+    // One card of every copy in the set, the first copy before the second
+    public List<PlayingCard> toCards() {
+        List<PlayingCard> cards = new ArrayList<>(size());
+        for (int i = nextType(0); i >= 0; i = nextType(i + 1)) {
+            int suitIndex = suitIndexOf(i);
+            Rank rank = rankOf(i);
+            cards.add(PlayingCard.of(Suit.of(suitIndex, 0), rank));
+            if (count(i) == MAX_COPIES) {
+                cards.add(PlayingCard.of(Suit.of(suitIndex, 1), rank));
+            }
+        }
+        return cards;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardSet other)) return false;
+        return ones == other.ones && twos == other.twos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(asLong());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = nextType(0); i >= 0; i = nextType(i + 1)) {
+            for (int c = 0; c < count(i); c++) {
+                if (sb.length() > 1) sb.append(",");
+                sb.append(rankOf(i).getCardLog()).append(suitShortHandOf(i));
+            }
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ A pure Java card of the Pinochle double deck
+
+ The JGameGrid Card needs a Deck, and a Deck needs a screen to load its sprites,
+ so nothing that uses it can run without a window. This class carries exactly the
+ information the rules need (suit and rank) and nothing else
+
+ There are only 48 different cards (8 suit constants x 6 ranks, the "TWO" suits
+ are the second copy), so every card is created once and shared. The ordinal
+ follows the order of Deck.toHand(), which keeps dealing and sorting identical
+ to the JGameGrid version
+ */
+public final class PlayingCard implements Comparable<PlayingCard> {
+    public static final int DECK_SIZE = Suit.values().length * Rank.values().length;
+
+    private static final PlayingCard[] CARDS = createAllCards();
+
+    private final Suit suit;
+    private final Rank rank;
+    private final int ordinal;
+    private final int typeIndex;
+    // The suit as the rules see it (both copies alike)
+    private final int suitIndex;
+    // The names are asked for all the time by the AI and the log, build them once
+    private final String cardLog;
+    private final String cardName;
+
+    private PlayingCard(Suit suit, Rank rank, int ordinal) {
+        this.suit = suit;
+        this.rank = rank;
+        this.ordinal = ordinal;
+        this.typeIndex = CardSet.typeIndex(suit, rank);
+        this.suitIndex = suit.getSuitIndex();
+        this.cardLog = rank.getCardLog() + suit.getSuitShortHand();
+        this.cardName = rank.getRankCardValue() + suit.getSuitShortHand();
+    }
+
+    private static PlayingCard[] createAllCards() {
+        PlayingCard[] cards = new PlayingCard[DECK_SIZE];
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                int ordinal = suit.ordinal() * Rank.values().length + rank.ordinal();
+                cards[ordinal] = new PlayingCard(suit, rank, ordinal);
+            }
+        }
+        return cards;
+    }
+
+    // Get the shared instance of a card
+    public static PlayingCard of(Suit suit, Rank rank) {
+        return CARDS[suit.ordinal() * Rank.values().length + rank.ordinal()];
+    }
+
+    public static PlayingCard fromOrdinal(int ordinal) {
+        return CARDS[ordinal];
+    }
+
+    // All 48 cards in the same order as a freshly created JGameGrid deck
+    public static List<PlayingCard> fullDeck() {
+        List<PlayingCard> deck = new ArrayList<>(DECK_SIZE);
+        Collections.addAll(deck, CARDS);
+        return deck;
+    }
+
+    /**
+     Find the first card in the list with the given log name
+     Same behaviour as the original getCardFromList: the two copies of a card
+     are interchangeable, so the first one found is used
+     @param cards the cards to search
+     @param cardLog the log name, such as "13H" or "1S"
+     @return the card, or null if there is no such card
+     */
+    public static PlayingCard findByCardLog(List<PlayingCard> cards, String cardLog) {
+        for (PlayingCard card : cards) {
+            if (card.getCardLog().equals(cardLog)) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    public Suit getSuit() {
+        return suit;
+    }
+
+    public Rank getRank() {
+        return rank;
+    }
+
+    public int ordinal() {
+        return ordinal;
+    }
+
+    // Same for both copies of a card, see CardSet
+    public int getTypeIndex() {
+        return typeIndex;
+    }
+
+    // S=0, H=1, D=2, C=3 for both copies, compare suits with this instead of the short hand
+    public int getSuitIndex() {
+        return suitIndex;
+    }
+
+    public String getSuitShortHand() {
+        return suit.getSuitShortHand();
+    }
+
+    public int getRankCardValue() {
+        return rank.getRankCardValue();
+    }
+
+    public boolean isSameSuit(PlayingCard other) {
+        return suitIndex == other.suitIndex;
+    }
+
+    // The name used by the game log, such as "13H"
+    public String getCardLog() {
+        return cardLog;
+    }
+
+    // The name used by the meld patterns and the AI, such as "3H"
+    public String getCardName() {
+        return cardName;
+    }
+
+    @Override
+    public int compareTo(PlayingCard other) {
+        return Integer.compare(ordinal, other.ordinal);
+    }
+
+    @Override
+    public String toString() {
+        return getCardLog();
+    }
+}
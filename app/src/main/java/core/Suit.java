@@ -1,10 +1,20 @@
 package core;
 
+/**
+ The JGameGrid deck needs a suit constant per copy of the cards, so every suit
+ is here twice ("SPADESTWO" is the second copy of the spades). The suit index
+ (S=0, H=1, D=2, C=3, the same as CardSet) is the same for both copies and is
+ what the rules compare, the short hand is only for the log and the properties
+ */
 public enum Suit {
     SPADES("S"), HEARTS("H"),
     DIAMONDS("D"), CLUBS("C"),
     SPADESTWO("S"), HEARTSTWO("H"),
     DIAMONDSTWO("D"), CLUBSTWO("C");
+    public static final int SUIT_COUNT = 4;
+    // values() copies the array on every call
+    private static final Suit[] VALUES = values();
+
     private String suitShortHand = "";
 
     Suit(String shortHand) {
@@ -14,4 +24,19 @@ public enum Suit {
     public String getSuitShortHand() {
         return suitShortHand;
     }
+
+    // The same for both copies of a suit
+    public int getSuitIndex() {
+        return ordinal() % SUIT_COUNT;
+    }
+
+    // 0 for the first copy, 1 for the "TWO" suits
+    public int getCopy() {
+        return ordinal() / SUIT_COUNT;
+    }
+
+    // The other way round, of(0, 1) gives SPADESTWO
+    public static Suit of(int suitIndex, int copy) {
+        return VALUES[copy * SUIT_COUNT + suitIndex];
+    }
 }
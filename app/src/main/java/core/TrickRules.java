@@ -0,0 +1,267 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ The trick taking rules of Pinochle, moved out of the Pinochle class
+ so that the headless engine, the GUI and the AI all use the same rules
+
+ Everything here is stateless, the trump suit is always passed in
+
+ The search based AI plays thousands of tricks per decision, so the same rules
+ are also written on card type indices (CardSet.typeIndex) and CardSet lanes,
+ where a hand is the long of its card types and a suit is its index (-1 for none).
+ Who wins a trick and what it is worth is worked out once for every trump and
+ pair of types, resolving a trick is then one array read (resolveTrick)
+ */
+public final class TrickRules {
+
+    // For every card type, the types of the same suit with a higher rankCardValue
+    private static final long[] HIGHER_IN_SUIT = createHigherInSuitMasks();
+
+    // The trick kernel: a resolved trick is (points << POINTS_SHIFT) | SECOND_WINS
+    private static final int SECOND_WINS = 1;
+    private static final int POINTS_SHIFT = 1;
+    private static final int TRUMP_ROWS = CardSet.SUIT_COUNT + 1; // no trump, then the four suits
+    private static final int TYPE_PAIRS = CardSet.TYPE_COUNT * CardSet.TYPE_COUNT;
+    // [trumpIndex + 1][type], the points of a card
+    private static final int[] TYPE_POINTS = createTypePoints();
+    // [trumpIndex + 1][leadType][followType], every trick of two cards, resolved once
+    private static final int[] TRICKS = createTricks();
+
+    private TrickRules() {
+    }
+
+    /**
+     Check whether the card can be played on the current trick
+     The player must play a higher card of the lead suit if they have one,
+     otherwise a trump card if they have one, otherwise any card
+     @param playingCard the card to be played
+     @param playerCards all the cards of the player
+     @param existingCards the cards already in the trick
+     @param trumpSuit the current trump suit
+     @return whether the card is a valid play
+     */
+    public static boolean checkValidTrick(PlayingCard playingCard,
+                                          List<PlayingCard> playerCards,
+                                          List<PlayingCard> existingCards,
+                                          String trumpSuit) {
+        if (existingCards.isEmpty()) {
+            return true;
+        }
+        // The card counts as part of the hand, as it always did
+        long handTypes = typeMaskOf(playerCards) | (1L << playingCard.getTypeIndex());
+        long legal = legalTypes(handTypes, existingCards.get(0).getTypeIndex(), CardSet.suitIndex(trumpSuit));
+        return isLegal(playingCard, legal);
+    }
+
+    /**
+     The legal move generator: every card type of the hand that can be played on the trick
+     One pass over the hand (none for a CardList, it knows its types), then a few
+     mask operations. Nothing is allocated, the engine, the AI adapter and the
+     search strategies all get their legal moves from here
+     @param hand the cards of the player
+     @param trick the cards already in the trick
+     @param trumpSuit the current trump suit, null before it is chosen
+     @return the playable types, see isLegal and legalCards
+     */
+    public static long legalTypes(List<PlayingCard> hand, List<PlayingCard> trick, String trumpSuit) {
+        int leadType = trick.isEmpty() ? -1 : trick.get(0).getTypeIndex();
+        return legalTypes(typeMaskOf(hand), leadType, CardSet.suitIndex(trumpSuit));
+    }
+
+    public static boolean isLegal(PlayingCard card, long legalTypes) {
+        return (legalTypes & (1L << card.getTypeIndex())) != 0;
+    }
+
+    /**
+     The cards of the hand that are legal, in the order of the hand
+     @return the hand itself when every card is legal
+     */
+    public static List<PlayingCard> legalCards(List<PlayingCard> hand, long legalTypes) {
+        if ((typeMaskOf(hand) & ~legalTypes) == 0) {
+            return hand;
+        }
+        List<PlayingCard> legalCards = new ArrayList<>(Long.bitCount(legalTypes) * CardSet.MAX_COPIES);
+        for (int i = 0; i < hand.size(); i++) {
+            PlayingCard card = hand.get(i);
+            if (isLegal(card, legalTypes)) {
+                legalCards.add(card);
+            }
+        }
+        return legalCards;
+    }
+
+    // The types in the cards, without going through an iterator
+    private static long typeMaskOf(List<PlayingCard> cards) {
+        if (cards instanceof CardList) {
+            return ((CardList) cards).getCardSet().typeMask();
+        }
+        long mask = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= 1L << cards.get(i).getTypeIndex();
+        }
+        return mask;
+    }
+
+    /**
+     Decide who wins a trick of two cards
+     @return true if the second card wins the trick
+     */
+    public static boolean doesSecondCardWin(PlayingCard leadCard, PlayingCard followCard, String trumpSuit) {
+        return isSecondWinner(resolveTrick(leadCard, followCard, CardSet.suitIndex(trumpSuit)));
+    }
+
+    // Points of a card won in a trick, the nine of trump is worth NINE_TRUMP
+    public static int getCardPoints(PlayingCard card, String trumpSuit) {
+        return getTypePoints(card.getTypeIndex(), CardSet.suitIndex(trumpSuit));
+    }
+
+    public static int getTrickPoints(List<PlayingCard> cards, String trumpSuit) {
+        int row = (CardSet.suitIndex(trumpSuit) + 1) * CardSet.TYPE_COUNT;
+        int points = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            points += TYPE_POINTS[row + cards.get(i).getTypeIndex()];
+        }
+        return points;
+    }
+
+    public static boolean isTrump(PlayingCard card, String trumpSuit) {
+        return card.getSuitIndex() == CardSet.suitIndex(trumpSuit);
+    }
+
+    // The same with the suit index of the trump, -1 for none
+    public static boolean isTrump(PlayingCard card, int trumpIndex) {
+        return card.getSuitIndex() == trumpIndex;
+    }
+
+    /**
+     * The same rules on card type indices
+     */
+
+    /**
+     The card types of the hand that can be played on the trick, same rule as checkValidTrick
+     @param handTypes the types in the hand (CardSet.typeMask)
+     @param leadType the type of the card already in the trick, -1 when leading
+     @param trumpIndex the suit index of the trump, -1 for none
+     @return the playable types, a subset of handTypes
+     */
+    public static long legalTypes(long handTypes, int leadType, int trumpIndex) {
+        if (leadType < 0) {
+            return handTypes;
+        }
+        // A higher card of the lead suit has to be played if there is one
+        long higher = handTypes & HIGHER_IN_SUIT[leadType];
+        if (higher != 0) {
+            return higher;
+        }
+        if (trumpIndex < 0 || CardSet.suitIndexOf(leadType) == trumpIndex) {
+            return handTypes;
+        }
+        // Otherwise a trump if there is one
+        long trumps = handTypes & CardSet.suitMask(trumpIndex);
+        return trumps != 0 ? trumps : handTypes;
+    }
+
+    /**
+     Resolve a trick of two cards with one table lookup
+     @param leadType the type of the card played first
+     @param followType the type of the card played second
+     @param trumpIndex the suit index of the trump, -1 for none
+     @return the resolved trick, read it with isSecondWinner and trickPoints
+     */
+    public static int resolveTrick(int leadType, int followType, int trumpIndex) {
+        return TRICKS[(trumpIndex + 1) * TYPE_PAIRS + leadType * CardSet.TYPE_COUNT + followType];
+    }
+
+    public static int resolveTrick(PlayingCard leadCard, PlayingCard followCard, int trumpIndex) {
+        return resolveTrick(leadCard.getTypeIndex(), followCard.getTypeIndex(), trumpIndex);
+    }
+
+    // Whether the second card won the resolved trick
+    public static boolean isSecondWinner(int trick) {
+        return (trick & SECOND_WINS) != 0;
+    }
+
+    // The points of both cards of the resolved trick, with the nine of trump bonus
+    public static int trickPoints(int trick) {
+        return trick >>> POINTS_SHIFT;
+    }
+
+    // Same as doesSecondCardWin
+    public static boolean doesSecondTypeWin(int leadType, int followType, int trumpIndex) {
+        return isSecondWinner(resolveTrick(leadType, followType, trumpIndex));
+    }
+
+    // Same as getCardPoints
+    public static int getTypePoints(int typeIndex, int trumpIndex) {
+        return TYPE_POINTS[(trumpIndex + 1) * CardSet.TYPE_COUNT + typeIndex];
+    }
+
+    // The types of the same suit that beat the card type
+    public static long higherInSuitMask(int typeIndex) {
+        return HIGHER_IN_SUIT[typeIndex];
+    }
+
+    // The rules the tables are built from
+    private static int computeTypePoints(int typeIndex, int trumpIndex) {
+        Rank rank = CardSet.rankOf(typeIndex);
+        if (rank == Rank.NINE && CardSet.suitIndexOf(typeIndex) == trumpIndex) {
+            return Rank.NINE_TRUMP;
+        }
+        return rank.getScoreValue();
+    }
+
+    private static boolean computeSecondWins(int leadType, int followType, int trumpIndex) {
+        if ((HIGHER_IN_SUIT[leadType] & (1L << followType)) != 0) {
+            return true;
+        }
+        int followSuit = CardSet.suitIndexOf(followType);
+        return followSuit == trumpIndex && CardSet.suitIndexOf(leadType) != trumpIndex;
+    }
+
+    private static int[] createTypePoints() {
+        int[] points = new int[TRUMP_ROWS * CardSet.TYPE_COUNT];
+        for (int trump = -1; trump < CardSet.SUIT_COUNT; trump++) {
+            for (int type = 0; type < CardSet.TYPE_COUNT; type++) {
+                points[(trump + 1) * CardSet.TYPE_COUNT + type] = computeTypePoints(type, trump);
+            }
+        }
+        return points;
+    }
+
+    private static int[] createTricks() {
+        int[] tricks = new int[TRUMP_ROWS * TYPE_PAIRS];
+        for (int trump = -1; trump < CardSet.SUIT_COUNT; trump++) {
+            for (int lead = 0; lead < CardSet.TYPE_COUNT; lead++) {
+                for (int follow = 0; follow < CardSet.TYPE_COUNT; follow++) {
+                    int points = computeTypePoints(lead, trump) + computeTypePoints(follow, trump);
+                    tricks[(trump + 1) * TYPE_PAIRS + lead * CardSet.TYPE_COUNT + follow] =
+                            (points << POINTS_SHIFT) | (computeSecondWins(lead, follow, trump) ? SECOND_WINS : 0);
+                }
+            }
+        }
+        return tricks;
+    }
+
+    private static long[] createHigherInSuitMasks() {
+        long[] masks = new long[CardSet.TYPE_COUNT];
+        for (int type = 0; type < CardSet.TYPE_COUNT; type++) {
+            int suit = CardSet.suitIndexOf(type);
+            int rankValue = CardSet.rankOf(type).getRankCardValue();
+            for (Rank rank : Rank.values()) {
+                if (rank.getRankCardValue() > rankValue) {
+                    masks[type] |= 1L << CardSet.typeIndex(suit, rank);
+                }
+            }
+        }
+        return masks;
+    }
+}
@@ -6,7 +6,9 @@
  */
 package data;
 
-import ch.aplu.jcardgame.*;
+import core.CardList;
+import core.CardSet;
+import core.PlayingCard;
 import java.util.*;
 
 /**
@@ -14,44 +16,88 @@ import java.util.*;
 * AI module to obtain the state of the current system moment in order to make decisions
 *
 * This is the data packet of data communication
+*
+* It only holds pure card data (no JGameGrid Hand), so the same snapshot works
+* for the GUI game and for the headless engine
+*
+* A snapshot is immutable and only holds immutable parts: the card lists are
+* CardLists and the scores array is never written. The engine keeps its state in
+* the same parts and replaces a part when it changes, so its snapshot is a view
+* that costs one object and can be handed to worker threads as it is.
+* The version counts the changes of the game state the snapshot was taken from
 */
-public class GameDataSnapshot {
-    private final Hand[] hands;
-    private final List<Card> allPlayedCards;
+public final class GameDataSnapshot {
+    private final CardList[] hands;
+    private final CardList allPlayedCards;
     private final String trumpSuit;
     private final int currentBid;
     private final int[] scores;
-    private final Hand playingArea;
+    private final CardList currentTrick;
     private final int packSize;
     private final int bidWinnerIndex;
+    private final long version;
 
-    public GameDataSnapshot(Hand[] hands, List<Card> allPlayedCards,
+    // Copies the given cards, for a snapshot that is not taken from the engine
+    public GameDataSnapshot(List<List<PlayingCard>> hands, List<PlayingCard> allPlayedCards,
                             String trumpSuit, int currentBid, int[] scores,
-                            Hand playingArea,
+                            List<PlayingCard> currentTrick,
                             int packSize,
                             int bidWinnerIndex) {
-        this.hands = Arrays.copyOf(hands, hands.length);
-        this.allPlayedCards = new ArrayList<>(allPlayedCards != null ? allPlayedCards : new ArrayList<>());
+        this(copyHands(hands), CardList.copyOf(allPlayedCards), trumpSuit, currentBid,
+                Arrays.copyOf(scores, scores.length), CardList.copyOf(currentTrick), packSize, bidWinnerIndex, 0);
+    }
+
+    private GameDataSnapshot(CardList[] hands, CardList allPlayedCards, String trumpSuit, int currentBid,
+                             int[] scores, CardList currentTrick, int packSize, int bidWinnerIndex, long version) {
+        this.hands = hands;
+        this.allPlayedCards = allPlayedCards;
         this.trumpSuit = trumpSuit;
         this.currentBid = currentBid;
-        this.scores = Arrays.copyOf(scores, scores.length);
-        this.playingArea = playingArea;
+        this.scores = scores;
+        this.currentTrick = currentTrick;
         this.packSize = packSize;
         this.bidWinnerIndex = bidWinnerIndex;
+        this.version = version;
+    }
+
+    /**
+     A snapshot that shares the given parts, nothing is copied
+     The caller must never change the hands or scores arrays afterwards,
+     the engine replaces them instead
+     */
+    public static GameDataSnapshot view(CardList[] hands, CardList allPlayedCards, String trumpSuit,
+                                        int currentBid, int[] scores, CardList currentTrick,
+                                        int packSize, int bidWinnerIndex, long version) {
+        return new GameDataSnapshot(hands, allPlayedCards, trumpSuit, currentBid, scores, currentTrick,
+                packSize, bidWinnerIndex, version);
+    }
+
+    private static CardList[] copyHands(List<List<PlayingCard>> hands) {
+        CardList[] copies = new CardList[hands.size()];
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = CardList.copyOf(hands.get(i));
+        }
+        return copies;
     }
 
     public int getPackSize() { return packSize; }
     public int getBidWinnerIndex() { return bidWinnerIndex; }
+    public long getVersion() { return version; }
 
-    public List<Card> getPlayerHand(int playerIndex) {
+    public int getNumberOfPlayers() {
+        return hands.length;
+    }
+
+    // The lists below can not be changed, copy them to change them
+    public List<PlayingCard> getPlayerHand(int playerIndex) {
         if (playerIndex < 0 || playerIndex >= hands.length) {
-            return new ArrayList<>();
+            return CardList.EMPTY;
         }
-        return hands[playerIndex].getCardList();
+        return hands[playerIndex];
     }
 
-    public List<Card> getAllPlayedCards() {
-        return new ArrayList<>(allPlayedCards);
+    public List<PlayingCard> getAllPlayedCards() {
+        return allPlayedCards;
     }
 
     public String getTrumpSuit() {
@@ -69,19 +115,27 @@ public class GameDataSnapshot {
         return scores[playerIndex];
     }
 
-    public List<Card> getCurrentTrick() {
-        return playingArea != null ? playingArea.getCardList() : new ArrayList<>();
-    }
-
-    public Hand[] getHands() {
-        return Arrays.copyOf(hands, hands.length);
+    public List<PlayingCard> getCurrentTrick() {
+        return currentTrick;
     }
 
     public int[] getScores() {
         return Arrays.copyOf(scores, scores.length);
     }
 
-    public Hand getPlayingArea() {
-        return playingArea;
+    /**
+     * The same cards as bitsets, kept up to date with the lists
+     */
+
+    public CardSet getPlayerCardSet(int playerIndex) {
+        return playerIndex < 0 || playerIndex >= hands.length ? CardSet.EMPTY : hands[playerIndex].getCardSet();
+    }
+
+    public CardSet getPlayedCardSet() {
+        return allPlayedCards.getCardSet();
+    }
+
+    public CardSet getCurrentTrickCardSet() {
+        return currentTrick.getCardSet();
     }
-}
\ No newline at end of file
+}
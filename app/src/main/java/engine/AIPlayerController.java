@@ -0,0 +1,88 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import ai.GameAI;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+import protocolframework.DecisionType;
+import protocolframework.Request.BidRequest;
+import protocolframework.Request.GeneralCardDecisionRequest;
+import protocolframework.decision.BidDecision;
+import protocolframework.decision.GeneralCardDecision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ Adapter between the engine and the general AI
+
+ Every engine question is translated into the universal request protocol,
+ and the returned decision (indices into the offered cards) is translated back
+ */
+public class AIPlayerController implements PlayerController {
+    private final GameAI gameAI;
+
+    public AIPlayerController(GameAI gameAI) {
+        this.gameAI = gameAI;
+    }
+
+    @Override
+    public int requestBid(GameDataSnapshot snapshot, int playerIndex, int currentBid) {
+        BidDecision decision = gameAI.makeDecision(
+                new BidRequest(snapshot, playerIndex, currentBid, currentBid == 0));
+        return decision.shouldPass() ? 0 : decision.getBidAmount();
+    }
+
+    @Override
+    public String requestTrump(GameDataSnapshot snapshot, int playerIndex) {
+        // Just want to know the trump suit
+        BidDecision decision = gameAI.makeDecision(
+                new BidRequest(snapshot, playerIndex, 0, false));
+        return decision.getRecommendedTrumpSuit();
+    }
+
+    @Override
+    public PlayingCard requestCardPlay(GameDataSnapshot snapshot, int playerIndex, List<PlayingCard> hand) {
+        // The AI only gets the cards it may play, so no strategy can pick an illegal one
+        List<PlayingCard> legalCards = TrickRules.legalCards(hand,
+                TrickRules.legalTypes(hand, snapshot.getCurrentTrick(), snapshot.getTrumpSuit()));
+        GeneralCardDecision decision = gameAI.makeDecision(
+                new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_PLAY, playerIndex, legalCards));
+        return legalCards.get(decision.getSelectedIndices().get(0));
+    }
+
+    @Override
+    public int requestRevealedCardChoice(GameDataSnapshot snapshot, int playerIndex,
+                                         List<PlayingCard> revealedCards) {
+        GeneralCardDecision decision = gameAI.makeDecision(
+                new GeneralCardDecisionRequest(snapshot, DecisionType.REVEALED_CARD_SELECTION,
+                        playerIndex, revealedCards));
+        List<Integer> indices = decision.getSelectedIndices();
+        return indices.isEmpty() ? 0 : indices.get(0);
+    }
+
+    @Override
+    public List<PlayingCard> requestDiscards(GameDataSnapshot snapshot, int playerIndex,
+                                             List<PlayingCard> hand, int discardCount) {
+        GeneralCardDecision decision = gameAI.makeDecision(
+                new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_DISCARD, playerIndex, hand));
+
+        List<PlayingCard> discards = new ArrayList<>();
+        for (int index : decision.getSelectedIndices()) {
+            if (index >= 0 && index < hand.size()) {
+                discards.add(hand.get(index));
+            }
+        }
+        return discards;
+    }
+
+    public GameAI getGameAI() {
+        return gameAI;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import core.PlayingCard;
+import data.GameDataSnapshot;
+
+import java.util.List;
+
+/**
+ The cut-throat mode for the headless engine
+
+ The card moves go straight to the engine and the choices are asked to the
+ controllers of the seats, so the mode runs without a window
+ */
+public class CutThroatPhaseHook implements PhaseHook {
+    private final PlayerController[] controllers;
+
+    public CutThroatPhaseHook(PlayerController[] controllers) {
+        this.controllers = controllers;
+    }
+
+    @Override
+    public void onPhase(EnginePhase phase, PinochleEngine engine) {
+        switch (phase) {
+            case POST_BIDDING -> new CutThroatRules(new EngineTable(engine)).revealAndDistribute();
+            case PRE_MELDING -> new CutThroatRules(new EngineTable(engine)).selectFinalCards();
+            default -> {
+            }
+        }
+    }
+
+    private class EngineTable implements CutThroatRules.Table {
+        private final PinochleEngine engine;
+
+        EngineTable(PinochleEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public PlayingCard drawFromPack() {
+            return engine.drawFromPack();
+        }
+
+        @Override
+        public PlayingCard drawFromPack(String cardLog) {
+            return engine.drawFromPack(cardLog);
+        }
+
+        @Override
+        public void addCardToHand(PlayingCard card, int playerIndex) {
+            engine.addCardToHand(card, playerIndex);
+        }
+
+        @Override
+        public void removeCardFromHand(PlayingCard card, int playerIndex) {
+            engine.removeCardFromHand(card, playerIndex);
+        }
+
+        @Override
+        public GameDataSnapshot getSnapshot() {
+            return engine.createSnapshot();
+        }
+
+        @Override
+        public String getProperty(String key, String defaultValue) {
+            return engine.getProperties().getProperty(key, defaultValue);
+        }
+
+        @Override
+        public int requestRevealedCardChoice(int playerIndex, List<PlayingCard> revealedCards) {
+            return controllers[playerIndex].requestRevealedCardChoice(
+                    engine.createSnapshot(), playerIndex, revealedCards);
+        }
+
+        @Override
+        public List<PlayingCard> requestDiscards(int playerIndex, List<PlayingCard> hand, int discardCount) {
+            return controllers[playerIndex].requestDiscards(
+                    engine.createSnapshot(), playerIndex, hand, discardCount);
+        }
+    }
+}
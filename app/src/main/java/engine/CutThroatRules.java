@@ -0,0 +1,225 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import core.PlayingCard;
+import data.GameDataSnapshot;
+
+import java.util.*;
+
+/**
+ The business logic of the cut-throat mode, without any display
+
+ After the bidding the dealer flips the top two cards of the pack, the bid winner
+ keeps one and the dealer gets the other, then the rest of the pack is dealt and
+ every player throws away cards until 12 are left
+
+ The rules only talk to a Table. The GUI plugin (CutThroatGameMode) implements the
+ Table through its service proxy, the headless engine through CutThroatPhaseHook,
+ so both versions of the game share exactly the same dealing logic
+ */
+public class CutThroatRules {
+    public static final int PLAYER_COUNT = 2;
+    public static final int MAX_HAND_SIZE = 12;
+
+    /**
+     The services the cut-throat rules need from the game
+     */
+    public interface Table {
+        PlayingCard drawFromPack();
+
+        // Search and remove from the pack based on the card log name
+        PlayingCard drawFromPack(String cardLog);
+
+        void addCardToHand(PlayingCard card, int playerIndex);
+
+        void removeCardFromHand(PlayingCard card, int playerIndex);
+
+        GameDataSnapshot getSnapshot();
+
+        String getProperty(String key, String defaultValue);
+
+        // Ask the bid winner which revealed card to keep
+        int requestRevealedCardChoice(int playerIndex, List<PlayingCard> revealedCards);
+
+        // Ask the player which cards to throw away
+        List<PlayingCard> requestDiscards(int playerIndex, List<PlayingCard> hand, int discardCount);
+
+        default void showRevealedCards(List<PlayingCard> revealedCards) {}
+
+        default void updateStatus(String message) {}
+    }
+
+    private final Table table;
+    private final Map<String, Integer> revealedCardOwners = new HashMap<>();
+
+    public CutThroatRules(Table table) {
+        this.table = table;
+    }
+
+    // Carry out the card-flipping selection and distribution process
+    public void revealAndDistribute() {
+        int bidWinnerIndex = table.getSnapshot().getBidWinnerIndex();
+        int dealerIndex = 1 - bidWinnerIndex;
+
+        table.updateStatus("Dealer (Player " + dealerIndex + ") flipping top two cards...");
+        List<PlayingCard> revealedCards = drawTwoCardsFromPack();
+        table.showRevealedCards(revealedCards);
+
+        if (revealedCards.size() == 2) {
+            if (isAutoMode() && hasExtraCardsConfig()) {
+                distributeCardsByConfig(revealedCards);
+            } else {
+                distributeCardsByChoice(revealedCards, bidWinnerIndex);
+            }
+        }
+
+        // Distribute the remaining pile of cards
+        if (isAutoMode()) {
+            distributeByConfiguration(bidWinnerIndex);
+        } else {
+            distributeAlternately(bidWinnerIndex);
+        }
+
+        table.updateStatus("Cut-throat distribution phase completed!");
+    }
+
+    // Every player with more than 12 cards throws away the extra cards
+    public void selectFinalCards() {
+        table.updateStatus("Each player must now select their best 12 cards...");
+
+        for (int playerIndex = 0; playerIndex < PLAYER_COUNT; playerIndex++) {
+            List<PlayingCard> playerCards = table.getSnapshot().getPlayerHand(playerIndex);
+            int discardCount = playerCards.size() - MAX_HAND_SIZE;
+            if (discardCount <= 0) {
+                continue;
+            }
+
+            table.updateStatus("Player " + playerIndex + " is selecting final cards...");
+            for (PlayingCard card : table.requestDiscards(playerIndex, playerCards, discardCount)) {
+                table.removeCardFromHand(card, playerIndex);
+            }
+        }
+
+        table.updateStatus("CUT-THROAT MODE COMPLETED");
+    }
+
+    public void reset() {
+        revealedCardOwners.clear();
+    }
+
+    private List<PlayingCard> drawTwoCardsFromPack() {
+        List<PlayingCard> drawnCards = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            PlayingCard card = table.drawFromPack();
+            if (card != null) {
+                drawnCards.add(card);
+            }
+        }
+        return drawnCards;
+    }
+
+    // Select-driven card flipping distribution
+    private void distributeCardsByChoice(List<PlayingCard> revealedCards, int bidWinnerIndex) {
+        table.updateStatus("Cut-throat mode: Bid winner (Player " + bidWinnerIndex + ") choose one card");
+
+        int selectedIndex = table.requestRevealedCardChoice(bidWinnerIndex, revealedCards);
+        if (selectedIndex < 0 || selectedIndex >= revealedCards.size()) {
+            selectedIndex = 0;
+        }
+
+        table.addCardToHand(revealedCards.get(selectedIndex), bidWinnerIndex);
+        table.addCardToHand(revealedCards.get(1 - selectedIndex), 1 - bidWinnerIndex);
+        table.updateStatus("Player " + bidWinnerIndex + " received the selected card, Player "
+                + (1 - bidWinnerIndex) + " received the remaining card");
+    }
+
+    // Distribute the remaining piles of cards alternately
+    private void distributeAlternately(int startPlayerIndex) {
+        int currentPlayer = startPlayerIndex;
+        while (table.getSnapshot().getPackSize() > 0) {
+            PlayingCard card = table.drawFromPack();
+            if (card != null) {
+                table.addCardToHand(card, currentPlayer);
+                currentPlayer = (currentPlayer + 1) % PLAYER_COUNT;
+            }
+        }
+    }
+
+    private boolean isAutoMode() {
+        return "true".equals(table.getProperty("isAuto", "false"));
+    }
+
+    //===================================================
+    // JUST FOR CONFIG VERSION
+
+    //Read the original configuration (without filtering any cards)
+    private Map<Integer, List<String>> readPlayerExtraCards() {
+        Map<Integer, List<String>> playerCards = new TreeMap<>();
+
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            String extraCards = table.getProperty("players." + i + ".extra_cards", "");
+            if (!extraCards.isEmpty()) {
+                List<String> cleanedCardList = new ArrayList<>();
+                for (String card : extraCards.split(",")) {
+                    cleanedCardList.add(card.trim());
+                }
+                playerCards.put(i, cleanedCardList);
+            }
+        }
+        return playerCards;
+    }
+
+    private boolean hasExtraCardsConfig() {
+        return !readPlayerExtraCards().isEmpty();
+    }
+
+    // Distribute the remaining deck as configured
+    // only skip the revealed cards already given to that player
+    private void distributeByConfiguration(int bidWinnerIndex) {
+        Map<Integer, List<String>> playerExtraCards = readPlayerExtraCards();
+
+        for (Map.Entry<Integer, List<String>> entry : playerExtraCards.entrySet()) {
+            int playerIndex = entry.getKey();
+            for (String cardName : entry.getValue()) {
+                if (Objects.equals(revealedCardOwners.get(cardName), playerIndex)) {
+                    continue;
+                }
+                table.addCardToHand(table.drawFromPack(cardName), playerIndex);
+            }
+        }
+        distributeAlternately(bidWinnerIndex);
+    }
+
+    // Look for the card ownership in the configuration
+    private Integer findCardOwnerInConfig(String cardName, Map<Integer, List<String>> playerExtraCards) {
+        for (Map.Entry<Integer, List<String>> entry : playerExtraCards.entrySet()) {
+            if (entry.getValue().contains(cardName)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    //Configure the driver to distribute the two cards flipped out
+    //Record the specific ownership of each card
+    private void distributeCardsByConfig(List<PlayingCard> revealedCards) {
+        table.updateStatus("Distributing revealed cards by configuration...");
+        Map<Integer, List<String>> playerExtraCards = readPlayerExtraCards();
+
+        for (int i = 0; i < revealedCards.size(); i++) {
+            PlayingCard card = revealedCards.get(i);
+            String cardName = card.getCardLog();
+            Integer owner = findCardOwnerInConfig(cardName, playerExtraCards);
+            // Without a configured owner the first card goes to player 0, the second to player 1
+            int playerIndex = owner != null ? owner : i;
+
+            table.addCardToHand(card, playerIndex);
+            revealedCardOwners.put(cardName, playerIndex);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+/**
+ The phases of the headless state machine
+
+ The names follow GamePhase one to one, so the GUI can forward every
+ engine phase to the game mode plugins without a translation table
+ */
+public enum EnginePhase {
+    INITIALIZATION,
+    DEALING,
+    BIDDING,
+    POST_BIDDING,
+    TRUMP_SELECTION,
+    PRE_MELDING,
+    MELDING,
+    PRE_TRICK_TAKING,
+    TRICK_TAKING,
+    SCORING,
+    GAME_END
+}
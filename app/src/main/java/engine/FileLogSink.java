@@ -0,0 +1,104 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ Streams the game logs into a file, one line per game
+
+ A record is the usual text log with its line breaks written as '|', so a game
+ stays on one line and toGameLog() gives back the exact text. The log only has
+ ASCII characters, they are put into a direct buffer byte by byte and the buffer
+ goes to the FileChannel when it is full, no String is built per game
+
+ Several engines (simulation workers) can write into the same sink, a record is
+ always written as a whole. Close the sink to write what is left in the buffer
+ */
+public class FileLogSink implements GameLogSink {
+    public static final char LINE_SEPARATOR = '|';
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte RECORD_END = '\n';
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long gameCount = 0;
+
+    /**
+     @param file the log file
+     @param append keep the games already in the file, or start a new file
+     */
+    public FileLogSink(Path file, boolean append) throws IOException {
+        this.channel = append
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // The text log of one record (a line of the file, without the line end)
+    public static String toGameLog(String record) {
+        return record.replace(LINE_SEPARATOR, '\n');
+    }
+
+    @Override
+    public synchronized void writeGame(CharSequence gameLog) {
+        try {
+            for (int i = 0; i < gameLog.length(); i++) {
+                char c = gameLog.charAt(i);
+                put(c == '\n' ? (byte) LINE_SEPARATOR : c < 0x80 ? (byte) c : (byte) '?');
+            }
+            put(RECORD_END);
+            gameCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Game log could not be written", e);
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.put(b);
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public synchronized long getGameCount() {
+        return gameCount;
+    }
+
+    // Write the buffered games to the file
+    public synchronized void flush() {
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Game log could not be written", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            flushBuffer();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Game log could not be closed", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import core.PlayingCard;
+
+import java.util.List;
+
+/**
+ Observer of the engine
+
+ The engine never draws anything, it only tells its listeners what happened.
+ The GUI (Pinochle) is one listener that turns the events into actors and delays,
+ a simulation simply does not register one
+
+ All methods have an empty default so a listener only overrides what it renders
+ */
+public interface GameEventListener {
+
+    // The initial hands have been dealt
+    default void onDealt(PinochleEngine engine) {}
+
+    // The engine is about to ask the player for a decision in the given phase
+    default void onTurn(EnginePhase phase, int playerIndex) {}
+
+    // A player raised the bid by bidIncrement, 0 means the player passed
+    default void onBid(int playerIndex, int bidIncrement, int currentBid) {}
+
+    default void onBiddingFinished(int bidWinnerIndex, int currentBid) {}
+
+    default void onTrumpSelected(String trumpSuit) {}
+
+    // Card movements made by phase hooks (such as the cut-throat mode)
+    default void onCardDrawnFromPack(PlayingCard card) {}
+
+    default void onCardAddedToHand(PlayingCard card, int playerIndex) {}
+
+    default void onCardRemovedFromHand(PlayingCard card, int playerIndex) {}
+
+    default void onMeldScored(int playerIndex, int meldScore) {}
+
+    default void onCardPlayed(int playerIndex, PlayingCard card) {}
+
+    default void onTrickWon(int winnerIndex, List<PlayingCard> trick) {}
+
+    default void onGameOver(int[] finalScores, List<Integer> winners) {}
+}
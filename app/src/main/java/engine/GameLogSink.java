@@ -0,0 +1,32 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+/**
+ Where the engine sends the log of a finished game
+
+ The engine only builds the text log when its sink is enabled, so with the
+ NoOpLogSink a game pays nothing for logging. The text is the same as the
+ log the tests compare, and the sink gets it once per game, when the game is over
+
+ - NoOpLogSink      logging off, for bulk simulations
+ - InMemoryLogSink  keeps the logs as strings (the default of the engine)
+ - FileLogSink      streams the games into a file, one line per game
+ */
+public interface GameLogSink extends AutoCloseable {
+
+    // False if the engine should not build the log at all
+    default boolean isEnabled() {
+        return true;
+    }
+
+    // The whole log of one game, in the usual text format
+    void writeGame(CharSequence gameLog);
+
+    @Override
+    default void close() {}
+}
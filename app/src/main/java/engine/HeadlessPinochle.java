@@ -0,0 +1,75 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import ai.AIBuilder;
+import ai.GameAI;
+import meld.MeldAnalyzer;
+
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ Run one Pinochle game without any window
+
+ It reads the same properties as the GUI game and produces the same log:
+ the AI is built by the AIBuilder, "isAuto" turns both seats into scripted
+ players and "mode.cutthroat" adds the cut-throat hook
+
+ The deal and every random draw of the AI come from the seed, so one seed
+ always gives the same log, as long as the AI has no time limit
+ */
+public class HeadlessPinochle {
+    public static final int DEFAULT_SEED = 30008;
+
+    private final Properties properties;
+    private final MeldAnalyzer meldAnalyzer;
+    private final GameAI computerAI;
+    private final long seed;
+    private final Random random;
+    private final PinochleEngine engine;
+
+    public HeadlessPinochle(Properties properties) {
+        this(properties, DEFAULT_SEED);
+    }
+
+    public HeadlessPinochle(Properties properties, long seed) {
+        this.properties = properties;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.meldAnalyzer = new MeldAnalyzer("melds.json", properties);
+        this.computerAI = new AIBuilder(properties, meldAnalyzer)
+                .configureFromProperties()
+                .build();
+        this.engine = new PinochleEngine(properties, meldAnalyzer, random);
+    }
+
+    // Both seats are played by the computer AI, or by the script in auto mode
+    public String runApp() {
+        PlayerController[] controllers = new PlayerController[PinochleEngine.NB_PLAYERS];
+        boolean isAuto = Boolean.parseBoolean(properties.getProperty("isAuto"));
+        for (int i = 0; i < controllers.length; i++) {
+            PlayerController aiController = new AIPlayerController(computerAI);
+            controllers[i] = isAuto ? new ScriptedPlayerController(properties, i, aiController) : aiController;
+        }
+
+        if (Boolean.parseBoolean(properties.getProperty("mode.cutthroat", "false"))) {
+            engine.addPhaseHook(new CutThroatPhaseHook(controllers));
+        }
+
+        computerAI.reseed(seed);
+        return engine.play(controllers);
+    }
+
+    public PinochleEngine getEngine() {
+        return engine;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+}
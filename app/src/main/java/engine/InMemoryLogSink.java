@@ -0,0 +1,32 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ Keeps the log of every game as a string, for the GUI, the tests and small runs
+ Safe to share between engines on several threads
+ */
+public class InMemoryLogSink implements GameLogSink {
+    private final List<String> gameLogs = new ArrayList<>();
+
+    @Override
+    public synchronized void writeGame(CharSequence gameLog) {
+        gameLogs.add(gameLog.toString());
+    }
+
+    public synchronized List<String> getGameLogs() {
+        return new ArrayList<>(gameLogs);
+    }
+
+    // The log of the last game, empty if no game has finished
+    public synchronized String getLastGameLog() {
+        return gameLogs.isEmpty() ? "" : gameLogs.get(gameLogs.size() - 1);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ Hands the moves of a player over to the game thread, one at a time
+
+ The game thread asks for the next move with request() and parks on the
+ future. Whoever produces the moves completes it:
+ - offer(value) answers only a request that is open, for input that makes no
+   sense at another moment (a click of the GUI)
+ - submit(value) also keeps the value for the next request, so a script or
+   a test can hand over its moves before the game asks for them
+
+ Nothing polls: the game thread sleeps until the move is there and wakes up
+ as soon as it is
+ */
+public class InputChannel<T> {
+    private final Deque<T> queued = new ArrayDeque<>();
+    private CompletableFuture<T> waiting;
+
+    /**
+     Open a request for the next move
+     Open it before the input can arrive (before the buttons are shown), so no click is missed
+     @return completes with the move, at once if one was submitted already
+     */
+    public synchronized CompletableFuture<T> request() {
+        if (waiting != null) {
+            waiting.cancel(false);
+        }
+        CompletableFuture<T> move = new CompletableFuture<>();
+        T next = queued.poll();
+        if (next != null) {
+            move.complete(next);
+        } else {
+            waiting = move;
+        }
+        return move;
+    }
+
+    // Answer the open request, false (and the value is dropped) if there is none
+    public boolean offer(T value) {
+        CompletableFuture<T> move = take();
+        return move != null && move.complete(value);
+    }
+
+    // Answer the open request, or keep the value for the next one
+    public void submit(T value) {
+        CompletableFuture<T> move;
+        synchronized (this) {
+            move = take();
+            if (move == null) {
+                queued.add(value);
+                return;
+            }
+        }
+        move.complete(value);
+    }
+
+    public synchronized boolean isWaiting() {
+        return waiting != null;
+    }
+
+    // Give up the open request, the parked game thread gets a CancellationException
+    public void cancel() {
+        CompletableFuture<T> move = take();
+        if (move != null) {
+            move.cancel(false);
+        }
+    }
+
+    private synchronized CompletableFuture<T> take() {
+        CompletableFuture<T> move = waiting;
+        waiting = null;
+        return move;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ A seat whose moves come in from outside: the GUI, a script, another thread
+
+ Every question of the engine opens a request on the InputChannel of its
+ kind and parks the game thread until the move is handed over. The channels
+ can be fed by anything: the GUI offers the clicks, a test or a script
+ submits its moves, even before they are asked for
+
+ Subclasses show the question through the on...Requested hooks. The hook is
+ called once the request is open, so an answer given at once is not missed
+ */
+public class InputPlayerController implements PlayerController {
+    private final InputChannel<Integer> bids = new InputChannel<>();
+    private final InputChannel<String> trumps = new InputChannel<>();
+    private final InputChannel<PlayingCard> cards = new InputChannel<>();
+    private final InputChannel<Integer> revealedChoices = new InputChannel<>();
+    private final InputChannel<List<PlayingCard>> discards = new InputChannel<>();
+
+    // The amount added to the bid, 0 to pass
+    public InputChannel<Integer> getBids() {
+        return bids;
+    }
+
+    public InputChannel<String> getTrumps() {
+        return trumps;
+    }
+
+    public InputChannel<PlayingCard> getCards() {
+        return cards;
+    }
+
+    public InputChannel<Integer> getRevealedChoices() {
+        return revealedChoices;
+    }
+
+    public InputChannel<List<PlayingCard>> getDiscards() {
+        return discards;
+    }
+
+    @Override
+    public int requestBid(GameDataSnapshot snapshot, int playerIndex, int currentBid) {
+        CompletableFuture<Integer> bid = bids.request();
+        onBidRequested(snapshot, playerIndex, currentBid);
+        return bid.join();
+    }
+
+    @Override
+    public String requestTrump(GameDataSnapshot snapshot, int playerIndex) {
+        CompletableFuture<String> trump = trumps.request();
+        onTrumpRequested(snapshot, playerIndex);
+        return trump.join();
+    }
+
+    /**
+     Either copy of a card may be handed over, such as PlayingCard.findByCardLog gives it,
+     the copy in the hand is played. A card that is not in the hand or breaks the
+     trick rules is ignored, and the seat is asked again
+     */
+    @Override
+    public PlayingCard requestCardPlay(GameDataSnapshot snapshot, int playerIndex, List<PlayingCard> hand) {
+        long legalTypes = TrickRules.legalTypes(hand, snapshot.getCurrentTrick(), snapshot.getTrumpSuit());
+        while (true) {
+            CompletableFuture<PlayingCard> card = cards.request();
+            onCardPlayRequested(snapshot, playerIndex, hand);
+            PlayingCard played = findInHand(hand, card.join());
+            if (played != null && TrickRules.isLegal(played, legalTypes)) {
+                return played;
+            }
+        }
+    }
+
+    // The card itself if it is in the hand, otherwise its other copy, null if neither
+    private static PlayingCard findInHand(List<PlayingCard> hand, PlayingCard card) {
+        if (card == null || hand.contains(card)) {
+            return card;
+        }
+        for (PlayingCard held : hand) {
+            if (held.getTypeIndex() == card.getTypeIndex()) {
+                return held;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int requestRevealedCardChoice(GameDataSnapshot snapshot, int playerIndex,
+                                         List<PlayingCard> revealedCards) {
+        CompletableFuture<Integer> choice = revealedChoices.request();
+        onRevealedCardChoiceRequested(snapshot, playerIndex, revealedCards);
+        return choice.join();
+    }
+
+    @Override
+    public List<PlayingCard> requestDiscards(GameDataSnapshot snapshot, int playerIndex,
+                                             List<PlayingCard> hand, int discardCount) {
+        CompletableFuture<List<PlayingCard>> discarded = discards.request();
+        onDiscardsRequested(snapshot, playerIndex, hand, discardCount);
+        return discarded.join();
+    }
+
+    /**
+     * Hooks, the request is already open when they are called
+     */
+
+    protected void onBidRequested(GameDataSnapshot snapshot, int playerIndex, int currentBid) {
+    }
+
+    protected void onTrumpRequested(GameDataSnapshot snapshot, int playerIndex) {
+    }
+
+    protected void onCardPlayRequested(GameDataSnapshot snapshot, int playerIndex, List<PlayingCard> hand) {
+    }
+
+    protected void onRevealedCardChoiceRequested(GameDataSnapshot snapshot, int playerIndex,
+                                                 List<PlayingCard> revealedCards) {
+    }
+
+    protected void onDiscardsRequested(GameDataSnapshot snapshot, int playerIndex,
+                                       List<PlayingCard> hand, int discardCount) {
+    }
+}
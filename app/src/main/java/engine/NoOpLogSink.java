@@ -0,0 +1,21 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+/**
+ Logging off: the engine does not build the log and nothing is kept
+ */
+public class NoOpLogSink implements GameLogSink {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void writeGame(CharSequence gameLog) {}
+}
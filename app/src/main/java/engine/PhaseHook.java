@@ -0,0 +1,20 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+/**
+ Extension point of the engine, the headless counterpart of GameMode
+
+ A hook is called every time the engine enters a phase and may change the
+ cards through the engine (draw from the pack, add to or remove from a hand)
+ as long as the trick taking has not started yet
+ */
+@FunctionalInterface
+public interface PhaseHook {
+
+    void onPhase(EnginePhase phase, PinochleEngine engine);
+}
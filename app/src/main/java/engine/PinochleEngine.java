@@ -0,0 +1,628 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import core.CardList;
+import core.CardSet;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+import meld.MeldAnalyzer;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ The headless Pinochle engine
+
+ All the rules that used to live inside the JGameGrid window (dealing, bidding,
+ trump, melding, the trick rounds and scoring) are here as a plain state machine.
+ There is no AWT, no actor and no delay in this class, so thousands of games
+ can run without a window
+
+ The engine can be driven in two ways:
+ - step by step through deal(), startBidding(), submitBid(), selectTrump() and playCard()
+ - or by play(), which asks one PlayerController per seat for every decision
+
+ Everything that has to be shown is published to the GameEventListeners,
+ and GamePhase style extensions are plugged in as PhaseHooks
+
+ The hands, the trick, the played cards and the scores are immutable parts
+ (CardLists and an array that is replaced, not written) which a change swaps
+ for a new part. createSnapshot() only wraps the current parts, and the same
+ snapshot is returned until the next change
+
+ The text log is only built when the GameLogSink is enabled, the finished
+ log goes to the sink once the game is over (an InMemoryLogSink by default)
+ */
+public class PinochleEngine {
+    public static final int NB_PLAYERS = 2;
+    public static final int NB_START_CARDS = 12;
+    public static final int COMPUTER_PLAYER_INDEX = 0;
+    public static final int HUMAN_PLAYER_INDEX = 1;
+
+    public static final String RANDOM_BID = "random";
+    public static final String COMPUTER_BID = "computer";
+    public static final String HUMAN_BID = "human";
+
+    private final Properties properties;
+    private final MeldAnalyzer meldAnalyzer;
+    private final Random random;
+    private final List<GameEventListener> listeners = new ArrayList<>();
+    private final List<PhaseHook> phaseHooks = new ArrayList<>();
+    private final StringBuilder logResult = new StringBuilder();
+    private GameLogSink logSink = new InMemoryLogSink();
+    private boolean logging = true;
+
+    private EnginePhase phase = EnginePhase.INITIALIZATION;
+    private final CardList[] hands = new CardList[NB_PLAYERS];
+    private final List<List<PlayingCard>> trickWinningHands = new ArrayList<>();
+    private final List<PlayingCard> pack = new ArrayList<>();
+    private CardList playingArea = CardList.EMPTY;
+    private CardList allPlayedCards = CardList.EMPTY;
+    private int[] scores = new int[NB_PLAYERS]; // Replaced on every change, snapshots share it
+    private final int[] meldScores = new int[NB_PLAYERS];
+    private final List<Integer> winners = new ArrayList<>();
+
+    private String trumpSuit = null;
+    private int trumpIndex = -1; // CardSet suit index of the trump, for the trick kernel
+    private int currentBid = 0;
+    private int bidWinPlayerIndex = 0;
+    private int firstBidder = -1;
+    private int currentPlayer = -1;
+    private int numberOfRounds = 0;
+    private int roundNumber = 0;
+    private long version = 0;
+    private GameDataSnapshot snapshot;
+
+    public PinochleEngine(Properties properties, MeldAnalyzer meldAnalyzer, Random random) {
+        this.properties = properties;
+        this.meldAnalyzer = meldAnalyzer;
+        this.random = random;
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            hands[i] = CardList.EMPTY;
+            trickWinningHands.add(new ArrayList<>());
+        }
+    }
+
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void addPhaseHook(PhaseHook hook) {
+        phaseHooks.add(hook);
+    }
+
+    // Set before the game starts, a NoOpLogSink turns the log off
+    public void setLogSink(GameLogSink logSink) {
+        this.logSink = logSink;
+        this.logging = logSink.isEnabled();
+    }
+
+    public GameLogSink getLogSink() {
+        return logSink;
+    }
+
+    /**
+     Play a whole game, asking the controllers for every decision
+     @param controllers one controller per seat, indexed by player
+     @return the game log
+     */
+    public String play(PlayerController[] controllers) {
+        deal();
+        startBidding();
+
+        while (phase != EnginePhase.GAME_END) {
+            int playerIndex = currentPlayer;
+            PlayerController controller = controllers[playerIndex];
+            listeners.forEach(l -> l.onTurn(phase, playerIndex));
+
+            switch (phase) {
+                case BIDDING -> submitBid(playerIndex,
+                        controller.requestBid(createSnapshot(), playerIndex, currentBid));
+                case TRUMP_SELECTION -> selectTrump(
+                        controller.requestTrump(createSnapshot(), playerIndex));
+                case TRICK_TAKING -> playCard(playerIndex,
+                        controller.requestCardPlay(createSnapshot(), playerIndex, getHand(playerIndex)));
+                default -> throw new IllegalStateException("No decision to make in phase " + phase);
+            }
+        }
+        return getLogResult();
+    }
+
+    /**
+     * Dealing
+     */
+
+    // The preset cards of "players.N.initialcards" first, then random cards from the pack
+    public void deal() {
+        requirePhase(EnginePhase.INITIALIZATION);
+        enterPhase(EnginePhase.DEALING);
+
+        pack.addAll(PlayingCard.fullDeck());
+
+        List<List<PlayingCard>> dealtHands = new ArrayList<>();
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            dealtHands.add(new ArrayList<>());
+        }
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            String initialCardsValue = properties.getProperty("players." + i + ".initialcards");
+            if (initialCardsValue == null) {
+                continue;
+            }
+            for (String initialCard : initialCardsValue.split(",")) {
+                if (initialCard.length() <= 1) {
+                    continue;
+                }
+                PlayingCard card = PlayingCard.findByCardLog(pack, initialCard);
+                if (card != null) {
+                    pack.remove(card);
+                    dealtHands.get(i).add(card);
+                }
+            }
+        }
+
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            int cardsToDealt = NB_START_CARDS - dealtHands.get(i).size();
+            for (int j = 0; j < cardsToDealt && !pack.isEmpty(); j++) {
+                dealtHands.get(i).add(pack.remove(random.nextInt(pack.size())));
+            }
+        }
+
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            Collections.sort(dealtHands.get(i));
+            hands[i] = CardList.copyOf(dealtHands.get(i));
+        }
+        changed();
+        listeners.forEach(l -> l.onDealt(this));
+    }
+
+    /**
+     * Bidding
+     */
+
+    public void startBidding() {
+        startBidding(chooseFirstBidder());
+    }
+
+    public void startBidding(int firstBidder) {
+        requirePhase(EnginePhase.DEALING);
+        enterPhase(EnginePhase.BIDDING);
+        currentPlayer = firstBidder;
+        this.firstBidder = firstBidder;
+    }
+
+    // Who bids first, from "players.bid_first"
+    private int chooseFirstBidder() {
+        String bidOrder = properties.getProperty("players.bid_first", RANDOM_BID);
+        Random rand = new Random(1);
+        return switch (bidOrder) {
+            case RANDOM_BID -> rand.nextInt(NB_PLAYERS);
+            case HUMAN_BID -> HUMAN_PLAYER_INDEX;
+            default -> COMPUTER_PLAYER_INDEX;
+        };
+    }
+
+    /**
+     Apply the bid of the current player
+     The first player to pass loses the bidding, the other player wins it
+     @param playerIndex the player who bids
+     @param bidIncrement the amount added to the current bid, 0 means pass
+     */
+    public void submitBid(int playerIndex, int bidIncrement) {
+        requirePhase(EnginePhase.BIDDING);
+        requireTurn(playerIndex);
+
+        if (bidIncrement == 0) {
+            bidWinPlayerIndex = nextPlayer(playerIndex);
+            changed();
+            listeners.forEach(l -> l.onBid(playerIndex, 0, currentBid));
+            addBidInfoToLog();
+            listeners.forEach(l -> l.onBiddingFinished(bidWinPlayerIndex, currentBid));
+            currentPlayer = bidWinPlayerIndex;
+            enterPhase(EnginePhase.TRUMP_SELECTION);
+            return;
+        }
+
+        currentBid += bidIncrement;
+        changed();
+        listeners.forEach(l -> l.onBid(playerIndex, bidIncrement, currentBid));
+        currentPlayer = nextPlayer(playerIndex);
+    }
+
+    /**
+     * Trump and melding
+     */
+
+    public void selectTrump(String suit) {
+        requirePhase(EnginePhase.TRUMP_SELECTION);
+        trumpSuit = suit;
+        trumpIndex = CardSet.suitIndex(suit);
+        changed();
+        listeners.forEach(l -> l.onTrumpSelected(trumpSuit));
+
+        // The cut-throat mode changes the hands here
+        enterPhase(EnginePhase.POST_BIDDING);
+        enterPhase(EnginePhase.PRE_MELDING);
+
+        enterPhase(EnginePhase.MELDING);
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            meldScores[i] = calculateMeldingScore(hands[i]);
+            int playerIndex = i;
+            listeners.forEach(l -> l.onMeldScored(playerIndex, meldScores[playerIndex]));
+        }
+        scores = Arrays.copyOf(meldScores, NB_PLAYERS);
+        changed();
+        addTrumpInfoToLog();
+
+        enterPhase(EnginePhase.PRE_TRICK_TAKING);
+        addPlayerCardsToLog();
+        numberOfRounds = hands[COMPUTER_PLAYER_INDEX].size();
+        roundNumber = 0;
+        currentPlayer = bidWinPlayerIndex;
+        enterPhase(EnginePhase.TRICK_TAKING);
+
+        if (numberOfRounds == 0) {
+            finishGame();
+        } else {
+            addRoundInfoToLog(roundNumber);
+        }
+    }
+
+    private int calculateMeldingScore(List<PlayingCard> cards) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+        return meldAnalyzer.calculateBestScore(cards, trumpSuit);
+    }
+
+    /**
+     * Trick taking
+     */
+
+    // Check the follow-suit-and-beat rule for the current player
+    public boolean isValidPlay(int playerIndex, PlayingCard card) {
+        return TrickRules.checkValidTrick(card, hands[playerIndex], playingArea, trumpSuit);
+    }
+
+    // The card types the player may play on the current trick, see TrickRules.legalTypes
+    public long getLegalTypes(int playerIndex) {
+        return TrickRules.legalTypes(hands[playerIndex], playingArea, trumpSuit);
+    }
+
+    // The cards of the hand the player may play, in the order of the hand
+    public List<PlayingCard> getLegalCards(int playerIndex) {
+        return TrickRules.legalCards(hands[playerIndex], getLegalTypes(playerIndex));
+    }
+
+    /**
+     Play a card of the current player
+     The card is not checked against the trick rules here, recorded games and
+     the AI are trusted the same way as before. Use isValidPlay() to check
+     @return the index of the trick winner, or -1 if the trick is not complete
+     */
+    public int playCard(int playerIndex, PlayingCard card) {
+        requirePhase(EnginePhase.TRICK_TAKING);
+        requireTurn(playerIndex);
+        CardList hand = hands[playerIndex].without(card);
+        if (hand == hands[playerIndex]) {
+            throw new IllegalArgumentException("Player " + playerIndex + " does not hold " + card);
+        }
+        hands[playerIndex] = hand;
+
+        addCardPlayedToLog(playerIndex, card);
+        playingArea = playingArea.with(card);
+        changed();
+        listeners.forEach(l -> l.onCardPlayed(playerIndex, card));
+
+        if (playingArea.size() < NB_PLAYERS) {
+            currentPlayer = nextPlayer(playerIndex);
+            return -1;
+        }
+
+        int trickWinPlayerIndex = checkWinner(playerIndex);
+        transferCardsToWinner(trickWinPlayerIndex);
+        currentPlayer = trickWinPlayerIndex;
+
+        roundNumber++;
+        if (roundNumber < numberOfRounds) {
+            addRoundInfoToLog(roundNumber);
+        } else {
+            finishGame();
+        }
+        return trickWinPlayerIndex;
+    }
+
+    private int checkWinner(int playerIndex) {
+        int previousPlayerIndex = nextPlayer(playerIndex);
+        int trick = TrickRules.resolveTrick(playingArea.get(0), playingArea.get(1), trumpIndex);
+        return TrickRules.isSecondWinner(trick) ? playerIndex : previousPlayerIndex;
+    }
+
+    private void transferCardsToWinner(int trickWinPlayerIndex) {
+        List<PlayingCard> trick = playingArea;
+        allPlayedCards = allPlayedCards.withAll(trick);
+        trickWinningHands.get(trickWinPlayerIndex).addAll(trick);
+        playingArea = CardList.EMPTY;
+        changed();
+        listeners.forEach(l -> l.onTrickWon(trickWinPlayerIndex, trick));
+    }
+
+    /**
+     * Scoring
+     */
+
+    private void finishGame() {
+        enterPhase(EnginePhase.SCORING);
+        updateTrickScore();
+
+        int maxScore = 0;
+        for (int score : scores) {
+            maxScore = Math.max(maxScore, score);
+        }
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            if (scores[i] == maxScore) {
+                winners.add(i);
+            }
+        }
+        addEndOfGameToLog();
+        if (logging) {
+            logSink.writeGame(logResult);
+        }
+
+        currentPlayer = -1;
+        enterPhase(EnginePhase.GAME_END);
+        int[] finalScores = getScores();
+        listeners.forEach(l -> l.onGameOver(finalScores, getWinners()));
+    }
+
+    // The bid winner loses everything if the bid was not made
+    private void updateTrickScore() {
+        int[] finalScores = Arrays.copyOf(scores, NB_PLAYERS);
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            finalScores[i] += TrickRules.getTrickPoints(trickWinningHands.get(i), trumpSuit);
+            if (i == bidWinPlayerIndex && finalScores[i] < currentBid) {
+                finalScores[i] = 0;
+            }
+        }
+        scores = finalScores;
+        changed();
+    }
+
+    /**
+     * Card services for the phase hooks (cut-throat mode)
+     */
+
+    // Draw the top card of the pack
+    public PlayingCard drawFromPack() {
+        requireBeforeTrickTaking();
+        if (pack.isEmpty()) {
+            return null;
+        }
+        PlayingCard card = pack.remove(0);
+        changed();
+        listeners.forEach(l -> l.onCardDrawnFromPack(card));
+        return card;
+    }
+
+    // Search and remove from the pack based on the card log name
+    public PlayingCard drawFromPack(String cardLog) {
+        requireBeforeTrickTaking();
+        PlayingCard card = PlayingCard.findByCardLog(pack, cardLog);
+        if (card != null) {
+            pack.remove(card);
+            changed();
+            listeners.forEach(l -> l.onCardDrawnFromPack(card));
+        }
+        return card;
+    }
+
+    public void addCardToHand(PlayingCard card, int playerIndex) {
+        requireBeforeTrickTaking();
+        if (card != null && playerIndex >= 0 && playerIndex < NB_PLAYERS) {
+            hands[playerIndex] = hands[playerIndex].with(card);
+            changed();
+            listeners.forEach(l -> l.onCardAddedToHand(card, playerIndex));
+        }
+    }
+
+    public void removeCardFromHand(PlayingCard card, int playerIndex) {
+        requireBeforeTrickTaking();
+        CardList hand = card == null ? hands[playerIndex] : hands[playerIndex].without(card);
+        if (hand != hands[playerIndex]) {
+            hands[playerIndex] = hand;
+            changed();
+            listeners.forEach(l -> l.onCardRemovedFromHand(card, playerIndex));
+        }
+    }
+
+    /**
+     * Logging Logic
+     */
+
+    private void addCardPlayedToLog(int player, PlayingCard card) {
+        if (!logging) {
+            return;
+        }
+        logResult.append("P").append(player).append("-").append(card.getCardLog()).append(",");
+    }
+
+    private void addBidInfoToLog() {
+        if (!logging) {
+            return;
+        }
+        logResult.append("Bid:").append(bidWinPlayerIndex).append("-").append(currentBid).append("\n");
+    }
+
+    private void addTrumpInfoToLog() {
+        if (!logging) {
+            return;
+        }
+        logResult.append("Trump: ").append(trumpSuit).append("\n");
+        logResult.append("Melding Scores: ").append(scores[0]).append("-").append(scores[1]).append("\n");
+    }
+
+    private void addRoundInfoToLog(int round) {
+        if (!logging) {
+            return;
+        }
+        logResult.append("\n");
+        logResult.append("Round").append(round).append(":");
+    }
+
+    private void addPlayerCardsToLog() {
+        if (!logging) {
+            return;
+        }
+        logResult.append("Initial Cards:");
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            logResult.append("P").append(i).append("-");
+            logResult.append(convertCardListToString(hands[i]));
+        }
+    }
+
+    private String convertCardListToString(List<PlayingCard> cards) {
+        return cards.stream().map(PlayingCard::getCardLog).collect(Collectors.joining(",")) + "-";
+    }
+
+    private void addEndOfGameToLog() {
+        if (!logging) {
+            return;
+        }
+        logResult.append("\n");
+        logResult.append("Trick Winning: ");
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            logResult.append("P").append(i).append(":");
+            logResult.append(convertCardListToString(trickWinningHands.get(i)));
+        }
+        logResult.append("\n");
+        logResult.append("Final Score: ");
+        for (int score : scores) {
+            logResult.append(score).append(",");
+        }
+        logResult.append("\n");
+        logResult.append("Winners: ").append(winners.stream().map(String::valueOf)
+                .collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * State machine helpers
+     */
+
+    private void enterPhase(EnginePhase nextPhase) {
+        phase = nextPhase;
+        for (PhaseHook hook : phaseHooks) {
+            hook.onPhase(nextPhase, this);
+        }
+    }
+
+    private void requirePhase(EnginePhase expected) {
+        if (phase != expected) {
+            throw new IllegalStateException("Expected phase " + expected + " but the game is in " + phase);
+        }
+    }
+
+    private void requireTurn(int playerIndex) {
+        if (playerIndex != currentPlayer) {
+            throw new IllegalStateException("It is not the turn of player " + playerIndex);
+        }
+    }
+
+    private void requireBeforeTrickTaking() {
+        if (phase.compareTo(EnginePhase.TRICK_TAKING) >= 0) {
+            throw new IllegalStateException("Cards can not be moved in phase " + phase);
+        }
+    }
+
+    private int nextPlayer(int playerIndex) {
+        return (playerIndex + 1) % NB_PLAYERS;
+    }
+
+    // Every change of what a snapshot shows goes through here
+    private void changed() {
+        version++;
+        snapshot = null;
+    }
+
+    // Snapshot for the AI and the phase hooks, the same one until the state changes
+    public GameDataSnapshot createSnapshot() {
+        if (snapshot == null) {
+            snapshot = GameDataSnapshot.view(hands.clone(), allPlayedCards, trumpSuit, currentBid, scores,
+                    playingArea, pack.size(), bidWinPlayerIndex, version);
+        }
+        return snapshot;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // JUST GET
+
+    public EnginePhase getPhase() {
+        return phase;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    // The hand itself, it can not be changed
+    public List<PlayingCard> getHand(int playerIndex) {
+        return hands[playerIndex];
+    }
+
+    public List<PlayingCard> getTrickWinningCards(int playerIndex) {
+        return new ArrayList<>(trickWinningHands.get(playerIndex));
+    }
+
+    public List<PlayingCard> getCurrentTrick() {
+        return playingArea;
+    }
+
+    public int getPackSize() {
+        return pack.size();
+    }
+
+    public String getTrumpSuit() {
+        return trumpSuit;
+    }
+
+    public int getCurrentBid() {
+        return currentBid;
+    }
+
+    public int getBidWinPlayerIndex() {
+        return bidWinPlayerIndex;
+    }
+
+    // -1 before the bidding
+    public int getFirstBidder() {
+        return firstBidder;
+    }
+
+    public int[] getScores() {
+        return Arrays.copyOf(scores, scores.length);
+    }
+
+    public int[] getMeldScores() {
+        return Arrays.copyOf(meldScores, meldScores.length);
+    }
+
+    public List<Integer> getWinners() {
+        return new ArrayList<>(winners);
+    }
+
+    public Properties getProperties() {
+        return properties;
+    }
+
+    // The text log so far, empty when the sink is not enabled
+    public String getLogResult() {
+        return logResult.toString();
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import core.PlayingCard;
+import data.GameDataSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ One seat at the table
+
+ The engine asks the controller of the current player for every decision.
+ A controller can be the AI, a recorded script or a human behind the GUI,
+ the engine does not know and does not care
+ */
+public interface PlayerController {
+
+    // Return the amount to add to the current bid, 0 means pass
+    int requestBid(GameDataSnapshot snapshot, int playerIndex, int currentBid);
+
+    // Return the short hand of the trump suit, such as "C"
+    String requestTrump(GameDataSnapshot snapshot, int playerIndex);
+
+    // Return one card of the hand
+    PlayingCard requestCardPlay(GameDataSnapshot snapshot, int playerIndex, List<PlayingCard> hand);
+
+    // Cut-throat mode: return the index of the revealed card to keep
+    default int requestRevealedCardChoice(GameDataSnapshot snapshot, int playerIndex,
+                                          List<PlayingCard> revealedCards) {
+        return 0;
+    }
+
+    // Cut-throat mode: return the cards to throw away
+    default List<PlayingCard> requestDiscards(GameDataSnapshot snapshot, int playerIndex,
+                                              List<PlayingCard> hand, int discardCount) {
+        return new ArrayList<>(hand.subList(hand.size() - discardCount, hand.size()));
+    }
+}
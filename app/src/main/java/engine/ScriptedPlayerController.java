@@ -0,0 +1,117 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package engine;
+
+import core.PlayingCard;
+import data.GameDataSnapshot;
+
+import java.util.*;
+
+/**
+ The auto mode of the original Pinochle as a controller
+
+ Bids, trump, card plays and the cut-throat choices are read from the
+ "players.N.*" properties. When the script runs out (or names a card that is
+ not in the hand) the decision is handed to the fallback controller, exactly
+ like the auto mode fell back to the AI
+ */
+public class ScriptedPlayerController implements PlayerController {
+    private final PlayerController fallback;
+    private final List<Integer> autoBids = new ArrayList<>();
+    private final List<String> autoMovements;
+    private final String trumpSuit;
+    private final String cutThroatChoice;
+    private final String finalCards;
+    private int autoBidIndex = 0;
+    private int autoMovementIndex = 0;
+
+    public ScriptedPlayerController(Properties properties, int playerIndex, PlayerController fallback) {
+        this.fallback = fallback;
+
+        String bids = properties.getProperty("players." + playerIndex + ".bids", "");
+        if (!bids.isEmpty()) {
+            autoBids.addAll(Arrays.stream(bids.split(",")).map(Integer::parseInt).toList());
+        }
+
+        String movements = properties.getProperty("players." + playerIndex + ".cardsPlayed", "");
+        this.autoMovements = Arrays.asList(movements.split(","));
+
+        this.trumpSuit = properties.getProperty("players.trump", "C");
+        this.cutThroatChoice = properties.getProperty("players." + playerIndex + ".cutthroat_choice", "0");
+        this.finalCards = properties.getProperty("players." + playerIndex + ".final_cards", "");
+    }
+
+    @Override
+    public int requestBid(GameDataSnapshot snapshot, int playerIndex, int currentBid) {
+        if (autoBidIndex < autoBids.size()) {
+            return autoBids.get(autoBidIndex++);
+        }
+        return fallback.requestBid(snapshot, playerIndex, currentBid);
+    }
+
+    @Override
+    public String requestTrump(GameDataSnapshot snapshot, int playerIndex) {
+        return trumpSuit;
+    }
+
+    @Override
+    public PlayingCard requestCardPlay(GameDataSnapshot snapshot, int playerIndex, List<PlayingCard> hand) {
+        if (autoMovementIndex < autoMovements.size()) {
+            String nextMovement = autoMovements.get(autoMovementIndex++);
+            PlayingCard card = applyAutoMovement(hand, nextMovement);
+            if (card != null) {
+                return card;
+            }
+        }
+        return fallback.requestCardPlay(snapshot, playerIndex, hand);
+    }
+
+    @Override
+    public int requestRevealedCardChoice(GameDataSnapshot snapshot, int playerIndex,
+                                         List<PlayingCard> revealedCards) {
+        try {
+            int selectedIndex = Integer.parseInt(cutThroatChoice);
+            return Math.max(0, Math.min(1, selectedIndex));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public List<PlayingCard> requestDiscards(GameDataSnapshot snapshot, int playerIndex,
+                                             List<PlayingCard> hand, int discardCount) {
+        if (finalCards.isEmpty()) {
+            return fallback.requestDiscards(snapshot, playerIndex, hand, discardCount);
+        }
+
+        // Keep the configured cards, everything else is thrown away
+        List<String> remainingKeepList = new ArrayList<>();
+        for (String cardName : finalCards.split(",")) {
+            remainingKeepList.add(cardName.trim());
+        }
+
+        List<PlayingCard> discards = new ArrayList<>();
+        for (PlayingCard card : hand) {
+            if (!remainingKeepList.remove(card.getCardLog())) {
+                discards.add(card);
+            }
+        }
+        return discards;
+    }
+
+    private PlayingCard applyAutoMovement(List<PlayingCard> hand, String nextMovement) {
+        if (hand.isEmpty() || nextMovement.isEmpty()) {
+            return null;
+        }
+        String cardDealtString = nextMovement.split("-")[0];
+        PlayingCard dealt = PlayingCard.findByCardLog(hand, cardDealtString);
+        if (dealt == null) {
+            System.err.println("cannot draw card: " + cardDealtString + " - hand: " + hand);
+        }
+        return dealt;
+    }
+}
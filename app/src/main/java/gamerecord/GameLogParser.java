@@ -0,0 +1,148 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+import core.CardSet;
+import core.PlayingCard;
+import engine.FileLogSink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ Turns a text game log (the "Bid:1-160", "Round0:P1-1H,P0-12C," format) into a GameRecord
+
+ The text log only has the result of the bidding, so the record gets the bid
+ winner as first bidder with the whole bid as one raise, then the other player
+ passes (a bid of 0: the other player bids first and passes). That gives the same bid winner and bid when the game is played again.
+ The seed is not in the log either, it is 0
+
+ A card name stands for both copies of the card, the hands get the first free
+ copy and a play the first copy, the replay treats the copies as the same card
+ */
+public class GameLogParser {
+    private static final String BID = "Bid:";
+    private static final String TRUMP = "Trump:";
+    private static final String MELDING_SCORES = "Melding Scores:";
+    private static final String INITIAL_CARDS = "Initial Cards:";
+    private static final String ROUND = "Round";
+    private static final String FINAL_SCORE = "Final Score:";
+    private static final String WINNERS = "Winners:";
+    private static final List<PlayingCard> DECK = PlayingCard.fullDeck();
+
+    private GameLogParser() {
+    }
+
+    /**
+     @param gameLog the log of one game, with line breaks or as one FileLogSink line
+     @throws IllegalArgumentException if a part of the log is missing or can not be read
+     */
+    public static GameRecord parse(String gameLog) {
+        int bidWinner = -1;
+        int finalBid = 0;
+        int trumpIndex = -1;
+        int[] meldScores = null;
+        byte[][] hands = null;
+        List<Byte> plays = new ArrayList<>();
+        int[] finalScores = null;
+        int winnerMask = 0;
+
+        for (String rawLine : gameLog.replace(FileLogSink.LINE_SEPARATOR, '\n').split("\n")) {
+            String line = rawLine.trim();
+            try {
+                if (line.startsWith(BID)) {
+                    String[] parts = line.substring(BID.length()).split("-");
+                    bidWinner = Integer.parseInt(parts[0].trim());
+                    finalBid = Integer.parseInt(parts[1].trim());
+                } else if (line.startsWith(TRUMP)) {
+                    trumpIndex = CardSet.suitIndex(line.substring(TRUMP.length()).trim());
+                } else if (line.startsWith(MELDING_SCORES)) {
+                    meldScores = parseScores(line.substring(MELDING_SCORES.length()), "-");
+                } else if (line.startsWith(INITIAL_CARDS)) {
+                    hands = parseHands(line.substring(INITIAL_CARDS.length()));
+                } else if (line.startsWith(ROUND)) {
+                    parsePlays(line.substring(line.indexOf(':') + 1), plays);
+                } else if (line.startsWith(FINAL_SCORE)) {
+                    finalScores = parseScores(line.substring(FINAL_SCORE.length()), ",");
+                } else if (line.startsWith(WINNERS)) {
+                    for (String winner : line.substring(WINNERS.length()).split(",")) {
+                        if (!winner.isBlank()) {
+                            winnerMask |= 1 << Integer.parseInt(winner.trim());
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Can not read the log line \"" + line + "\"", e);
+            }
+        }
+
+        if (bidWinner < 0 || meldScores == null || hands == null || finalScores == null) {
+            throw new IllegalArgumentException("Not a complete game log");
+        }
+        byte[] playBytes = new byte[plays.size()];
+        for (int i = 0; i < playBytes.length; i++) {
+            playBytes[i] = plays.get(i);
+        }
+        // A bid of 0 means the other player passed at once
+        int firstBidder = finalBid == 0 ? (bidWinner + 1) % GameRecord.NB_PLAYERS : bidWinner;
+        int[] bids = finalBid == 0 ? new int[]{0} : new int[]{finalBid, 0};
+        return new GameRecord(0, firstBidder, bidWinner, finalBid, trumpIndex, bids, hands, playBytes,
+                meldScores, finalScores, winnerMask);
+    }
+
+    // "190-0" or "268,0,"
+    private static int[] parseScores(String text, String separator) {
+        String[] parts = text.trim().split(separator);
+        int[] scores = new int[GameRecord.NB_PLAYERS];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = Integer.parseInt(parts[i].trim());
+        }
+        return scores;
+    }
+
+    // "P0-1S,13S,...-P1-10S,9S,...-"
+    private static byte[][] parseHands(String text) {
+        List<PlayingCard> deck = PlayingCard.fullDeck();
+        byte[][] hands = new byte[GameRecord.NB_PLAYERS][];
+        String[] parts = text.trim().split("-");
+        for (int i = 0; i + 1 < parts.length; i += 2) {
+            int player = Integer.parseInt(parts[i].trim().substring(1));
+            String[] cardLogs = parts[i + 1].isBlank() ? new String[0] : parts[i + 1].split(",");
+            hands[player] = new byte[cardLogs.length];
+            for (int c = 0; c < cardLogs.length; c++) {
+                PlayingCard card = PlayingCard.findByCardLog(deck, cardLogs[c].trim());
+                if (card == null) {
+                    throw new IllegalArgumentException("Unknown or third copy of card " + cardLogs[c]);
+                }
+                deck.remove(card);
+                hands[player][c] = (byte) card.ordinal();
+            }
+        }
+        for (int i = 0; i < hands.length; i++) {
+            if (hands[i] == null) {
+                throw new IllegalArgumentException("No initial cards of player " + i);
+            }
+        }
+        return hands;
+    }
+
+    // "P1-1H,P0-12C,"
+    private static void parsePlays(String text, List<Byte> plays) {
+        for (String play : text.split(",")) {
+            if (play.isBlank()) {
+                continue;
+            }
+            String[] parts = play.trim().split("-");
+            int player = Integer.parseInt(parts[0].substring(1));
+            PlayingCard card = PlayingCard.findByCardLog(DECK, parts[1]);
+            if (card == null) {
+                throw new IllegalArgumentException("Unknown card " + parts[1]);
+            }
+            plays.add(GameRecord.encodePlay(player, card));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+import core.CardSet;
+import core.PlayingCard;
+import core.TrickRules;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ Everything needed to play one game again, in a few bytes
+
+ A card is its PlayingCard ordinal (0-47) in one byte. A play also keeps the
+ player in the top bit, so the tricks can be followed without the rules.
+ The hands are the hands at the start of the trick taking, the same as the
+ "Initial Cards" of the text log (after the cut-throat exchange)
+
+ Layout of a record (big endian, about 90 bytes for a normal game):
+ short  length of the rest of the record
+ long   seed of the game (0 when not known)
+ byte   first bidder, byte bid winner, short final bid, byte trump (suit index, -1 for none)
+ short  number of bids, then one unsigned short per bid (the increment, 0 is the pass)
+ byte   cards per hand, then the cards of every hand
+ byte   number of plays, then the plays
+ short  meld score and short final score of every player
+ byte   winners, one bit per player
+ */
+public final class GameRecord {
+    public static final int NB_PLAYERS = 2;
+
+    private static final int PLAYER_BIT = 0x80;
+    private static final int CARD_MASK = 0x7F;
+
+    private final long seed;
+    private final int firstBidder;
+    private final int bidWinner;
+    private final int finalBid;
+    private final int trumpIndex;
+    private final int[] bids;
+    private final byte[][] hands;
+    private final byte[] plays;
+    private final int[] meldScores;
+    private final int[] finalScores;
+    private final int winnerMask;
+
+    GameRecord(long seed, int firstBidder, int bidWinner, int finalBid, int trumpIndex, int[] bids,
+               byte[][] hands, byte[] plays, int[] meldScores, int[] finalScores, int winnerMask) {
+        this.seed = seed;
+        this.firstBidder = firstBidder;
+        this.bidWinner = bidWinner;
+        this.finalBid = finalBid;
+        this.trumpIndex = trumpIndex;
+        this.bids = bids;
+        this.hands = hands;
+        this.plays = plays;
+        this.meldScores = meldScores;
+        this.finalScores = finalScores;
+        this.winnerMask = winnerMask;
+    }
+
+    static byte encodePlay(int playerIndex, PlayingCard card) {
+        return (byte) (card.ordinal() | (playerIndex == 0 ? 0 : PLAYER_BIT));
+    }
+
+    /**
+     * Binary form
+     */
+
+    // Bytes the record takes in a file, the length field included
+    public int encodedSize() {
+        int size = Short.BYTES + Long.BYTES + 3 + Short.BYTES + Short.BYTES + bids.length * Short.BYTES + 1;
+        for (byte[] hand : hands) {
+            size += hand.length;
+        }
+        return size + 1 + plays.length + NB_PLAYERS * 2 * Short.BYTES + 1;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        int cardsPerHand = hands[0].length;
+        for (byte[] hand : hands) {
+            if (hand.length != cardsPerHand) {
+                throw new IllegalStateException("The hands of a record must have the same size");
+            }
+        }
+        buffer.putShort((short) (encodedSize() - Short.BYTES));
+        buffer.putLong(seed);
+        buffer.put((byte) firstBidder);
+        buffer.put((byte) bidWinner);
+        buffer.putShort((short) finalBid);
+        buffer.put((byte) trumpIndex);
+        buffer.putShort((short) bids.length);
+        for (int bid : bids) {
+            buffer.putShort((short) bid);
+        }
+        buffer.put((byte) cardsPerHand);
+        for (byte[] hand : hands) {
+            buffer.put(hand);
+        }
+        buffer.put((byte) plays.length);
+        buffer.put(plays);
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            buffer.putShort((short) meldScores[i]);
+            buffer.putShort((short) finalScores[i]);
+        }
+        buffer.put((byte) winnerMask);
+    }
+
+    /**
+     Read the record that starts at the given position, the buffer position is not used
+     @return the record, its encodedSize() tells where the next one starts
+     */
+    public static GameRecord readFrom(ByteBuffer buffer, int offset) {
+        int p = offset + Short.BYTES;
+        long seed = buffer.getLong(p);
+        p += Long.BYTES;
+        int firstBidder = buffer.get(p++);
+        int bidWinner = buffer.get(p++);
+        int finalBid = buffer.getShort(p) & 0xFFFF;
+        p += Short.BYTES;
+        int trumpIndex = buffer.get(p++);
+        int[] bids = new int[buffer.getShort(p) & 0xFFFF];
+        p += Short.BYTES;
+        for (int i = 0; i < bids.length; i++, p += Short.BYTES) {
+            bids[i] = buffer.getShort(p) & 0xFFFF;
+        }
+        int cardsPerHand = buffer.get(p++);
+        byte[][] hands = new byte[NB_PLAYERS][cardsPerHand];
+        for (byte[] hand : hands) {
+            buffer.get(p, hand);
+            p += cardsPerHand;
+        }
+        byte[] plays = new byte[buffer.get(p++) & 0xFF];
+        buffer.get(p, plays);
+        p += plays.length;
+        int[] meldScores = new int[NB_PLAYERS];
+        int[] finalScores = new int[NB_PLAYERS];
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            meldScores[i] = buffer.getShort(p);
+            finalScores[i] = buffer.getShort(p + Short.BYTES);
+            p += 2 * Short.BYTES;
+        }
+        int winnerMask = buffer.get(p);
+        return new GameRecord(seed, firstBidder, bidWinner, finalBid, trumpIndex, bids, hands, plays,
+                meldScores, finalScores, winnerMask);
+    }
+
+    /**
+     * JUST GET
+     */
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getFirstBidder() {
+        return firstBidder;
+    }
+
+    public int getBidWinner() {
+        return bidWinner;
+    }
+
+    public int getFinalBid() {
+        return finalBid;
+    }
+
+    // The suit short hand, null if no trump was chosen
+    public String getTrumpSuit() {
+        return trumpIndex < 0 ? null : CardSet.suitShortHand(trumpIndex);
+    }
+
+    // The increments in the order they were made, the players take turns from the first bidder
+    public int[] getBids() {
+        return Arrays.copyOf(bids, bids.length);
+    }
+
+    public List<PlayingCard> getInitialHand(int playerIndex) {
+        List<PlayingCard> hand = new ArrayList<>(hands[playerIndex].length);
+        for (byte card : hands[playerIndex]) {
+            hand.add(PlayingCard.fromOrdinal(card));
+        }
+        return hand;
+    }
+
+    public int getPlayCount() {
+        return plays.length;
+    }
+
+    public PlayingCard getPlayedCard(int play) {
+        return PlayingCard.fromOrdinal(plays[play] & CARD_MASK);
+    }
+
+    public int getPlayingPlayer(int play) {
+        return (plays[play] & PLAYER_BIT) == 0 ? 0 : 1;
+    }
+
+    // The points of the tricks the player won, worked out from the plays
+    public int getTrickPoints(int playerIndex) {
+        if (trumpIndex < 0) {
+            return 0;
+        }
+        int points = 0;
+        for (int play = 0; play + 1 < plays.length; play += NB_PLAYERS) {
+            int trick = TrickRules.resolveTrick(getPlayedCard(play), getPlayedCard(play + 1), trumpIndex);
+            int winner = TrickRules.isSecondWinner(trick) ? getPlayingPlayer(play + 1) : getPlayingPlayer(play);
+            if (winner == playerIndex) {
+                points += TrickRules.trickPoints(trick);
+            }
+        }
+        return points;
+    }
+
+    public int getMeldScore(int playerIndex) {
+        return meldScores[playerIndex];
+    }
+
+    public int getFinalScore(int playerIndex) {
+        return finalScores[playerIndex];
+    }
+
+    public boolean isWinner(int playerIndex) {
+        return (winnerMask & (1 << playerIndex)) != 0;
+    }
+
+    public List<Integer> getWinners() {
+        List<Integer> winners = new ArrayList<>();
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            if (isWinner(i)) {
+                winners.add(i);
+            }
+        }
+        return winners;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ Reads a record file written by the GameRecordWriter
+
+ The file is memory mapped, so the operating system reads it in and nothing is
+ copied into the heap until a record is asked for. Opening the file walks the
+ length fields once and keeps where every record starts, then any game can be
+ read by its number. A mapping can not be larger than 2 GB, bigger files are
+ mapped in parts that always end between two records
+ */
+public class GameRecordReader implements AutoCloseable {
+    private static final long MAX_PART_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> parts = new ArrayList<>();
+    // Part number in the high half, offset in the part in the low half
+    private long[] positions = new long[1024];
+    private int recordCount = 0;
+
+    public GameRecordReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        if (size < GameRecordWriter.HEADER_SIZE) {
+            throw new IOException("Not a game record file: " + file);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, GameRecordWriter.HEADER_SIZE);
+        if (header.getInt(0) != GameRecordWriter.MAGIC || header.getShort(Integer.BYTES) != GameRecordWriter.VERSION) {
+            throw new IOException("Not a game record file of version " + GameRecordWriter.VERSION + ": " + file);
+        }
+        indexRecords(size);
+    }
+
+    private void indexRecords(long size) throws IOException {
+        long start = GameRecordWriter.HEADER_SIZE;
+        while (start < size) {
+            MappedByteBuffer part = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(MAX_PART_SIZE, size - start));
+            int offset = 0;
+            while (offset + Short.BYTES <= part.limit()) {
+                int end = offset + Short.BYTES + (part.getShort(offset) & 0xFFFF);
+                if (end > part.limit()) {
+                    break; // The record continues in the next part
+                }
+                addPosition(parts.size(), offset);
+                offset = end;
+            }
+            if (offset == 0) {
+                throw new IOException("Broken record at byte " + start);
+            }
+            parts.add(part);
+            start += offset;
+        }
+    }
+
+    private void addPosition(int part, int offset) {
+        if (recordCount == positions.length) {
+            positions = Arrays.copyOf(positions, recordCount * 2);
+        }
+        positions[recordCount++] = ((long) part << 32) | offset;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    // Game number index, in the order the games were written
+    public GameRecord get(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        long position = positions[index];
+        return GameRecord.readFrom(parts.get((int) (position >>> 32)), (int) position);
+    }
+
+    // Every record in file order
+    public void forEach(Consumer<GameRecord> action) {
+        for (int i = 0; i < recordCount; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
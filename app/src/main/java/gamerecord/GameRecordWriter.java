@@ -0,0 +1,84 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ Appends GameRecords to a record file
+
+ The file starts with a small header (magic "PNRC" and the format version),
+ then the records follow each other. They are collected in a direct buffer and
+ written to the FileChannel when it is full. Several simulation workers can
+ share one writer, a record is always written as a whole. Close the writer to
+ write what is left in the buffer
+ */
+public class GameRecordWriter implements AutoCloseable {
+    public static final int MAGIC = 0x504E5243; // "PNRC"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long recordCount = 0;
+
+    /**
+     @param file the record file
+     @param append add to the records already in the file, or start a new file
+     */
+    public GameRecordWriter(Path file, boolean append) throws IOException {
+        this.channel = append
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC);
+            buffer.putShort(VERSION);
+        }
+    }
+
+    public synchronized void write(GameRecord record) {
+        try {
+            if (buffer.remaining() < record.encodedSize()) {
+                flushBuffer();
+            }
+            record.writeTo(buffer);
+            recordCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Game record could not be written", e);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            flushBuffer();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Game record file could not be closed", e);
+        }
+    }
+}
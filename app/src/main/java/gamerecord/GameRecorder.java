@@ -0,0 +1,117 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+import core.CardSet;
+import core.PlayingCard;
+import engine.EnginePhase;
+import engine.GameEventListener;
+import engine.PhaseHook;
+import engine.PinochleEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ Listens to one engine and turns its game into a GameRecord
+
+ The hands are taken when the trick taking starts (after every phase hook,
+ so a cut-throat game is recorded with its final hands), everything else
+ comes from the engine events
+ */
+public class GameRecorder implements GameEventListener, PhaseHook {
+    private static final int MAX_PLAYS = 2 * PinochleEngine.NB_START_CARDS;
+
+    private final long seed;
+    private final ByteArrayOutputStream plays = new ByteArrayOutputStream(MAX_PLAYS);
+    private int[] bids = new int[16];
+    private int bidCount = 0;
+    private int firstBidder = -1;
+    private int bidWinner = -1;
+    private int finalBid = 0;
+    private int trumpIndex = -1;
+    private byte[][] hands;
+    private final int[] meldScores = new int[GameRecord.NB_PLAYERS];
+    private GameRecord record;
+
+    public GameRecorder(long seed) {
+        this.seed = seed;
+    }
+
+    // Record the game of the engine, call before the game starts
+    public static GameRecorder attach(PinochleEngine engine, long seed) {
+        GameRecorder recorder = new GameRecorder(seed);
+        engine.addListener(recorder);
+        engine.addPhaseHook(recorder);
+        return recorder;
+    }
+
+    @Override
+    public void onPhase(EnginePhase phase, PinochleEngine engine) {
+        if (phase != EnginePhase.TRICK_TAKING) {
+            return;
+        }
+        hands = new byte[GameRecord.NB_PLAYERS][];
+        for (int i = 0; i < hands.length; i++) {
+            List<PlayingCard> hand = engine.getHand(i);
+            hands[i] = new byte[hand.size()];
+            for (int c = 0; c < hand.size(); c++) {
+                hands[i][c] = (byte) hand.get(c).ordinal();
+            }
+        }
+    }
+
+    @Override
+    public void onBid(int playerIndex, int bidIncrement, int currentBid) {
+        if (firstBidder < 0) {
+            firstBidder = playerIndex;
+        }
+        if (bidCount == bids.length) {
+            bids = Arrays.copyOf(bids, bidCount * 2);
+        }
+        bids[bidCount++] = bidIncrement;
+    }
+
+    @Override
+    public void onBiddingFinished(int bidWinnerIndex, int currentBid) {
+        bidWinner = bidWinnerIndex;
+        finalBid = currentBid;
+    }
+
+    @Override
+    public void onTrumpSelected(String trumpSuit) {
+        trumpIndex = trumpSuit == null ? -1 : CardSet.suitIndex(trumpSuit);
+    }
+
+    @Override
+    public void onMeldScored(int playerIndex, int meldScore) {
+        meldScores[playerIndex] = meldScore;
+    }
+
+    @Override
+    public void onCardPlayed(int playerIndex, PlayingCard card) {
+        plays.write(GameRecord.encodePlay(playerIndex, card));
+    }
+
+    @Override
+    public void onGameOver(int[] finalScores, List<Integer> winners) {
+        int winnerMask = 0;
+        for (int winner : winners) {
+            winnerMask |= 1 << winner;
+        }
+        byte[][] recordedHands = hands != null ? hands : new byte[GameRecord.NB_PLAYERS][0];
+        record = new GameRecord(seed, firstBidder, bidWinner, finalBid, trumpIndex,
+                Arrays.copyOf(bids, bidCount), recordedHands, plays.toByteArray(),
+                meldScores.clone(), finalScores.clone(), winnerMask);
+    }
+
+    // The record, null until the game is over
+    public GameRecord getRecord() {
+        return record;
+    }
+}
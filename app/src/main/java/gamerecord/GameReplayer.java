@@ -0,0 +1,262 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+import core.CardSet;
+import core.PlayingCard;
+import engine.EnginePhase;
+import engine.FileLogSink;
+import engine.NoOpLogSink;
+import engine.PinochleEngine;
+import engine.PlayerController;
+import meld.MeldAnalyzer;
+import simulation.SelfPlaySimulator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ Plays recorded games again on the headless engine and checks them
+
+ The recorded hands are dealt through "players.N.initialcards", then every
+ recorded bid, the trump and every card are made through the engine's step by
+ step methods. A card must be in the player's hand, it must be the player's
+ turn and the card must follow the TrickRules. At the end the melding scores,
+ the final scores and the winners must be the recorded ones. Nothing is drawn
+ and there is no delay, so thousands of games take seconds
+
+ A controller can be checked at the same time: at every decision of its seat
+ it is asked what it would do, and a different answer is a divergence. That is
+ how a changed AI is compared with the games it played before
+
+ The first divergence ends the replay of a game, see ReplayResult
+ */
+public class GameReplayer {
+    private final Properties properties;
+    private final MeldAnalyzer meldAnalyzer;
+    private final PlayerController[] checkedControllers;
+
+    // Replay against the rules only
+    public GameReplayer(Properties properties) {
+        this(properties, new MeldAnalyzer(SelfPlaySimulator.MELD_FILE, properties),
+                new PlayerController[PinochleEngine.NB_PLAYERS]);
+    }
+
+    /**
+     @param properties the table rules, the melds in particular
+     @param checkedControllers one entry per seat, null for a seat that is not checked
+     */
+    public GameReplayer(Properties properties, MeldAnalyzer meldAnalyzer, PlayerController[] checkedControllers) {
+        this.properties = properties;
+        this.meldAnalyzer = meldAnalyzer;
+        this.checkedControllers = Arrays.copyOf(checkedControllers, PinochleEngine.NB_PLAYERS);
+    }
+
+    public ReplayResult replay(GameRecord record) {
+        Properties gameProperties = new Properties(properties);
+        for (int i = 0; i < PinochleEngine.NB_PLAYERS; i++) {
+            gameProperties.setProperty("players." + i + ".initialcards", toCardLogs(record.getInitialHand(i)));
+        }
+        PinochleEngine engine = new PinochleEngine(gameProperties, meldAnalyzer, new Random(record.getSeed()));
+        engine.setLogSink(new NoOpLogSink());
+
+        int move = 0;
+        try {
+            engine.deal();
+            for (int i = 0; i < PinochleEngine.NB_PLAYERS; i++) {
+                if (!CardSet.of(engine.getHand(i)).equals(CardSet.of(record.getInitialHand(i)))) {
+                    return ReplayResult.divergence(move, "the hand of P" + i + " can not be dealt");
+                }
+            }
+
+            engine.startBidding(record.getFirstBidder());
+            for (int bid : record.getBids()) {
+                if (engine.getPhase() != EnginePhase.BIDDING) {
+                    return ReplayResult.divergence(move, "the bidding is over before the recorded bid " + bid);
+                }
+                int player = engine.getCurrentPlayer();
+                PlayerController controller = checkedControllers[player];
+                if (controller != null) {
+                    int chosen = controller.requestBid(engine.createSnapshot(), player, engine.getCurrentBid());
+                    if (chosen != bid) {
+                        return ReplayResult.divergence(move, "P" + player + " bids " + chosen + " instead of " + bid);
+                    }
+                }
+                engine.submitBid(player, bid);
+                move++;
+            }
+            if (engine.getPhase() != EnginePhase.TRUMP_SELECTION) {
+                return ReplayResult.divergence(move, "the bidding is not over after the recorded bids");
+            }
+            if (engine.getBidWinPlayerIndex() != record.getBidWinner() || engine.getCurrentBid() != record.getFinalBid()) {
+                return ReplayResult.divergence(move, "the bid goes to P" + engine.getBidWinPlayerIndex() + " for "
+                        + engine.getCurrentBid() + " instead of P" + record.getBidWinner() + " for " + record.getFinalBid());
+            }
+
+            String trump = record.getTrumpSuit();
+            if (trump == null) {
+                return ReplayResult.divergence(move, "no trump was recorded");
+            }
+            int bidWinner = engine.getCurrentPlayer();
+            if (checkedControllers[bidWinner] != null) {
+                String chosen = checkedControllers[bidWinner].requestTrump(engine.createSnapshot(), bidWinner);
+                if (!trump.equals(chosen)) {
+                    return ReplayResult.divergence(move, "P" + bidWinner + " chooses trump " + chosen + " instead of " + trump);
+                }
+            }
+            engine.selectTrump(trump);
+            move++;
+
+            int[] meldScores = engine.getMeldScores();
+            for (int i = 0; i < PinochleEngine.NB_PLAYERS; i++) {
+                if (meldScores[i] != record.getMeldScore(i)) {
+                    return ReplayResult.divergence(move, "P" + i + " melds " + meldScores[i]
+                            + " instead of " + record.getMeldScore(i));
+                }
+            }
+
+            for (int play = 0; play < record.getPlayCount(); play++, move++) {
+                ReplayResult divergence = replayCard(engine, record, play, move);
+                if (divergence != null) {
+                    return divergence;
+                }
+            }
+        } catch (RuntimeException e) {
+            return ReplayResult.divergence(move, "the engine refused the move: " + e.getMessage());
+        }
+
+        return checkResult(engine, record, move);
+    }
+
+    // Null when the card is fine and has been played
+    private ReplayResult replayCard(PinochleEngine engine, GameRecord record, int play, int move) {
+        if (engine.getPhase() != EnginePhase.TRICK_TAKING) {
+            return ReplayResult.divergence(move, "the game is over before all recorded cards are played");
+        }
+        int player = engine.getCurrentPlayer();
+        int recordedPlayer = record.getPlayingPlayer(play);
+        PlayingCard recordedCard = record.getPlayedCard(play);
+        if (player != recordedPlayer) {
+            return ReplayResult.divergence(move, "P" + recordedPlayer + " plays " + recordedCard.getCardLog()
+                    + " but it is the turn of P" + player);
+        }
+
+        // The two copies of a card are the same card for the rules
+        List<PlayingCard> hand = engine.getHand(player);
+        PlayingCard card = PlayingCard.findByCardLog(hand, recordedCard.getCardLog());
+        if (card == null) {
+            return ReplayResult.divergence(move, "P" + player + " does not hold " + recordedCard.getCardLog());
+        }
+        if (!engine.isValidPlay(player, card)) {
+            return ReplayResult.divergence(move, "P" + player + " plays " + card.getCardLog()
+                    + " against the trick rules");
+        }
+        PlayerController controller = checkedControllers[player];
+        if (controller != null) {
+            PlayingCard chosen = controller.requestCardPlay(engine.createSnapshot(), player, hand);
+            if (chosen == null || !chosen.getCardLog().equals(card.getCardLog())) {
+                return ReplayResult.divergence(move, "P" + player + " plays "
+                        + (chosen == null ? "nothing" : chosen.getCardLog()) + " instead of " + card.getCardLog());
+            }
+        }
+        engine.playCard(player, card);
+        return null;
+    }
+
+    private ReplayResult checkResult(PinochleEngine engine, GameRecord record, int moves) {
+        if (engine.getPhase() != EnginePhase.GAME_END) {
+            return ReplayResult.divergence(ReplayResult.END_OF_GAME, "the game is not over after the recorded cards");
+        }
+        int[] finalScores = engine.getScores();
+        for (int i = 0; i < PinochleEngine.NB_PLAYERS; i++) {
+            if (finalScores[i] != record.getFinalScore(i)) {
+                return ReplayResult.divergence(ReplayResult.END_OF_GAME, "P" + i + " scores " + finalScores[i]
+                        + " instead of " + record.getFinalScore(i));
+            }
+        }
+        if (!engine.getWinners().equals(record.getWinners())) {
+            return ReplayResult.divergence(ReplayResult.END_OF_GAME, "the winners are " + engine.getWinners()
+                    + " instead of " + record.getWinners());
+        }
+        return ReplayResult.matching(moves);
+    }
+
+    private static String toCardLogs(List<PlayingCard> cards) {
+        return cards.stream().map(PlayingCard::getCardLog).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Reading the recorded games
+     */
+
+    /**
+     The games of a file: a GameRecordWriter file, a FileLogSink file (one game
+     per line) or a single text log such as the sample logs
+     */
+    public static List<GameRecord> readGames(Path file) throws IOException {
+        byte[] magic = new byte[Integer.BYTES];
+        int read;
+        try (InputStream input = Files.newInputStream(file)) {
+            read = input.readNBytes(magic, 0, magic.length);
+        }
+        List<GameRecord> games = new ArrayList<>();
+        if (read == magic.length && ByteBuffer.wrap(magic).getInt() == GameRecordWriter.MAGIC) {
+            try (GameRecordReader reader = new GameRecordReader(file)) {
+                reader.forEach(games::add);
+            }
+            return games;
+        }
+
+        String text = Files.readString(file, StandardCharsets.US_ASCII);
+        if (text.indexOf(FileLogSink.LINE_SEPARATOR) < 0) {
+            games.add(GameLogParser.parse(text));
+            return games;
+        }
+        for (String line : text.split("\n")) {
+            if (!line.isBlank()) {
+                games.add(GameLogParser.parse(line));
+            }
+        }
+        return games;
+    }
+
+    /**
+     Usage: GameReplayer table.properties file...
+     Prints every game that diverges and a summary
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: GameReplayer <table properties> <record or log file>...");
+            return;
+        }
+        GameReplayer replayer = new GameReplayer(SelfPlaySimulator.loadProperties(args[0]));
+        long start = System.nanoTime();
+        int games = 0;
+        int diverged = 0;
+        for (int f = 1; f < args.length; f++) {
+            List<GameRecord> records = readGames(Path.of(args[f]));
+            for (int i = 0; i < records.size(); i++, games++) {
+                ReplayResult result = replayer.replay(records.get(i));
+                if (!result.isMatching()) {
+                    diverged++;
+                    System.out.println(args[f] + " game " + i + ": " + result);
+                }
+            }
+        }
+        System.out.printf("Replayed %d games in %.2fs, %d diverged%n", games, (System.nanoTime() - start) / 1e9, diverged);
+    }
+}
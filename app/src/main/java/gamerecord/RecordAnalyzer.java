@@ -0,0 +1,51 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+import simulation.SimulationStats;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ The statistics of a record file, the same as the self-play simulator prints
+
+ Nothing is played again: the bids, melds and scores are in the records and
+ the trick points come from the plays. The time is the time of the scan
+ */
+public class RecordAnalyzer {
+
+    public static SimulationStats analyze(GameRecordReader reader) {
+        long start = System.nanoTime();
+        SimulationStats stats = new SimulationStats(GameRecord.NB_PLAYERS);
+        int[] meldScores = new int[GameRecord.NB_PLAYERS];
+        int[] trickPoints = new int[GameRecord.NB_PLAYERS];
+        int[] finalScores = new int[GameRecord.NB_PLAYERS];
+        reader.forEach(record -> {
+            for (int i = 0; i < GameRecord.NB_PLAYERS; i++) {
+                meldScores[i] = record.getMeldScore(i);
+                trickPoints[i] = record.getTrickPoints(i);
+                finalScores[i] = record.getFinalScore(i);
+            }
+            stats.recordGame(record.getFirstBidder(), record.getBidWinner(), record.getFinalBid(), meldScores, trickPoints,
+                    finalScores, record.getWinners());
+        });
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    // Usage: RecordAnalyzer games.rec
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RecordAnalyzer <record file>");
+            return;
+        }
+        try (GameRecordReader reader = new GameRecordReader(Path.of(args[0]))) {
+            System.out.print(analyze(reader));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package gamerecord;
+
+/**
+ The outcome of playing a recorded game again
+
+ A game diverges at its first move (bid, trump or card) that the rules do not
+ allow, that a checked controller would not make, or at the end when the scores
+ are not the recorded ones. Moves are counted from 0 in the order they were made
+ */
+public final class ReplayResult {
+    public static final int END_OF_GAME = -1;
+
+    private final boolean matching;
+    private final int move;
+    private final String message;
+
+    private ReplayResult(boolean matching, int move, String message) {
+        this.matching = matching;
+        this.move = move;
+        this.message = message;
+    }
+
+    static ReplayResult matching(int moves) {
+        return new ReplayResult(true, moves, "");
+    }
+
+    static ReplayResult divergence(int move, String message) {
+        return new ReplayResult(false, move, message);
+    }
+
+    // True when every move and the result are the recorded ones
+    public boolean isMatching() {
+        return matching;
+    }
+
+    // The move that diverged (END_OF_GAME for the result), or the number of moves when matching
+    public int getMove() {
+        return move;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        if (matching) {
+            return "Matching (" + move + " moves)";
+        }
+        return (move == END_OF_GAME ? "Diverged at the end: " : "Diverged at move " + move + ": ") + message;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package meld;
+
+import core.CardSet;
+
+import java.util.List;
+
+/**
+ The original search: try every checker at every step
+ It visits the same combinations many times in different orders, it is kept
+ as the reference the memoized search is checked against
+ */
+public class BacktrackingMeldOptimizer implements MeldOptimizer {
+
+    @Override
+    public int findBestScore(List<MeldChecker> checkers, CardSet cards, String trumpSuit) {
+        return findOptimalCombination(checkers, cards, trumpSuit, 0);
+    }
+
+    /**
+     The core implementation of the backtracking algorithm: Recursive search for the optimal combination
+     * @param availableCards Currently available cards
+     * @param currentScore The score has been obtained currently
+     * @return the maximum score that can be obtained from the current state
+     */
+    private int findOptimalCombination(List<MeldChecker> checkers, CardSet availableCards,
+                                       String trumpSuit, int currentScore) {
+
+        int bestScore =currentScore; // Baseline situation: The current score is a possible result
+
+        // Try each combination card checker
+        for (MeldChecker checker : checkers) {
+            if (checker.canFormMeld(availableCards, trumpSuit)) {
+                // Select this combination of cards
+                CardSet remainingCards =
+                        checker.removeUsedCards(availableCards, trumpSuit);
+                // Recursively search for the optimal combination of the remaining cards
+                int totalScore = findOptimalCombination(checkers, remainingCards, trumpSuit,
+                        currentScore+checker.getScore());
+                // Update the optimal score
+                if (totalScore > bestScore) {bestScore = totalScore;}
+            }
+        }
+        return bestScore;
+    }
+}
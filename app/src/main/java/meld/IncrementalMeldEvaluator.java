@@ -0,0 +1,141 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package meld;
+
+import core.CardSet;
+import core.PlayingCard;
+
+import java.util.List;
+
+/**
+ Keep the best meld score of a hand up to date while cards come and go
+ Responsibility: In cut-throat mode the hand changes one card at a time and a
+ discard decision compares many hands that differ by one or two cards, this
+ answers those questions without searching every hand from the start
+
+ Two things make a change cheap:
+ - the search results are kept between hands, a state (remaining cards, first
+   checker) means the same thing whatever hand it came from, so a changed hand
+   only searches the states it has not seen before
+ - the cards not used by the best combinations are "free": dropping free cards
+   keeps the same combinations, so the score does not change and no search is
+   needed at all
+
+ Not thread safe, every player or strategy call uses its own evaluator
+ */
+public final class IncrementalMeldEvaluator {
+    // Start again when the remembered states take too much memory
+    private static final int MAX_REMEMBERED_STATES = 1 << 16;
+
+    private final List<MeldChecker> checkers;
+    private final String trumpSuit;
+    private final MeldMemo memo = new MeldMemo();
+    private final MeldSearch search;
+    private CardSet hand;
+    private int score;
+    private CardSet freeCards;
+
+    /**
+     * @param checkers the combinations, such as MeldAnalyzer.getAvailableMelds()
+     * @param trumpSuit the trump suit
+     * @param hand the starting hand
+     */
+    public IncrementalMeldEvaluator(List<MeldChecker> checkers, String trumpSuit, CardSet hand) {
+        this.checkers = List.copyOf(checkers);
+        this.trumpSuit = trumpSuit;
+        this.search = newSearch();
+        setHand(hand);
+    }
+
+    public IncrementalMeldEvaluator(MeldAnalyzer analyzer, String trumpSuit, List<PlayingCard> hand) {
+        this(analyzer.getAvailableMelds(), trumpSuit, CardSet.of(hand));
+    }
+
+    private MeldSearch newSearch() {
+        // Every state (from checker 0 on) goes to the memo kept by this evaluator
+        return new MeldSearch(checkers, trumpSuit, 0, memo);
+    }
+
+    /**
+     * Change the current hand
+     */
+
+    public void add(PlayingCard card) {
+        setHand(hand.with(card));
+    }
+
+    public void remove(PlayingCard card) {
+        // Dropping a free card keeps the same combinations
+        if (freeCards.contains(card)) {
+            hand = hand.without(card);
+            freeCards = freeCards.without(card);
+            return;
+        }
+        setHand(hand.without(card));
+    }
+
+    public void setHand(CardSet newHand) {
+        if (memo.size() > MAX_REMEMBERED_STATES) {
+            memo.clear();
+        }
+        hand = newHand;
+        score = search.best(newHand, 0);
+        freeCards = newHand.minus(search.usedCards(newHand));
+    }
+
+    /**
+     * Look at a changed hand without changing the current one
+     */
+
+    /**
+     The best score after adding and dropping some cards
+     @param added cards to add, may be empty
+     @param dropped cards to drop, may be empty
+     @return the best meld score of the changed hand
+     */
+    public int scoreWith(CardSet added, CardSet dropped) {
+        if (added.isEmpty() && freeCards.containsAll(dropped)) {
+            return score;
+        }
+        if (memo.size() > MAX_REMEMBERED_STATES) {
+            memo.clear();
+        }
+        return search.best(hand.plus(added).minus(dropped), 0);
+    }
+
+    // The best score after swapping one card: add X, drop Y
+    public int scoreWith(PlayingCard added, PlayingCard dropped) {
+        return scoreWith(CardSet.of(added), CardSet.of(dropped));
+    }
+
+    // The best score after dropping some cards
+    public int scoreWithout(PlayingCard... dropped) {
+        return scoreWith(CardSet.EMPTY, CardSet.of(dropped));
+    }
+
+    // Whether the card can be dropped without losing any meld points
+    public boolean isFree(PlayingCard card) {
+        return freeCards.contains(card);
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public CardSet getHand() {
+        return hand;
+    }
+
+    public String getTrumpSuit() {
+        return trumpSuit;
+    }
+
+    // The combinations of the current best score
+    public List<MeldChecker> getMelds() {
+        return search.chosenMelds(hand);
+    }
+}
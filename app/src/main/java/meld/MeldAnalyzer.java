@@ -6,7 +6,8 @@
  */
 package meld;
 
-import ch.aplu.jcardgame.Card;
+import core.CardSet;
+import core.PlayingCard;
 import java.util.*;
 
 /**
@@ -14,21 +15,42 @@ import java.util.*;
  Responsibility: Specifically implement the algorithm logic for finding the optimal combination
  */
 public class MeldAnalyzer {
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
     private final List<MeldChecker> checkers;
+    private final MeldOptimizer optimizer;
+    private final MeldScoreCache scoreCache;
+    // The four trump pass needs the memoized search whatever "melds.optimizer" says
+    private final MemoizedMeldOptimizer allTrumpOptimizer = new MemoizedMeldOptimizer();
 
     /**
      * Constructor: Initialized through the configuration file
      * @param jsonFile JSON configuration file path
+     * "melds.optimizer" picks the search: "memoized" (default) or "backtracking"
+     * "melds.cache.size" is the number of hands whose score is kept (0 turns the cache off)
      */
     public MeldAnalyzer(String jsonFile, Properties properties) {
         this.checkers = MeldConfigManager.loadCheckers(jsonFile, properties);
+        this.optimizer = MeldOptimizer.fromName(properties.getProperty("melds.optimizer", "memoized"));
+        this.scoreCache = new MeldScoreCache(Integer.parseInt(
+                properties.getProperty("melds.cache.size", String.valueOf(DEFAULT_CACHE_SIZE))));
     }
 
     /**
      * Constructor: Initialize directly using the inspector list
      * @param checkers List of pre-configured checkers
      */
-    public MeldAnalyzer(List<MeldChecker> checkers){this.checkers = new ArrayList<>(checkers);}
+    public MeldAnalyzer(List<MeldChecker> checkers){this(checkers, new MemoizedMeldOptimizer());}
+
+    public MeldAnalyzer(List<MeldChecker> checkers, MeldOptimizer optimizer){
+        this(checkers, optimizer, new MeldScoreCache(DEFAULT_CACHE_SIZE));
+    }
+
+    public MeldAnalyzer(List<MeldChecker> checkers, MeldOptimizer optimizer, MeldScoreCache scoreCache){
+        this.checkers = new ArrayList<>(checkers);
+        this.optimizer = optimizer;
+        this.scoreCache = scoreCache;
+    }
 
     /**
      Calculate the optimal combination score of the given cards
@@ -36,34 +58,60 @@ public class MeldAnalyzer {
      * @param cards player hand cards
      @return the total score of the optimal combination
      */
-    public int calculateBestScore(List<Card> cards, String trumpSuit) {
-        return findOptimalCombination(new ArrayList<>(cards),trumpSuit,0);
+    public int calculateBestScore(List<PlayingCard> cards, String trumpSuit) {
+        return calculateBestScore(CardSet.of(cards), trumpSuit);
+    }
+
+    // The same hand is asked for again and again while bidding, so the score is cached
+    public int calculateBestScore(CardSet cards, String trumpSuit) {
+        return scoreCache.getOrCompute(cards, trumpSuit,
+                () -> optimizer.findBestScore(checkers, cards, trumpSuit));
     }
 
     /**
-     The core implementation of the backtracking algorithm: Recursive search for the optimal combination
-     * @param availableCards Currently available cards
-     * @param currentScore The score has been obtained currently
-     * @return the maximum score that can be obtained from the current state
+     Find the best combinations for every trump suit in one pass
+     The combinations that do not depend on the trump are only searched once,
+     so this is much cheaper than four calls of calculateBestScore.
+     The scores are also put into the score cache
+     @param cards player hand cards
+     @return the result for "S", "H", "D" and "C", in this order
      */
-    private int findOptimalCombination(List<Card> availableCards, String trumpSuit, int currentScore) {
+    public List<MeldResult> analyzeAllTrumps(List<PlayingCard> cards) {
+        return analyzeAllTrumps(CardSet.of(cards));
+    }
 
-        int bestScore =currentScore; // Baseline situation: The current score is a possible result
+    public List<MeldResult> analyzeAllTrumps(CardSet cards) {
+        List<MeldResult> results = allTrumpOptimizer.findBestForAllTrumps(checkers, cards);
+        for (MeldResult result : results) {
+            scoreCache.put(cards, result.getTrumpSuit(), result.getScore());
+        }
+        return results;
+    }
 
-        // Try each combination card checker
-        for (MeldChecker checker : checkers) {
-            if (checker.canFormMeld(availableCards, trumpSuit)) {
-                // Select this combination of cards
-                List<Card> remainingCards =
-                        checker.removeUsedCards(availableCards, trumpSuit);
-                // Recursively search for the optimal combination of the remaining cards
-                int totalScore = findOptimalCombination(remainingCards, trumpSuit,
-                        currentScore+checker.getScore());
-                // Update the optimal score
-                if (totalScore > bestScore) {bestScore = totalScore;}
+    /**
+     The best meld score of every trump, for "S", "H", "D" and "C" in this order
+     Bidding asks for the same hand on every round, so the scores come from the
+     score cache, the four trump pass only runs when one of them is not kept
+     @param cards player hand cards
+     @return the score of each trump, by suit index
+     */
+    public int[] calculateAllTrumpScores(CardSet cards) {
+        int[] scores = new int[CardSet.SUIT_COUNT];
+        for (int suit = 0; suit < scores.length; suit++) {
+            scores[suit] = scoreCache.get(cards, CardSet.suitShortHand(suit));
+            if (scores[suit] == MeldScoreCache.UNKNOWN) {
+                List<MeldResult> results = analyzeAllTrumps(cards);
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = results.get(i).getScore();
+                }
+                break;
             }
         }
-        return bestScore;
+        return scores;
+    }
+
+    public MeldScoreCache getScoreCache() {
+        return scoreCache;
     }
 
     /**
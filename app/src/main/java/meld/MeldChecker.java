@@ -6,9 +6,9 @@
  */
 package meld;
 
-import ch.aplu.jcardgame.Card;
+import core.CardSet;
+import core.PlayingCard;
 import core.Rank;
-import core.Suit;
 
 import java.util.*;
 
@@ -24,6 +24,11 @@ public class MeldChecker {
     private final int score;   // Combination card score
     private final String cardPattern;// Card mode string
 
+    // The pattern compiled once for each trump suit (index of CardSet.suitIndex),
+    // null when no hand can ever hold the cards for that trump
+    private final CardSet[] requiredByTrump = new CardSet[CardSet.SUIT_COUNT];
+    private boolean usesTrump = false;
+
     /**
      Constructor
      * @param name Combination card names, such as "Double Run"
@@ -36,6 +41,12 @@ public class MeldChecker {
         this.name = name;
 
         this.cardPattern = cardPattern;
+
+        // Compile the pattern once, the search only looks the result up
+        List<PatternPart> parts = parsePattern();
+        for (int trump = 0; trump < CardSet.SUIT_COUNT; trump++) {
+            requiredByTrump[trump] = compileRequiredCards(parts, CardSet.suitShortHand(trump));
+        }
     }
 
     /**
@@ -43,10 +54,18 @@ public class MeldChecker {
      * @param cards Available card list
      * @return Can form a combo card
      */
-    public boolean canFormMeld(List<Card> cards, String trumpSuit) {
-        List<String> requiredCards = parseRequiredCards(trumpSuit);
-        return hasAllRequiredCards(cards,
-                requiredCards);
+    public boolean canFormMeld(List<PlayingCard> cards, String trumpSuit) {
+        return canFormMeld(CardSet.of(cards), trumpSuit);
+    }
+
+    /**
+     Check whether this combination of cards can be formed
+     * @param cards Available cards
+     * @return Can form a combo card
+     */
+    public boolean canFormMeld(CardSet cards, String trumpSuit) {
+        CardSet requiredCards = getRequiredCards(trumpSuit);
+        return requiredCards != null && cards.containsAll(requiredCards);
     }
 
     /**
@@ -54,21 +73,60 @@ public class MeldChecker {
      * @param cards Original card list
      * @return removes the remaining card list after using the card
      */
-    public List<Card> removeUsedCards(List<Card> cards, String trumpSuit) {
+    public List<PlayingCard> removeUsedCards(List<PlayingCard> cards, String trumpSuit) {
         if (!canFormMeld(cards, trumpSuit)){
             return  new ArrayList<>(cards);
         }
 
-        List<String> requiredCards = parseRequiredCards(trumpSuit);
-        return removeCardsFromList(cards,requiredCards);
+        // Remove the first copies found, keep the order of the rest
+        CardSet toRemove = getRequiredCards(trumpSuit);
+        List<PlayingCard> result = new ArrayList<>();
+        for (PlayingCard card : cards) {
+            if (toRemove.contains(card)) {
+                toRemove = toRemove.without(card);
+            } else {result.add(card); } // Keep unused cards
+        }
+        return result;
     }
 
     /**
-     Parse the card pattern string and generate the required card list
-     @return required card names list
+     Remove the cards used to form the combination
+     * @param cards Original cards
+     * @return the remaining cards, or the same cards if the combination cannot be formed
      */
-    private List<String> parseRequiredCards(String trumpSuit) {
-        List<String> requiredCards = new ArrayList<>();
+    public CardSet removeUsedCards(CardSet cards, String trumpSuit) {
+        CardSet requiredCards = getRequiredCards(trumpSuit);
+        if (requiredCards == null || !cards.containsAll(requiredCards)) {
+            return cards;
+        }
+        return cards.minus(requiredCards);
+    }
+
+    /**
+     The cards this combination needs under the given trump
+     Looked up from the patterns compiled in the constructor, nothing is parsed here
+     @return required cards, or null if no hand can ever hold them
+     */
+    public CardSet getRequiredCards(String trumpSuit) {
+        int trump = CardSet.suitIndex(trumpSuit);
+        if (trump >= 0) {
+            return requiredByTrump[trump];
+        }
+        // Without a real trump only the combinations that do not name it can be formed
+        return usesTrump ? null : requiredByTrump[0];
+    }
+
+    // Whether the combination needs the same cards whatever the trump is
+    public boolean isTrumpIndependent() {
+        return !usesTrump;
+    }
+
+    /**
+     Parse the card pattern string into its parts
+     @return the rank, suit and count of every valid pattern unit
+     */
+    private List<PatternPart> parsePattern() {
+        List<PatternPart> result = new ArrayList<>();
 
         // Divide the pattern string (cardPattern) of the combination cards into
         // multiple separate pattern units based on commas (,)
@@ -88,16 +146,39 @@ public class MeldChecker {
                 System.err.println("Invalid count in pattern: " + pattern);
                 continue;
             }
+            if (count <= 0) {continue;}
+            if ("TRUMP".equals(suit)) {usesTrump = true;}
 
+            result.add(new PatternPart(rank, suit, count));
+        }
+        return result;
+    }
+
+    /**
+     Generate the required cards of the pattern for one trump suit
+     @return required cards, or null if no hand can ever hold them
+     (an unknown rank or suit, or more copies than the deck has)
+     */
+    private CardSet compileRequiredCards(List<PatternPart> parts, String trumpSuit) {
+        int[] counts = new int[CardSet.TYPE_COUNT];
+
+        for (PatternPart part : parts) {
             // Handle special pattern marks
-            String actualSuit = resolveSuit(suit, trumpSuit);
+            String actualSuit = resolveSuit(part.suit(), trumpSuit);
+            Rank actualRank = findRank(part.rank());
+            int typeIndex = actualRank == null ? -1 : CardSet.typeIndex(actualSuit, actualRank);
+            if (typeIndex < 0) {return null;}
 
-            // Generate the required card names
-            for (int i =0;i< count;i++) {
-                requiredCards.add(rank +actualSuit);}
+            counts[typeIndex] += part.count();
+            if (counts[typeIndex] > CardSet.MAX_COPIES) {return null;}
         }
 
-        // THE card names list
+        CardSet requiredCards = CardSet.EMPTY;
+        for (int i = 0; i < counts.length; i++) {
+            for (int c = 0; c < counts[i]; c++) {
+                requiredCards = requiredCards.with(i);
+            }
+        }
         return requiredCards;
     }
 
@@ -113,56 +194,16 @@ public class MeldChecker {
     }
 
     /**
-     Check whether all the required cards are included in the card list
-     * @param cards Available card list
-     * @param requiredCards List of required card names
-     * @return Does it include all the required cards
-     */
-    private boolean hasAllRequiredCards(List<Card> cards, List<String> requiredCards) {
-        // Convert the Card object to a string representation
-        List<String> availableCards = new ArrayList<>();
-        for (Card card : cards) {
-            availableCards.add(convertCardToString(card));
-        }
-
-        // Check whether each required card exists (repetition is allowed)
-        List<String> tempRequired = new ArrayList<>(requiredCards);
-        for (String available : availableCards) {
-            tempRequired.remove(available); // Remove the found card (only remove one)
-        }
-
-        return tempRequired.isEmpty(); // If all the required cards have been found, the list should be empty
-    }
-
-    /**
-     Remove the specified card from the card list
-     * @param cards Original card list
-     * @param cardsToRemove List of card names to be removed
-     * @return the list of remaining cards after removing the specified card
+     Find the rank written in the pattern (the rankCardValue, such as "5" for the ace)
+     @return the rank, or null if there is no such rank
      */
-    private List<Card> removeCardsFromList(List<Card> cards, List<String> cardsToRemove) {
-        List<Card> result = new ArrayList<>();
-        List<String> tempCardsToRemove = new ArrayList<>(cardsToRemove);
-
-        for (Card card : cards) {
-            String cardName = convertCardToString(card);
-            if (tempCardsToRemove.contains(cardName)) {
-                tempCardsToRemove.remove(cardName); // Remove a matching card
-            } else {result.add(card); } // Keep unused cards
+    private Rank findRank(String rankCardValue) {
+        for (Rank rank : Rank.values()) {
+            if (String.valueOf(rank.getRankCardValue()).equals(rankCardValue)) {
+                return rank;
+            }
         }
-        return result;
-    }
-
-    /**
-     Convert the Card object to a string representation
-     Reuse the logic in Pinochle in the format: rank + suit
-     @param card Card object
-     @return Card string representation, such as "AH", "KS", "10D"
-     */
-    private String convertCardToString(Card card) {
-        Suit suit = (Suit) card.getSuit();
-        Rank rank = (Rank) card.getRank();
-        return rank.getRankCardValue() + suit.getSuitShortHand();
+        return null;
     }
 
     // Public access method
@@ -178,4 +219,8 @@ public class MeldChecker {
     public String getCardPattern() {
         return cardPattern;
     }
+
+    // One unit of the pattern, such as "5:TRUMP:2"
+    private record PatternPart(String rank, String suit, int count) {
+    }
 }
\ No newline at end of file
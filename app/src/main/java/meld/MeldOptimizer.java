@@ -0,0 +1,39 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package meld;
+
+import core.CardSet;
+
+import java.util.List;
+
+/**
+ The search that picks the best set of combinations from a hand
+ Responsibility: MeldAnalyzer owns the checkers, the optimizer only decides
+ how to search through them, so the search can be swapped (see "melds.optimizer")
+ */
+public interface MeldOptimizer {
+
+    /**
+     Find the highest total score of combinations that can be formed together
+     @param checkers the combinations, every card can only be used once
+     @param cards the hand
+     @param trumpSuit the trump suit
+     @return the best total score
+     */
+    int findBestScore(List<MeldChecker> checkers, CardSet cards, String trumpSuit);
+
+    /**
+     Create the optimizer named in the properties
+     "backtracking" is the original full search, anything else the memoized one
+     */
+    static MeldOptimizer fromName(String name) {
+        if ("backtracking".equalsIgnoreCase(name)) {
+            return new BacktrackingMeldOptimizer();
+        }
+        return new MemoizedMeldOptimizer();
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package meld;
+
+import java.util.List;
+
+/**
+ The best combinations of a hand for one trump suit
+ */
+public class MeldResult {
+    private final String trumpSuit;
+    private final int score;
+    private final List<MeldChecker> melds;
+
+    /**
+     * @param trumpSuit the trump suit, such as "C"
+     * @param score the total score of the combinations
+     * @param melds the combinations chosen, a combination is listed twice if it is formed twice
+     */
+    public MeldResult(String trumpSuit, int score, List<MeldChecker> melds) {
+        this.trumpSuit = trumpSuit;
+        this.score = score;
+        this.melds = List.copyOf(melds);
+    }
+
+    public String getTrumpSuit() {
+        return trumpSuit;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public List<MeldChecker> getMelds() {
+        return melds;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(trumpSuit).append(": ").append(score);
+        for (MeldChecker meld : melds) {
+            sb.append(", ").append(meld.getName());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package meld;
+
+import core.CardSet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ Remember the best meld score of recently seen hands
+ Responsibility: The bidding asks for the score of the same hand on every bidding
+ round and the engine asks again when melding, this keeps the answers
+
+ The key is the hand as a CardSet (so the order of the cards and which copy is
+ held do not matter) plus the trump suit. The oldest unused entry is dropped
+ once the cache is full. All methods can be called from several threads
+ */
+public class MeldScoreCache {
+    public static final int UNKNOWN = -1;
+
+    // asLong() leaves bits 24..31 free, the trump goes there
+    private static final int TRUMP_SHIFT = CardSet.TYPE_COUNT;
+    private static final int NO_TRUMP = CardSet.SUIT_COUNT;
+
+    private final int capacity;
+    private final Map<Long, Integer> scores;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param capacity the most hands kept, 0 keeps nothing
+     */
+    public MeldScoreCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        // Access order, so the eldest entry is the least recently used one
+        this.scores = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > MeldScoreCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     Get the score of the hand, or calculate and remember it
+     The calculation runs outside the lock, two threads may both calculate
+     the same hand, they get the same score anyway
+     @param cards the hand
+     @param trumpSuit the trump suit
+     @param calculator calculates the score when it is not known
+     @return the best meld score
+     */
+    public int getOrCompute(CardSet cards, String trumpSuit, IntSupplier calculator) {
+        if (capacity == 0) {
+            misses.incrementAndGet();
+            return calculator.getAsInt();
+        }
+
+        long key = key(cards, trumpSuit);
+        Integer score;
+        synchronized (scores) {
+            score = scores.get(key);
+        }
+        if (score != null) {
+            hits.incrementAndGet();
+            return score;
+        }
+
+        misses.incrementAndGet();
+        int calculated = calculator.getAsInt();
+        synchronized (scores) {
+            scores.put(key, calculated);
+        }
+        return calculated;
+    }
+
+    /**
+     Look the score up without calculating it, counted as a hit or a miss
+     @return the kept score, or UNKNOWN
+     */
+    public int get(CardSet cards, String trumpSuit) {
+        Integer score = null;
+        if (capacity > 0) {
+            long key = key(cards, trumpSuit);
+            synchronized (scores) {
+                score = scores.get(key);
+            }
+        }
+        if (score == null) {
+            misses.incrementAndGet();
+            return UNKNOWN;
+        }
+        hits.incrementAndGet();
+        return score;
+    }
+
+    // Remember a score found some other way, such as the four trump pass of MeldAnalyzer
+    public void put(CardSet cards, String trumpSuit, int score) {
+        if (capacity == 0) {
+            return;
+        }
+        long key = key(cards, trumpSuit);
+        synchronized (scores) {
+            scores.put(key, score);
+        }
+    }
+
+    // Any trump that is not a real suit gives the same melds, so they share one key
+    private static long key(CardSet cards, String trumpSuit) {
+        int trump = CardSet.suitIndex(trumpSuit);
+        long trumpIndex = trump < 0 ? NO_TRUMP : trump;
+        return cards.asLong() | (trumpIndex << TRUMP_SHIFT);
+    }
+
+    public void clear() {
+        synchronized (scores) {
+            scores.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (scores) {
+            return scores.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // Part of the lookups answered from the cache
+    public double getHitRate() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0 : (double) getHits() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MeldScoreCache[size=%d/%d, hits=%d, misses=%d]",
+                size(), capacity, getHits(), getMisses());
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package meld;
+
+import core.CardSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ The memoized combination search for one trump
+ The state is (remaining cards, first checker allowed), checkers are only
+ taken in non-decreasing index order. States from sharedFrom onwards only use
+ checkers that do not need the trump, they go to the memo shared between
+ the trumps (see MemoizedMeldOptimizer.findBestForAllTrumps)
+ */
+class MeldSearch {
+    // asLong() leaves bits 24..31 free, the checker index goes there
+    private static final int INDEX_SHIFT = CardSet.TYPE_COUNT;
+    static final int MAX_CHECKERS = 1 << (32 - CardSet.TYPE_COUNT);
+
+    private final List<MeldChecker> checkers;
+    private final CardSet[] required;
+    private final int[] scores;
+    private final int sharedFrom;
+    private final MeldMemo memo = new MeldMemo();
+    private final MeldMemo sharedMemo;
+
+    MeldSearch(List<MeldChecker> checkers, String trumpSuit, int sharedFrom, MeldMemo sharedMemo) {
+        // Look the patterns up once for this trump, null for the ones that can never match
+        this.checkers = checkers;
+        this.required = new CardSet[checkers.size()];
+        this.scores = new int[checkers.size()];
+        for (int i = 0; i < required.length; i++) {
+            CardSet requiredCards = checkers.get(i).getRequiredCards(trumpSuit);
+            required[i] = requiredCards == null || requiredCards.isEmpty() ? null : requiredCards;
+            scores[i] = checkers.get(i).getScore();
+        }
+        this.sharedFrom = sharedFrom;
+        this.sharedMemo = sharedMemo;
+    }
+
+    /**
+     Best score of the remaining cards using checkers from firstChecker onwards
+     */
+    int best(CardSet cards, int firstChecker) {
+        MeldMemo stateMeldMemo = firstChecker >= sharedFrom ? sharedMemo : memo;
+        long key = cards.asLong() | ((long) firstChecker << INDEX_SHIFT);
+        int known = stateMeldMemo.get(key);
+        if (known >= 0) {
+            return known;
+        }
+
+        int bestScore = 0;
+        for (int i = firstChecker; i < required.length; i++) {
+            if (required[i] != null && cards.containsAll(required[i])) {
+                // Same index again: the checker may be used a second time
+                int totalScore = scores[i] + best(cards.minus(required[i]), i);
+                if (totalScore > bestScore) {bestScore = totalScore;}
+            }
+        }
+
+        stateMeldMemo.put(key, bestScore);
+        return bestScore;
+    }
+
+    // The cards used by the chosen combinations
+    CardSet usedCards(CardSet cards) {
+        CardSet used = CardSet.EMPTY;
+        for (MeldChecker meld : chosenMelds(cards)) {
+            used = used.plus(getRequired(meld));
+        }
+        return used;
+    }
+
+    private CardSet getRequired(MeldChecker meld) {
+        return required[checkers.indexOf(meld)];
+    }
+
+    // Walk the remembered scores again to find the combinations of the best score
+    List<MeldChecker> chosenMelds(CardSet cards) {
+        List<MeldChecker> melds = new ArrayList<>();
+        int firstChecker = 0;
+        int remainingScore = best(cards, 0);
+        while (remainingScore > 0) {
+            for (int i = firstChecker; i < required.length; i++) {
+                if (required[i] != null && cards.containsAll(required[i])
+                        && scores[i] + best(cards.minus(required[i]), i) == remainingScore) {
+                    melds.add(checkers.get(i));
+                    cards = cards.minus(required[i]);
+                    remainingScore -= scores[i];
+                    firstChecker = i;
+                    break;
+                }
+            }
+        }
+        return melds;
+    }
+}
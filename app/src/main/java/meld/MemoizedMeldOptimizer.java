@@ -0,0 +1,75 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package meld;
+
+import core.CardSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ Dynamic programming version of the combination search
+
+ Two things make it much faster than the backtracking search:
+ - checkers are only taken in non-decreasing index order, so taking marriage A
+   then B is not explored again as B then A (the same checker can still be
+   taken twice, for the double copies)
+ - the best score from a state (remaining cards, first allowed checker) is
+   remembered, the remaining cards are a CardSet so the state is one long
+
+ Both give the same best score, only the number of visited states differs
+ */
+public class MemoizedMeldOptimizer implements MeldOptimizer {
+    private static final int MAX_INDEXED_CHECKERS = MeldSearch.MAX_CHECKERS;
+
+    @Override
+    public int findBestScore(List<MeldChecker> checkers, CardSet cards, String trumpSuit) {
+        if (checkers.size() >= MAX_INDEXED_CHECKERS) {
+            // Too many checkers to pack the index into the key
+            return new BacktrackingMeldOptimizer().findBestScore(checkers, cards, trumpSuit);
+        }
+        return new MeldSearch(checkers, trumpSuit, checkers.size(), new MeldMemo()).best(cards, 0);
+    }
+
+    /**
+     Find the best combinations for all four trump suits in one pass
+
+     The checkers that need the trump are searched first and the ones that do
+     not (Aces Around, Pinochle, marriages of a fixed suit ...) last. Once only
+     the second group is left, the state does not depend on the trump, so those
+     results are shared by the four searches instead of being found four times
+     @param checkers the combinations
+     @param cards the hand
+     @return the result for "S", "H", "D" and "C", in this order
+     */
+    public List<MeldResult> findBestForAllTrumps(List<MeldChecker> checkers, CardSet cards) {
+        List<MeldChecker> ordered = new ArrayList<>();
+        for (MeldChecker checker : checkers) {
+            if (!checker.isTrumpIndependent()) {ordered.add(checker);}
+        }
+        int sharedFrom = ordered.size();
+        for (MeldChecker checker : checkers) {
+            if (checker.isTrumpIndependent()) {ordered.add(checker);}
+        }
+
+        List<MeldResult> results = new ArrayList<>(CardSet.SUIT_COUNT);
+        MeldMemo sharedMemo = new MeldMemo();
+        for (int trump = 0; trump < CardSet.SUIT_COUNT; trump++) {
+            String trumpSuit = CardSet.suitShortHand(trump);
+            if (ordered.size() >= MAX_INDEXED_CHECKERS) {
+                // Too many checkers to pack the index into the key, only the score is known
+                int score = new BacktrackingMeldOptimizer().findBestScore(checkers, cards, trumpSuit);
+                results.add(new MeldResult(trumpSuit, score, List.of()));
+                continue;
+            }
+            MeldSearch search = new MeldSearch(ordered, trumpSuit, sharedFrom, sharedMemo);
+            int score = search.best(cards, 0);
+            results.add(new MeldResult(trumpSuit, score, search.chosenMelds(cards)));
+        }
+        return results;
+    }
+}
@@ -6,20 +6,28 @@
  */
 package protocolframework.Request;
 
+import ai.Deadline;
 import data.GameDataSnapshot;
 import protocolframework.decision.Decision;
 import protocolframework.DecisionType;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /*
  * It is used to encapsulate all the input information needed when the AI makes decisions.
  * It is the standardized request interface of the AI decision-making system.
  *
+ * A request can carry a deadline. A strategy that searches should stop by then,
+ * and it can publish the best decision it has found so far, which is used when
+ * the strategy is not finished in time.
  */
 public abstract class DecisionRequest<T extends Decision> {
     protected final GameDataSnapshot
             snapshot; // FOR Game status/snapshot information
     protected final DecisionType type; // Tell the AI system what type of decision request this is
     protected final int playerIndex;
+    private volatile Deadline deadline = Deadline.NONE; // When the decision has to be ready
+    private final AtomicReference<T> bestSoFar = new AtomicReference<>();
 
     protected DecisionRequest(GameDataSnapshot snapshot, DecisionType type,
                               int playerIndex) {
@@ -39,6 +47,23 @@ public abstract class DecisionRequest<T extends Decision> {
     public int getPlayerIndex() {
         return playerIndex;
     }
-}
 
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    // Only makes the deadline earlier, a caller can not give more time than it was given
+    public void restrictDeadline(Deadline deadline) {
+        this.deadline = this.deadline.min(deadline);
+    }
 
+    // Called by a strategy (from any thread) whenever it has a better decision
+    public void publishBestSoFar(T decision) {
+        bestSoFar.set(decision);
+    }
+
+    // The last published decision, null if there is none
+    public T getBestSoFar() {
+        return bestSoFar.get();
+    }
+}
@@ -5,7 +5,7 @@
  * Yudong Luan 1362030
  */
 package protocolframework.Request;
-import ch.aplu.jcardgame.Card;
+import core.PlayingCard;
 import data.GameDataSnapshot;
 import protocolframework.DecisionType;
 import protocolframework.decision.GeneralCardDecision;
@@ -20,16 +20,16 @@ import java.util.List;
  discarding cards, playing cards, etc., all of which can be satisfied by this interface
  */
 public class GeneralCardDecisionRequest extends DecisionRequest<GeneralCardDecision> {
-    private final List<Card> availableCards;
+    private final List<PlayingCard> availableCards;
 
     public GeneralCardDecisionRequest(GameDataSnapshot snapshot,
                                       DecisionType type, int playerIndex,
-                                      List<Card> availableCards) {
+                                      List<PlayingCard> availableCards) {
         super(snapshot, type, playerIndex);
         this.availableCards = new ArrayList<>(availableCards);
     }
 
-    public List<Card> getAvailableCards() {
+    public List<PlayingCard> getAvailableCards() {
         return new ArrayList<>(availableCards);
     }
 }
\ No newline at end of file
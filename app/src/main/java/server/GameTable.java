@@ -0,0 +1,242 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package server;
+
+import ai.AIBuilder;
+import ai.ParallelRootEvaluator;
+import core.CardSet;
+import core.PlayingCard;
+import data.GameDataSnapshot;
+import engine.AIPlayerController;
+import engine.CutThroatPhaseHook;
+import engine.EnginePhase;
+import engine.PinochleEngine;
+import engine.PlayerController;
+import meld.MeldAnalyzer;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ One game of a TableManager
+
+ The table owns everything of its game: the engine, its Random and an AI for
+ every seat without a client. Only read-only or thread safe parts come from
+ the manager and are shared with the other tables: the meld analyzer (the
+ meld definitions and the score cache) and the search workers of the AIs
+
+ The game moves on in small tasks on the workers of the manager, one move
+ per task, so thousands of tables take turns on a few threads:
+ - a seat without client is played by the AI, and the next move is scheduled
+ - a seat with a client gets onTurn, and the table stops. No thread waits,
+   the submitted move of the client schedules the next task
+ All the work on one table is done under its lock, so the moves of a table
+ are applied one at a time whatever thread they come from
+
+ The cut-throat mode is only played at tables without clients: its choices
+ are made while the engine changes phase, where the table can not wait
+ */
+public class GameTable {
+    private final long id;
+    private final PinochleEngine engine;
+    private final TableClient[] clients;
+    private final PlayerController[] controllers;
+    private final Executor workers;
+    private final Consumer<GameTable> onClosed;
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private int waitingSeat = -1;
+
+    GameTable(long id, Properties properties, TableClient[] clients, Random random, MeldAnalyzer meldAnalyzer,
+              ParallelRootEvaluator rootEvaluator, Executor workers, Consumer<GameTable> onClosed) {
+        this.id = id;
+        this.clients = clients.clone();
+        this.workers = workers;
+        this.onClosed = onClosed;
+
+        boolean isCutThroat = Boolean.parseBoolean(properties.getProperty("mode.cutthroat", "false"));
+        if (isCutThroat && hasClient()) {
+            // The cut-throat choices are made in the middle of selectTrump, the table can not stop there for a client
+            throw new IllegalArgumentException("The cut-throat mode is only played by the AI, not with a client seat");
+        }
+
+        this.engine = new PinochleEngine(properties, meldAnalyzer, random);
+        this.controllers = new PlayerController[PinochleEngine.NB_PLAYERS];
+        for (int seat = 0; seat < controllers.length; seat++) {
+            if (this.clients[seat] == null) {
+                controllers[seat] = new AIPlayerController(new AIBuilder(properties, meldAnalyzer, rootEvaluator)
+                        .configureFromProperties()
+                        .build());
+            }
+        }
+        if (isCutThroat) {
+            engine.addPhaseHook(new CutThroatPhaseHook(controllers));
+        }
+    }
+
+    private boolean hasClient() {
+        for (TableClient client : clients) {
+            if (client != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Deal and play until the first client has to answer
+    void start() {
+        workers.execute(() -> {
+            synchronized (this) {
+                try {
+                    engine.deal();
+                    engine.startBidding();
+                } catch (RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+                step();
+            }
+        });
+    }
+
+    // One move of the AI, or hand the turn over to the client
+    private synchronized void step() {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            EnginePhase phase = engine.getPhase();
+            if (phase == EnginePhase.GAME_END) {
+                finish();
+                return;
+            }
+            int seat = engine.getCurrentPlayer();
+            if (clients[seat] != null) {
+                waitingSeat = seat;
+                clients[seat].onTurn(this, phase, seat, engine.createSnapshot());
+                return;
+            }
+
+            PlayerController controller = controllers[seat];
+            switch (phase) {
+                case BIDDING -> engine.submitBid(seat,
+                        controller.requestBid(engine.createSnapshot(), seat, engine.getCurrentBid()));
+                case TRUMP_SELECTION -> engine.selectTrump(controller.requestTrump(engine.createSnapshot(), seat));
+                case TRICK_TAKING -> engine.playCard(seat,
+                        controller.requestCardPlay(engine.createSnapshot(), seat, engine.getHand(seat)));
+                default -> throw new IllegalStateException("No decision to make in phase " + phase);
+            }
+            // Let the other tables have a go before the next move
+            workers.execute(this::step);
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Moves of the clients
+     * The returned future fails with an IllegalStateException when it is not the
+     * turn of the seat, and with an IllegalArgumentException for a wrong move.
+     * The table keeps waiting for a valid move in both cases
+     */
+
+    public CompletableFuture<Void> submitBid(int seat, int bidIncrement) {
+        return submit(seat, EnginePhase.BIDDING, () -> {
+            if (bidIncrement < 0) {
+                throw new IllegalArgumentException("A bid can not go down: " + bidIncrement);
+            }
+            engine.submitBid(seat, bidIncrement);
+        });
+    }
+
+    public CompletableFuture<Void> selectTrump(int seat, String suit) {
+        return submit(seat, EnginePhase.TRUMP_SELECTION, () -> {
+            if (CardSet.suitIndex(suit) < 0) {
+                throw new IllegalArgumentException("Not a suit: " + suit);
+            }
+            engine.selectTrump(suit);
+        });
+    }
+
+    public CompletableFuture<Void> playCard(int seat, PlayingCard card) {
+        return submit(seat, EnginePhase.TRICK_TAKING, () -> {
+            if (!engine.getHand(seat).contains(card) || !engine.isValidPlay(seat, card)) {
+                throw new IllegalArgumentException(card + " can not be played by seat " + seat);
+            }
+            engine.playCard(seat, card);
+        });
+    }
+
+    private CompletableFuture<Void> submit(int seat, EnginePhase phase, Runnable move) {
+        return CompletableFuture.runAsync(() -> applyMove(seat, phase, move), workers);
+    }
+
+    private synchronized void applyMove(int seat, EnginePhase phase, Runnable move) {
+        if (result.isDone()) {
+            throw new IllegalStateException("Table " + id + " is closed");
+        }
+        if (waitingSeat != seat || engine.getPhase() != phase) {
+            throw new IllegalStateException("Seat " + seat + " can not move in " + phase + " now");
+        }
+        move.run();
+        waitingSeat = -1;
+        step();
+    }
+
+    /**
+     * End of the game
+     */
+
+    // The table leaves the manager before the result completes, so whoever waits for it sees it gone
+    private void finish() {
+        String log = engine.getLogResult();
+        onClosed.accept(this);
+        result.complete(log);
+        for (TableClient client : clients) {
+            if (client != null) {
+                client.onGameOver(this, log);
+            }
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        onClosed.accept(this);
+        result.completeExceptionally(e);
+    }
+
+    // Give up the game, for example when a client has left
+    public synchronized void close() {
+        if (!result.isDone()) {
+            fail(new CancellationException("Table " + id + " was closed"));
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    // Completes with the game log, or fails with what went wrong
+    public CompletableFuture<String> getResult() {
+        return result;
+    }
+
+    public synchronized GameDataSnapshot getSnapshot() {
+        return engine.createSnapshot();
+    }
+
+    public synchronized EnginePhase getPhase() {
+        return engine.getPhase();
+    }
+
+    // The seat whose move the table is waiting for, -1 if none
+    public synchronized int getWaitingSeat() {
+        return waitingSeat;
+    }
+}
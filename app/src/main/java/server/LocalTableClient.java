@@ -0,0 +1,51 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package server;
+
+import data.GameDataSnapshot;
+import engine.EnginePhase;
+import engine.PlayerController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ A client in the same process, it answers every turn with a PlayerController
+
+ With a ScriptedPlayerController it replays a properties script against the
+ server, with an AIPlayerController it is a bot that connects like a human.
+ The answer is submitted like any remote move, so the table goes through the
+ same turn handling as for a real client
+ */
+public class LocalTableClient implements TableClient {
+    private final PlayerController controller;
+    private volatile CompletableFuture<Void> lastMove = CompletableFuture.completedFuture(null);
+
+    public LocalTableClient(PlayerController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void onTurn(GameTable table, EnginePhase phase, int seat, GameDataSnapshot snapshot) {
+        lastMove = switch (phase) {
+            case BIDDING -> table.submitBid(seat, controller.requestBid(snapshot, seat, snapshot.getCurrentBid()));
+            case TRUMP_SELECTION -> table.selectTrump(seat, controller.requestTrump(snapshot, seat));
+            case TRICK_TAKING -> table.playCard(seat,
+                    controller.requestCardPlay(snapshot, seat, snapshot.getPlayerHand(seat)));
+            default -> throw new IllegalStateException("No decision to make in phase " + phase);
+        };
+        // A refused move would leave the table waiting forever, give the game up instead
+        lastMove.exceptionally(e -> {
+            table.close();
+            return null;
+        });
+    }
+
+    // The future of the last submitted move
+    public CompletableFuture<Void> getLastMove() {
+        return lastMove;
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package server;
+
+import data.GameDataSnapshot;
+import engine.EnginePhase;
+
+/**
+ A player sitting at a GameTable, usually a human behind some connection
+
+ The table tells the client that it is its turn and then forgets about it:
+ no thread waits for the answer. The client answers whenever it likes, from
+ any thread, with GameTable.submitBid / selectTrump / playCard
+
+ The callbacks run on the workers of the TableManager, so they must return
+ quickly and must not wait for anything
+ */
+public interface TableClient {
+
+    // It is the turn of the seat in this phase (BIDDING, TRUMP_SELECTION or TRICK_TAKING)
+    void onTurn(GameTable table, EnginePhase phase, int seat, GameDataSnapshot snapshot);
+
+    // The game is over, the log is the same as the one of the engine
+    default void onGameOver(GameTable table, String log) {
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package server;
+
+import ai.ParallelRootEvaluator;
+import engine.HeadlessPinochle;
+import engine.PinochleEngine;
+import meld.MeldAnalyzer;
+import simulation.SelfPlaySimulator;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ Hosts many Pinochle games in one process
+
+ Every table is a GameTable with its own engine, Random and AI. The tables
+ share the workers, a fixed pool: a table uses a worker while it applies
+ a move, never while it waits for a client. So the number of open tables is
+ limited by memory, not by threads
+
+ melds.json is read once for every meld setting (melds.additional,
+ melds.optimizer, melds.cache.size) and the analyzer is shared by all the
+ tables with that setting. The AIs of all tables also share one
+ ParallelRootEvaluator, its pool is stopped by close()
+
+ A seat is given a TableClient (a human, a remote connection, or the
+ LocalTableClient in the same process) or null for the AI. A finished,
+ failed or closed table leaves the manager by itself
+
+ Settings (in the server properties):
+ server.threads  number of workers (default: number of cores)
+ server.seed     base seed, table N plays with SelfPlaySimulator.gameSeed(seed, N) (default 30008)
+ ai.threads      workers of the AI searches, for all tables together (default 1: the
+                 searches run on the table workers, which the tables already keep busy)
+ */
+public class TableManager implements AutoCloseable {
+    public static final String THREADS_KEY = "server.threads";
+    public static final String SEED_KEY = "server.seed";
+
+    private static final String MELD_FILE = "melds.json";
+
+    private final ExecutorService workers;
+    private final long baseSeed;
+    private final ParallelRootEvaluator rootEvaluator;
+    private final AtomicLong nextTableId = new AtomicLong();
+    private final Map<Long, GameTable> tables = new ConcurrentHashMap<>();
+    private final Map<String, MeldAnalyzer> meldAnalyzers = new ConcurrentHashMap<>();
+
+    public TableManager(int threads, long baseSeed) {
+        this(threads, baseSeed, ParallelRootEvaluator.sequential());
+    }
+
+    /**
+     @param rootEvaluator the search workers of every AI, shut down by close()
+     */
+    public TableManager(int threads, long baseSeed, ParallelRootEvaluator rootEvaluator) {
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), task -> {
+            Thread thread = new Thread(task, "table-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.baseSeed = baseSeed;
+        this.rootEvaluator = rootEvaluator;
+    }
+
+    public static TableManager fromProperties(Properties config) {
+        String threadsValue = config.getProperty(THREADS_KEY, "");
+        int threads = threadsValue.isEmpty()
+                ? Runtime.getRuntime().availableProcessors()
+                : Integer.parseInt(threadsValue);
+        long seed = Long.parseLong(config.getProperty(SEED_KEY, String.valueOf(HeadlessPinochle.DEFAULT_SEED)));
+        ParallelRootEvaluator rootEvaluator = config.getProperty(ParallelRootEvaluator.THREADS_KEY, "").isEmpty()
+                ? ParallelRootEvaluator.sequential()
+                : ParallelRootEvaluator.fromProperties(config);
+        return new TableManager(threads, seed, rootEvaluator);
+    }
+
+    /**
+     Open a table and start its game
+     @param properties the game properties, as for the GUI game
+     @param seats the client of every seat, null (or no seats at all) for the AI
+     @return the table, its result completes when the game is over
+     @throws IllegalArgumentException for the cut-throat mode with a client seat, see GameTable
+     */
+    public GameTable openTable(Properties properties, TableClient... seats) {
+        long id = nextTableId.getAndIncrement();
+        return openTable(id, properties, SelfPlaySimulator.gameSeed(baseSeed, id), seats);
+    }
+
+    // The same with the seed of the game, a table with the seed of a HeadlessPinochle deals the same cards
+    public GameTable openTable(Properties properties, long seed, TableClient... seats) {
+        return openTable(nextTableId.getAndIncrement(), properties, seed, seats);
+    }
+
+    private GameTable openTable(long id, Properties properties, long seed, TableClient[] seats) {
+        if (seats.length > PinochleEngine.NB_PLAYERS) {
+            throw new IllegalArgumentException("A table has " + PinochleEngine.NB_PLAYERS + " seats, not " + seats.length);
+        }
+        TableClient[] clients = new TableClient[PinochleEngine.NB_PLAYERS];
+        System.arraycopy(seats, 0, clients, 0, seats.length);
+
+        GameTable table = new GameTable(id, properties, clients, new Random(seed), meldAnalyzerFor(properties),
+                rootEvaluator, workers, closed -> tables.remove(closed.getId()));
+        tables.put(id, table);
+        table.start();
+        return table;
+    }
+
+    // One analyzer for every meld setting, the analyzer is thread safe
+    private MeldAnalyzer meldAnalyzerFor(Properties properties) {
+        String setting = properties.getProperty("melds.additional", "true")
+                + "," + properties.getProperty("melds.optimizer", "memoized")
+                + "," + properties.getProperty("melds.cache.size", String.valueOf(MeldAnalyzer.DEFAULT_CACHE_SIZE));
+        return meldAnalyzers.computeIfAbsent(setting, key -> new MeldAnalyzer(MELD_FILE, properties));
+    }
+
+    // The open table, null if there is none with the id (any more)
+    public GameTable getTable(long id) {
+        return tables.get(id);
+    }
+
+    public Collection<GameTable> getOpenTables() {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    public int getOpenTableCount() {
+        return tables.size();
+    }
+
+    public void closeTable(long id) {
+        GameTable table = tables.get(id);
+        if (table != null) {
+            table.close();
+        }
+    }
+
+    // Closes every open table and stops the workers
+    @Override
+    public void close() {
+        for (GameTable table : tables.values()) {
+            table.close();
+        }
+        workers.shutdownNow();
+        rootEvaluator.shutdown();
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package simulation;
+
+import java.util.List;
+
+/**
+ The outcome of one scenario of the ScenarioRunner
+
+ A scenario passes when its game finished and the log contains every
+ expected text. When the game itself failed, the log is empty and the
+ error says why
+ */
+public final class ScenarioResult {
+    private final String name;
+    private final String log;
+    private final List<String> missingExpectations;
+    private final String error;
+    private final long elapsedNanos;
+
+    ScenarioResult(String name, String log, List<String> missingExpectations, String error, long elapsedNanos) {
+        this.name = name;
+        this.log = log;
+        this.missingExpectations = List.copyOf(missingExpectations);
+        this.error = error;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean isPassed() {
+        return error == null && missingExpectations.isEmpty();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLog() {
+        return log;
+    }
+
+    // The expected texts that are not in the log
+    public List<String> getMissingExpectations() {
+        return missingExpectations;
+    }
+
+    // Why the game could not be played, null if it was
+    public String getError() {
+        return error;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        String status = isPassed() ? "PASS" : "FAIL";
+        String line = String.format("%s %s (%.1f ms)", status, name, elapsedNanos / 1e6);
+        if (error != null) {
+            return line + " error: " + error;
+        }
+        if (!missingExpectations.isEmpty()) {
+            return line + " missing: " + String.join(" | ", missingExpectations);
+        }
+        return line;
+    }
+}
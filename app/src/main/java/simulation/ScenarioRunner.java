@@ -0,0 +1,164 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package simulation;
+
+import engine.HeadlessPinochle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ Play scenario properties files on the headless engine, several at a time
+
+ A scenario is a game properties file like properties/test1.properties, with
+ the texts its log has to contain:
+ scenario.expect.<name>=<text>    e.g. scenario.expect.bid=Bid:1-140
+ scenario.seed=<seed>             the seed of the game (default 30008, as the GUI game)
+
+ Every scenario gets its own HeadlessPinochle: its own engine, AI and meld
+ analyzer, nothing is shared with the other scenarios. The deal and the random
+ draws of the AI all come from scenario.seed, so the scenarios can run on any
+ number of workers and still give the same logs as one by one. Only an AI with
+ a time limit (ai.deadlineMillis, montecarlo.budget.ms) can play differently
+ when the machine is busy
+
+ The results come back in the order the scenarios were given
+ */
+public class ScenarioRunner {
+    public static final String EXPECT_PREFIX = "scenario.expect.";
+    public static final String SEED_KEY = "scenario.seed";
+    public static final String SCENARIO_SUFFIX = ".properties";
+
+    private final int threads;
+
+    public ScenarioRunner(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    // Plays one scenario on the caller thread
+    public static ScenarioResult runScenario(String name, Properties properties) {
+        long start = System.nanoTime();
+        try {
+            long seed = Long.parseLong(properties.getProperty(SEED_KEY, String.valueOf(HeadlessPinochle.DEFAULT_SEED)));
+            String log = new HeadlessPinochle(properties, seed).runApp();
+            List<String> missing = new ArrayList<>();
+            for (String expected : getExpectations(properties)) {
+                if (!log.contains(expected)) {
+                    missing.add(expected);
+                }
+            }
+            return new ScenarioResult(name, log, missing, null, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            return new ScenarioResult(name, "", List.of(), e.toString(), System.nanoTime() - start);
+        }
+    }
+
+    // The expected texts, ordered by their key
+    public static List<String> getExpectations(Properties properties) {
+        TreeMap<String, String> expectations = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(EXPECT_PREFIX)) {
+                expectations.put(key, properties.getProperty(key));
+            }
+        }
+        return new ArrayList<>(expectations.values());
+    }
+
+    /**
+     Play the scenarios on the workers
+     @param scenarios properties paths, read from the file system first, then from the class path
+     @return one result per scenario, in the same order
+     */
+    public List<ScenarioResult> run(List<String> scenarios) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, scenarios.size())));
+        try {
+            List<Future<ScenarioResult>> futures = new ArrayList<>(scenarios.size());
+            for (String scenario : scenarios) {
+                futures.add(pool.submit(() -> loadAndRun(scenario)));
+            }
+            List<ScenarioResult> results = new ArrayList<>(scenarios.size());
+            for (Future<ScenarioResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scenarios interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ScenarioResult loadAndRun(String scenario) {
+        Properties properties;
+        try {
+            properties = SelfPlaySimulator.loadProperties(scenario);
+        } catch (IOException e) {
+            return new ScenarioResult(scenario, "", List.of(), e.getMessage(), 0);
+        }
+        return runScenario(scenario, properties);
+    }
+
+    // A directory stands for all the properties files in it, sorted by name
+    public static List<String> expandPaths(List<String> paths) throws IOException {
+        List<String> scenarios = new ArrayList<>();
+        for (String path : paths) {
+            Path file = Path.of(path);
+            if (!Files.isDirectory(file)) {
+                scenarios.add(path);
+                continue;
+            }
+            try (Stream<Path> files = Files.list(file)) {
+                scenarios.addAll(files.map(Path::toString)
+                        .filter(name -> name.endsWith(SCENARIO_SUFFIX))
+                        .sorted()
+                        .collect(Collectors.toList()));
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     Usage: ScenarioRunner <scenario.properties or directory>...
+     The number of workers is the system property scenario.threads (default: number of cores)
+     Exits with 1 when a scenario fails
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> scenarios = expandPaths(List.of(args));
+        int threads = Integer.getInteger("scenario.threads", Runtime.getRuntime().availableProcessors());
+
+        long start = System.nanoTime();
+        List<ScenarioResult> results = new ScenarioRunner(threads).run(scenarios);
+        long elapsedNanos = System.nanoTime() - start;
+
+        int failed = 0;
+        for (ScenarioResult result : results) {
+            System.out.println(result);
+            if (!result.isPassed()) {
+                failed++;
+            }
+        }
+        System.out.printf("%d scenarios, %d failed, %.1f ms on %d threads%n",
+                results.size(), failed, elapsedNanos / 1e6, threads);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package simulation;
+
+import ai.AIBuilder;
+import ai.GameAI;
+import core.TrickRules;
+import engine.*;
+import gamerecord.GameRecordWriter;
+import gamerecord.GameRecorder;
+import meld.MeldAnalyzer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ Play a large number of AI against AI games on the headless engine
+
+ Each configuration gets its own properties, so two strategy configurations
+ can be compared: configuration 0 is the AI built from the first properties,
+ configuration 1 the AI built from the second. The table rules (melds,
+ cut-throat, bid order) come from the first properties. The configurations
+ change seats every game (configuration 0 sits in seat 0 in the even games and
+ in seat 1 in the odd games), so both open the bidding equally often, and the
+ statistics are kept per configuration: P0 and P1 are the configurations, not
+ the seats
+
+ Every game has its own seed derived from the base seed and the game number.
+ The deal and every random draw of the AIs come from it (the AIs are reseeded
+ before every game), so the result does not depend on how the games are spread
+ over the threads. Only a time limit (ai.deadlineMillis, montecarlo.budget.ms)
+ makes the games depend on the speed of the machine.
+ Every worker builds its own AIs and meld analyzer and keeps its own
+ statistics, so the workers share nothing and scale with the number of cores
+
+ Settings (in the first properties):
+ simulation.games   number of games (default 10000)
+ simulation.threads number of workers (default: number of cores)
+ simulation.seed    base seed (default 30008)
+ simulation.log.file  file for the game logs, one line per game (default: no log)
+ simulation.record.file  file for the binary game records, see gamerecord.GameRecord (default: none)
+ */
+public class SelfPlaySimulator {
+    public static final String MELD_FILE = "melds.json";
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final Properties tableProperties;
+    private final Properties[] playerProperties;
+    private GameLogSink logSink = new NoOpLogSink();
+    private GameRecordWriter recordWriter;
+
+    public SelfPlaySimulator(Properties player0Properties, Properties player1Properties) {
+        this.tableProperties = player0Properties;
+        this.playerProperties = new Properties[]{player0Properties, player1Properties};
+    }
+
+    // Shared by all workers, the simulation does not close it
+    public void setLogSink(GameLogSink logSink) {
+        this.logSink = logSink;
+    }
+
+    // Shared by all workers, the simulation does not close it
+    public void setRecordWriter(GameRecordWriter recordWriter) {
+        this.recordWriter = recordWriter;
+    }
+
+    // The seed of one game, spread out so neighbouring games are not correlated
+    public static long gameSeed(long baseSeed, long gameIndex) {
+        return baseSeed + gameIndex * SEED_STEP;
+    }
+
+    /**
+     Run the games on a pool of workers
+     @param games number of games to play
+     @param threads number of worker threads
+     @param baseSeed the seed of game 0
+     @return the merged statistics
+     */
+    public SimulationStats run(int games, int threads, long baseSeed) {
+        int workerCount = Math.max(1, Math.min(threads, games));
+        ExecutorService pool = Executors.newFixedThreadPool(workerCount);
+        long start = System.nanoTime();
+        try {
+            List<Future<SimulationStats>> futures = new ArrayList<>();
+            for (int w = 0; w < workerCount; w++) {
+                int workerIndex = w;
+                futures.add(pool.submit(() -> runWorker(workerIndex, workerCount, games, baseSeed)));
+            }
+
+            SimulationStats total = new SimulationStats(PinochleEngine.NB_PLAYERS);
+            for (Future<SimulationStats> future : futures) {
+                total.merge(future.get());
+            }
+            total.setElapsedNanos(System.nanoTime() - start);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // The configuration in the seat, they change seats every game
+    private static int configurationInSeat(int seat, long gameIndex) {
+        return seat ^ (int) (gameIndex & 1);
+    }
+
+    // One worker plays every game whose number falls in its stripe
+    private SimulationStats runWorker(int workerIndex, int workerCount, int games, long baseSeed) {
+        MeldAnalyzer tableAnalyzer = new MeldAnalyzer(MELD_FILE, tableProperties);
+        PlayerController[] configurations = new PlayerController[PinochleEngine.NB_PLAYERS];
+        GameAI[] gameAIs = new GameAI[PinochleEngine.NB_PLAYERS];
+        for (int i = 0; i < configurations.length; i++) {
+            MeldAnalyzer analyzer = new MeldAnalyzer(MELD_FILE, playerProperties[i]);
+            gameAIs[i] = new AIBuilder(playerProperties[i], analyzer)
+                    .configureFromProperties()
+                    .build();
+            configurations[i] = new AIPlayerController(gameAIs[i]);
+        }
+        boolean isCutThroat = Boolean.parseBoolean(tableProperties.getProperty("mode.cutthroat", "false"));
+
+        SimulationStats stats = new SimulationStats(PinochleEngine.NB_PLAYERS);
+        PlayerController[] controllers = new PlayerController[PinochleEngine.NB_PLAYERS];
+        for (int game = workerIndex; game < games; game += workerCount) {
+            SplittableRandom aiSeeds = new SplittableRandom(gameSeed(baseSeed, game));
+            for (GameAI gameAI : gameAIs) {
+                gameAI.reseed(aiSeeds.nextLong());
+            }
+            for (int seat = 0; seat < controllers.length; seat++) {
+                controllers[seat] = configurations[configurationInSeat(seat, game)];
+            }
+            PinochleEngine engine = new PinochleEngine(tableProperties, tableAnalyzer,
+                    new Random(gameSeed(baseSeed, game)));
+            engine.setLogSink(logSink);
+            if (isCutThroat) {
+                engine.addPhaseHook(new CutThroatPhaseHook(controllers));
+            }
+            GameRecorder recorder = recordWriter == null ? null
+                    : GameRecorder.attach(engine, gameSeed(baseSeed, game));
+            engine.play(controllers);
+            if (recorder != null) {
+                recordWriter.write(recorder.getRecord());
+            }
+            recordGame(engine, game, stats);
+        }
+        return stats;
+    }
+
+    // The numbers of the seats go to the configurations that sat there
+    private void recordGame(PinochleEngine engine, long gameIndex, SimulationStats stats) {
+        int[] meldScores = new int[PinochleEngine.NB_PLAYERS];
+        int[] trickPoints = new int[PinochleEngine.NB_PLAYERS];
+        int[] finalScores = new int[PinochleEngine.NB_PLAYERS];
+        for (int seat = 0; seat < PinochleEngine.NB_PLAYERS; seat++) {
+            int configuration = configurationInSeat(seat, gameIndex);
+            meldScores[configuration] = engine.getMeldScores()[seat];
+            trickPoints[configuration] = TrickRules.getTrickPoints(engine.getTrickWinningCards(seat), engine.getTrumpSuit());
+            finalScores[configuration] = engine.getScores()[seat];
+        }
+        List<Integer> winners = new ArrayList<>();
+        for (int seat : engine.getWinners()) {
+            winners.add(configurationInSeat(seat, gameIndex));
+        }
+        stats.recordGame(configurationInSeat(engine.getFirstBidder(), gameIndex),
+                configurationInSeat(engine.getBidWinPlayerIndex(), gameIndex), engine.getCurrentBid(),
+                meldScores, trickPoints, finalScores, winners);
+    }
+
+    /**
+     Usage: SelfPlaySimulator [player0.properties] [player1.properties]
+     A path is read from the file system first, then from the class path
+     */
+    public static void main(String[] args) throws IOException {
+        Properties player0 = loadProperties(args.length > 0 ? args[0] : "properties/simulation.properties");
+        Properties player1 = args.length > 1 ? loadProperties(args[1]) : player0;
+
+        int games = Integer.parseInt(player0.getProperty("simulation.games", "10000"));
+        String threadsValue = player0.getProperty("simulation.threads", "");
+        int threads = threadsValue.isEmpty()
+                ? Runtime.getRuntime().availableProcessors()
+                : Integer.parseInt(threadsValue);
+        long seed = Long.parseLong(player0.getProperty("simulation.seed", String.valueOf(HeadlessPinochle.DEFAULT_SEED)));
+
+        SelfPlaySimulator simulator = new SelfPlaySimulator(player0, player1);
+        String logFile = player0.getProperty("simulation.log.file", "");
+        String recordFile = player0.getProperty("simulation.record.file", "");
+        GameLogSink logSink = logFile.isEmpty() ? new NoOpLogSink() : new FileLogSink(Path.of(logFile), false);
+        GameRecordWriter recordWriter = recordFile.isEmpty() ? null : new GameRecordWriter(Path.of(recordFile), false);
+        try {
+            simulator.setLogSink(logSink);
+            simulator.setRecordWriter(recordWriter);
+            System.out.print(simulator.run(games, threads, seed));
+        } finally {
+            logSink.close();
+            if (recordWriter != null) {
+                recordWriter.close();
+            }
+        }
+    }
+
+    public static Properties loadProperties(String path) throws IOException {
+        Properties properties = new Properties();
+        InputStream input = new File(path).exists()
+                ? new FileInputStream(path)
+                : SelfPlaySimulator.class.getClassLoader().getResourceAsStream(path);
+        if (input == null) {
+            throw new IOException("Properties not found: " + path);
+        }
+        try (input) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
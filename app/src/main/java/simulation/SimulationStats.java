@@ -0,0 +1,146 @@
+/**
+ * [Mon16:00] Team 02:
+ * Haoguang Zhou 1344871
+ * Baimin PAN 1329449
+ * Yudong Luan 1362030
+ */
+package simulation;
+
+import java.util.List;
+
+/**
+ The numbers collected by the self-play simulator
+
+ Every worker thread fills its own instance, they are merged at the end,
+ so the hot loop never shares anything between threads
+ */
+public class SimulationStats {
+    private final int nbPlayers;
+    private long games = 0;
+    private long draws = 0;
+    private long bidSum = 0;
+    private final long[] wins;
+    private final long[] bidsOpened;
+    private final long[] bidsWon;
+    private final long[] bidsMade;
+    private final long[] meldSum;
+    private final long[] trickSum;
+    private long elapsedNanos = 0;
+
+    public SimulationStats(int nbPlayers) {
+        this.nbPlayers = nbPlayers;
+        this.wins = new long[nbPlayers];
+        this.bidsOpened = new long[nbPlayers];
+        this.bidsWon = new long[nbPlayers];
+        this.bidsMade = new long[nbPlayers];
+        this.meldSum = new long[nbPlayers];
+        this.trickSum = new long[nbPlayers];
+    }
+
+    /**
+     Record one finished game
+     @param firstBidder the player who opened the bidding
+     @param bidWinner the player who won the bidding
+     @param bid the final bid
+     @param meldScores the melding score of each player
+     @param trickPoints the points of the cards won in tricks by each player
+     @param finalScores the final score of each player
+     @param winners the players with the highest score
+     */
+    public void recordGame(int firstBidder, int bidWinner, int bid, int[] meldScores, int[] trickPoints,
+                           int[] finalScores, List<Integer> winners) {
+        games++;
+        bidSum += bid;
+        bidsOpened[firstBidder]++;
+        bidsWon[bidWinner]++;
+        if (finalScores[bidWinner] >= bid) {
+            bidsMade[bidWinner]++;
+        }
+        for (int i = 0; i < nbPlayers; i++) {
+            meldSum[i] += meldScores[i];
+            trickSum[i] += trickPoints[i];
+        }
+        if (winners.size() == 1) {
+            wins[winners.get(0)]++;
+        } else {
+            draws++;
+        }
+    }
+
+    public void merge(SimulationStats other) {
+        games += other.games;
+        draws += other.draws;
+        bidSum += other.bidSum;
+        for (int i = 0; i < nbPlayers; i++) {
+            wins[i] += other.wins[i];
+            bidsOpened[i] += other.bidsOpened[i];
+            bidsWon[i] += other.bidsWon[i];
+            bidsMade[i] += other.bidsMade[i];
+            meldSum[i] += other.meldSum[i];
+            trickSum[i] += other.trickSum[i];
+        }
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double getWinRate(int playerIndex) {
+        return average(wins[playerIndex]);
+    }
+
+    public long getBidsOpened(int playerIndex) {
+        return bidsOpened[playerIndex];
+    }
+
+    public double getDrawRate() {
+        return average(draws);
+    }
+
+    public double getAverageBid() {
+        return average(bidSum);
+    }
+
+    public double getAverageMeld(int playerIndex) {
+        return average(meldSum[playerIndex]);
+    }
+
+    public double getAverageTrickPoints(int playerIndex) {
+        return average(trickSum[playerIndex]);
+    }
+
+    // How often the player made the contract when winning the bidding
+    public double getBidSuccessRate(int playerIndex) {
+        return bidsWon[playerIndex] == 0 ? 0 : (double) bidsMade[playerIndex] / bidsWon[playerIndex];
+    }
+
+    private double average(long total) {
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d in %.2fs (%.1f games/sec)%n",
+                games, elapsedNanos / 1e9, getGamesPerSecond()));
+        sb.append(String.format("Average bid: %.1f, draws: %.2f%%%n", getAverageBid(), getDrawRate() * 100));
+        for (int i = 0; i < nbPlayers; i++) {
+            sb.append(String.format("P%d: win %.2f%%, opened %d, bids won %d (made %.2f%%), avg meld %.1f, avg trick points %.1f%n",
+                    i, getWinRate(i) * 100, bidsOpened[i], bidsWon[i], getBidSuccessRate(i) * 100,
+                    getAverageMeld(i), getAverageTrickPoints(i)));
+        }
+        return sb.toString();
+    }
+}
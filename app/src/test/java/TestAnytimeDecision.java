@@ -0,0 +1,95 @@
+import ai.Deadline;
+import ai.DecisionTypeChain;
+import ai.strategy.DecisionStrategy;
+import core.PlayingCard;
+import data.GameDataSnapshot;
+import org.junit.Test;
+import protocolframework.DecisionType;
+import protocolframework.Request.DecisionRequest;
+import protocolframework.Request.GeneralCardDecisionRequest;
+import protocolframework.decision.GeneralCardDecision;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestAnytimeDecision {
+    private static final long THINKING_TIME_MS = 50;
+
+    // Publishes a card at once, then thinks far longer than it is allowed to
+    private static class SlowStrategy implements DecisionStrategy<GeneralCardDecision> {
+        private final Integer published;
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        SlowStrategy(Integer published) {
+            this.published = published;
+        }
+
+        @Override
+        public GeneralCardDecision decide(DecisionRequest<GeneralCardDecision> request) {
+            if (published != null) {
+                request.publishBestSoFar(new GeneralCardDecision(List.of(published)));
+            }
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                stopped.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return new GeneralCardDecision(List.of(0));
+        }
+
+        @Override
+        public DecisionType getSupportedType() {
+            return DecisionType.CARD_PLAY;
+        }
+
+        @Override
+        public int getPriority() {
+            return 1;
+        }
+    }
+
+    private GeneralCardDecisionRequest newRequest() {
+        List<PlayingCard> hand = PlayingCard.fullDeck().subList(0, 12);
+        GameDataSnapshot snapshot = new GameDataSnapshot(List.of(hand, PlayingCard.fullDeck().subList(12, 24)),
+                List.of(), "H", 60, new int[]{0, 0}, List.of(), 24, 0);
+        GeneralCardDecisionRequest request = new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_PLAY, 0, hand);
+        request.restrictDeadline(Deadline.afterMillis(THINKING_TIME_MS));
+        return request;
+    }
+
+    // A strategy that is late gives its published card, and the chain answers on time
+    @Test(timeout = 5000)
+    public void testLateStrategyGivesBestSoFar() {
+        DecisionTypeChain chain = new DecisionTypeChain(DecisionType.CARD_PLAY);
+        chain.addStrategy(new SlowStrategy(7));
+        long start = System.nanoTime();
+        GeneralCardDecision decision = chain.handleRequest(newRequest());
+        long tookMillis = (System.nanoTime() - start) / 1_000_000L;
+        assertEquals(List.of(7), decision.getSelectedIndices());
+        assertTrue("took " + tookMillis + " ms", tookMillis < 1000);
+    }
+
+    // The late strategy is stopped and does not keep its worker
+    @Test(timeout = 5000)
+    public void testLateStrategyIsStopped() throws InterruptedException {
+        DecisionTypeChain chain = new DecisionTypeChain(DecisionType.CARD_PLAY);
+        SlowStrategy strategy = new SlowStrategy(7);
+        chain.addStrategy(strategy);
+        chain.handleRequest(newRequest());
+        assertTrue(strategy.stopped.await(1, TimeUnit.SECONDS));
+    }
+
+    // Without a published card the fallback strategy still gives a card
+    @Test(timeout = 5000)
+    public void testLateStrategyWithoutResultFallsBack() {
+        DecisionTypeChain chain = new DecisionTypeChain(DecisionType.CARD_PLAY);
+        chain.addStrategy(new SlowStrategy(null));
+        GeneralCardDecision decision = chain.handleRequest(newRequest());
+        assertTrue(decision.isValid());
+    }
+}
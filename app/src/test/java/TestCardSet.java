@@ -0,0 +1,165 @@
+import core.CardSet;
+import core.PlayingCard;
+import core.Rank;
+import core.Suit;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestCardSet {
+    private static final PlayingCard ACE_OF_SPADES = PlayingCard.of(Suit.SPADES, Rank.ACE);
+    private static final PlayingCard ACE_OF_SPADES_TWO = PlayingCard.of(Suit.SPADESTWO, Rank.ACE);
+    private static final PlayingCard NINE_OF_CLUBS = PlayingCard.of(Suit.CLUBS, Rank.NINE);
+
+    // The multiset the CardSet should be, counted the slow way
+    private int countOf(List<PlayingCard> cards, int typeIndex) {
+        return (int) cards.stream().filter(card -> card.getTypeIndex() == typeIndex).count();
+    }
+
+    private List<PlayingCard> randomCards(Random random) {
+        List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+        Collections.shuffle(deck, random);
+        return new ArrayList<>(deck.subList(0, random.nextInt(deck.size() + 1)));
+    }
+
+    @Test
+    public void testTwoCopies() {
+        CardSet set = CardSet.of(ACE_OF_SPADES, ACE_OF_SPADES_TWO);
+        assertEquals(2, set.count(ACE_OF_SPADES));
+        assertEquals(2, set.count(ACE_OF_SPADES_TWO));
+        assertEquals(2, set.size());
+        assertEquals(set, set.with(ACE_OF_SPADES)); // No third copy
+
+        CardSet one = set.without(ACE_OF_SPADES_TWO);
+        assertEquals(1, one.count(ACE_OF_SPADES));
+        assertTrue(one.contains(ACE_OF_SPADES));
+        assertEquals(CardSet.of(ACE_OF_SPADES), one);
+
+        CardSet none = one.without(ACE_OF_SPADES);
+        assertTrue(none.isEmpty());
+        assertEquals(none, none.without(ACE_OF_SPADES)); // Nothing to remove
+    }
+
+    @Test
+    public void testMinusAndPlus() {
+        CardSet twoAces = CardSet.of(ACE_OF_SPADES, ACE_OF_SPADES_TWO, NINE_OF_CLUBS);
+        // One copy out of two leaves the other copy
+        assertEquals(CardSet.of(ACE_OF_SPADES, NINE_OF_CLUBS), twoAces.minus(CardSet.of(ACE_OF_SPADES)));
+        // A single copy is removed by one or two copies
+        CardSet oneAce = CardSet.of(ACE_OF_SPADES, NINE_OF_CLUBS);
+        assertEquals(CardSet.of(NINE_OF_CLUBS), oneAce.minus(CardSet.of(ACE_OF_SPADES)));
+        assertEquals(CardSet.of(NINE_OF_CLUBS), oneAce.minus(CardSet.of(ACE_OF_SPADES, ACE_OF_SPADES_TWO)));
+        assertEquals(CardSet.EMPTY, oneAce.minus(twoAces));
+
+        assertEquals(twoAces, oneAce.plus(CardSet.of(ACE_OF_SPADES)));
+        assertEquals(twoAces.plus(CardSet.of(NINE_OF_CLUBS)), twoAces.plus(twoAces)); // At most two copies
+        assertTrue(twoAces.containsAll(oneAce));
+        assertFalse(oneAce.containsAll(twoAces));
+    }
+
+    // All the operations agree with the same operations on lists of cards
+    @Test(timeout = 10000)
+    public void testAgainstLists() {
+        Random random = new Random(30008);
+        for (int i = 0; i < 500; i++) {
+            List<PlayingCard> cards = randomCards(random);
+            List<PlayingCard> others = randomCards(random);
+            CardSet set = CardSet.of(cards);
+            CardSet otherSet = CardSet.of(others);
+            assertEquals(cards.size(), set.size());
+
+            // Either copy of a card takes one copy away
+            List<PlayingCard> difference = new ArrayList<>(cards);
+            for (PlayingCard other : others) {
+                difference.stream().filter(card -> card.getTypeIndex() == other.getTypeIndex())
+                        .findFirst().ifPresent(difference::remove);
+            }
+            assertEquals(CardSet.of(difference), set.minus(otherSet));
+
+            List<Integer> types = new ArrayList<>();
+            for (int type = set.nextType(0); type >= 0; type = set.nextType(type + 1)) {
+                types.add(type);
+            }
+            for (int type = 0; type < CardSet.TYPE_COUNT; type++) {
+                assertEquals(countOf(cards, type), set.count(type));
+                assertEquals(countOf(cards, type) > 0, types.contains(type));
+                int copies = Math.min(CardSet.MAX_COPIES, countOf(cards, type) + countOf(others, type));
+                assertEquals(copies, set.plus(otherSet).count(type));
+            }
+        }
+    }
+
+    @Test
+    public void testSuitMasks() {
+        long allSuits = 0;
+        for (int suit = 0; suit < CardSet.SUIT_COUNT; suit++) {
+            long mask = CardSet.suitMask(suit);
+            assertEquals(CardSet.RANK_COUNT, Long.bitCount(mask));
+            assertEquals(0, allSuits & mask);
+            allSuits |= mask;
+            for (int type = 0; type < CardSet.TYPE_COUNT; type++) {
+                assertEquals(CardSet.suitIndexOf(type) == suit, (mask & (1L << type)) != 0);
+            }
+        }
+        assertEquals(CardSet.FULL_DECK.typeMask(), allSuits);
+
+        List<PlayingCard> cards = randomCards(new Random(7));
+        CardSet set = CardSet.of(cards);
+        for (int suit = 0; suit < CardSet.SUIT_COUNT; suit++) {
+            int suitIndex = suit;
+            long inSuit = cards.stream().filter(card -> card.getSuitIndex() == suitIndex).count();
+            assertEquals(inSuit, set.countInSuit(suit));
+            assertEquals(inSuit, set.suit(suit).size());
+            assertEquals(set.suit(suit), set.suit(CardSet.suitShortHand(suit)));
+        }
+        assertEquals(CardSet.EMPTY, set.suit("X"));
+    }
+
+    // Card, suit and rank to the indices and back
+    @Test
+    public void testConverters() {
+        for (PlayingCard card : PlayingCard.fullDeck()) {
+            int type = card.getTypeIndex();
+            assertEquals(CardSet.typeIndex(card.getSuit(), card.getRank()), type);
+            assertEquals(CardSet.typeIndex(card.getSuitShortHand(), card.getRank()), type);
+            assertEquals(card.getSuitIndex(), CardSet.suitIndexOf(type));
+            assertEquals(card.getRank(), CardSet.rankOf(type));
+            assertEquals(card.getSuitShortHand(), CardSet.suitShortHandOf(type));
+        }
+        for (int suit = 0; suit < CardSet.SUIT_COUNT; suit++) {
+            assertEquals(suit, CardSet.suitIndex(CardSet.suitShortHand(suit)));
+        }
+        assertEquals(-1, CardSet.suitIndex("X"));
+        assertEquals(-1, CardSet.suitIndex(null));
+
+        Random random = new Random(30008);
+        for (int i = 0; i < 200; i++) {
+            CardSet set = CardSet.of(randomCards(random));
+            assertEquals(set, CardSet.fromLong(set.asLong()));
+            assertEquals(set, CardSet.of(set.toCards()));
+        }
+        assertEquals(PlayingCard.fullDeck().size(), CardSet.FULL_DECK.toCards().size());
+    }
+
+    // Checked against the suit names, the "TWO" suits are the second copy
+    @Test
+    public void testSuitIndexAndCopy() {
+        List<PlayingCard> deck = PlayingCard.fullDeck();
+        assertEquals(48, deck.size());
+        for (PlayingCard card : deck) {
+            Suit suit = card.getSuit();
+            int copy = suit.name().endsWith("TWO") ? 1 : 0;
+            assertEquals(card.toString(), "SHDC".indexOf(card.getSuitShortHand()), card.getSuitIndex());
+            assertEquals(card.getSuitIndex(), suit.getSuitIndex());
+            assertEquals(copy, suit.getCopy());
+            assertEquals(suit, Suit.of(card.getSuitIndex(), copy));
+        }
+    }
+}
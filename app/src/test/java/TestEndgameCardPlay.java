@@ -0,0 +1,90 @@
+import ai.strategy.EndgameCardPlayStrategy;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+import org.junit.Test;
+import protocolframework.DecisionType;
+import protocolframework.Request.GeneralCardDecisionRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestEndgameCardPlay {
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+
+    // Points player 0 wins from here when both players play perfectly
+    private int minimax(List<PlayingCard> hand0, List<PlayingCard> hand1, int leader,
+                        List<PlayingCard> trick, String trump) {
+        List<PlayingCard> leaderHand = leader == 0 ? hand0 : hand1;
+        if (trick.isEmpty() && leaderHand.isEmpty()) {
+            return 0;
+        }
+        int mover = trick.isEmpty() ? leader : 1 - leader;
+        List<PlayingCard> hand = mover == 0 ? hand0 : hand1;
+        int best = mover == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (PlayingCard card : new ArrayList<>(hand)) {
+            if (!TrickRules.checkValidTrick(card, hand, trick, trump)) {
+                continue;
+            }
+            int value = playThenMinimax(hand0, hand1, leader, trick, card, trump);
+            best = mover == 0 ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+
+    private int playThenMinimax(List<PlayingCard> hand0, List<PlayingCard> hand1, int leader,
+                                List<PlayingCard> trick, PlayingCard card, String trump) {
+        int mover = trick.isEmpty() ? leader : 1 - leader;
+        List<PlayingCard> hand = mover == 0 ? hand0 : hand1;
+        int position = hand.indexOf(card);
+        hand.remove(position);
+        int value;
+        if (trick.isEmpty()) {
+            value = minimax(hand0, hand1, leader, List.of(card), trump);
+        } else {
+            PlayingCard lead = trick.get(0);
+            int winner = TrickRules.doesSecondCardWin(lead, card, trump) ? mover : leader;
+            int points = winner == 0 ? TrickRules.getTrickPoints(List.of(lead, card), trump) : 0;
+            value = points + minimax(hand0, hand1, winner, List.of(), trump);
+        }
+        hand.add(position, card);
+        return value;
+    }
+
+    // When every other card has been played, the strategy finds a card worth the perfect-play points
+    @Test(timeout = 20000)
+    public void testKnownHandsArePlayedPerfectly() {
+        Random random = new Random(30008);
+        EndgameCardPlayStrategy strategy = new EndgameCardPlayStrategy(5, 1, 1);
+        for (int game = 0; game < 300; game++) {
+            int cards = 1 + game % 5;
+            List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+            Collections.shuffle(deck, random);
+            List<PlayingCard> myHand = new ArrayList<>(deck.subList(0, cards));
+            List<PlayingCard> opponentHand = new ArrayList<>(deck.subList(cards, 2 * cards));
+            List<PlayingCard> played = new ArrayList<>(deck.subList(2 * cards, deck.size()));
+            String trump = TRUMPS[game % TRUMPS.length];
+
+            // Half of the time the opponent has already led
+            List<PlayingCard> trick = new ArrayList<>();
+            if (game % 2 == 1) {
+                trick.add(opponentHand.remove(0));
+            }
+            int leader = trick.isEmpty() ? 0 : 1;
+
+            // A bid of 0 can not be missed, so more points is always a better margin
+            GameDataSnapshot snapshot = new GameDataSnapshot(List.of(myHand, opponentHand), played, trump,
+                    0, new int[]{0, 0}, trick, 0, 0);
+            int index = strategy.decide(new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_PLAY, 0, myHand))
+                    .getSelectedIndices().get(0);
+
+            int best = minimax(myHand, opponentHand, leader, trick, trump);
+            int chosen = playThenMinimax(myHand, opponentHand, leader, trick, myHand.get(index), trump);
+            assertEquals(best, chosen);
+        }
+    }
+}
@@ -18,7 +18,7 @@ public class TestGame {
         return logResult;
     }
 
-    @Test(timeout = 90000)
+    @Test(timeout = 30000)
     public void testOriginal() {
         String testProperties = "properties/test1.properties";
         String logResult = runningGame(testProperties);
@@ -30,7 +30,7 @@ public class TestGame {
         assertTrue(logResult.contains("Winners: 0"));
     }
 
-    @Test(timeout = 90000)
+    @Test(timeout = 30000)
     public void testNewMeldingPart1() {
         String testProperties = "properties/test2.properties";
         String logResult = runningGame(testProperties);
@@ -40,7 +40,7 @@ public class TestGame {
         assertTrue(logResult.contains("Melding Scores: 210-30"));
     }
 
-    @Test(timeout = 90000)
+    @Test(timeout = 30000)
     public void testNewMeldingPart2() {
         String testProperties = "properties/test3.properties";
         String logResult = runningGame(testProperties);
@@ -50,7 +50,7 @@ public class TestGame {
         assertTrue(logResult.contains("Melding Scores: 230-300"));
     }
 
-    @Test(timeout = 90000)
+    @Test(timeout = 30000)
     public void testSmartBidding() {
         String testProperties = "properties/test4.properties";
         String logResult = runningGame(testProperties);
@@ -68,7 +68,7 @@ public class TestGame {
     }
 
 
-    @Test(timeout = 90000)
+    @Test(timeout = 30000)
     public void testCutThroat() {
         String testProperties = "properties/test5.properties";
         String logResult = runningGame(testProperties);
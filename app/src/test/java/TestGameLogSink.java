@@ -0,0 +1,57 @@
+import engine.FileLogSink;
+import engine.HeadlessPinochle;
+import engine.NoOpLogSink;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestGameLogSink {
+
+    private HeadlessPinochle newGame() {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test1.properties");
+        return new HeadlessPinochle(properties);
+    }
+
+    // The file keeps one line per game, and the line gives back the usual log
+    @Test(timeout = 10000)
+    public void testFileLogKeepsTheTextFormat() throws IOException {
+        String expected = newGame().runApp();
+
+        Path file = Files.createTempFile("pinochle", ".log");
+        try {
+            try (FileLogSink sink = new FileLogSink(file, false)) {
+                for (int game = 0; game < 3; game++) {
+                    HeadlessPinochle headless = newGame();
+                    headless.getEngine().setLogSink(sink);
+                    headless.runApp();
+                }
+            }
+            List<String> records = Files.readAllLines(file);
+            assertEquals(3, records.size());
+            for (String record : records) {
+                assertEquals(expected, FileLogSink.toGameLog(record));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Without a log the game is played the same way
+    @Test(timeout = 10000)
+    public void testNoLogPlaysTheSameGame() {
+        HeadlessPinochle logged = newGame();
+        logged.runApp();
+        HeadlessPinochle silent = newGame();
+        silent.getEngine().setLogSink(new NoOpLogSink());
+
+        assertEquals("", silent.runApp());
+        assertArrayEquals(logged.getEngine().getScores(), silent.getEngine().getScores());
+    }
+}
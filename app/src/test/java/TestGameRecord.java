@@ -0,0 +1,66 @@
+import core.TrickRules;
+import engine.HeadlessPinochle;
+import engine.PinochleEngine;
+import gamerecord.GameRecord;
+import gamerecord.GameRecordReader;
+import gamerecord.GameRecordWriter;
+import gamerecord.GameRecorder;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestGameRecord {
+
+    // A game written to a record file is read back with the same cards and scores
+    @Test(timeout = 10000)
+    public void testRecordRoundTrip() throws IOException {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test5.properties");
+        Path file = Files.createTempFile("pinochle", ".rec");
+        try {
+            PinochleEngine[] engines = new PinochleEngine[3];
+            try (GameRecordWriter writer = new GameRecordWriter(file, false)) {
+                for (int game = 0; game < engines.length; game++) {
+                    HeadlessPinochle headless = new HeadlessPinochle(properties);
+                    engines[game] = headless.getEngine();
+                    GameRecorder recorder = GameRecorder.attach(engines[game], game);
+                    headless.runApp();
+                    writer.write(recorder.getRecord());
+                }
+            }
+
+            try (GameRecordReader reader = new GameRecordReader(file)) {
+                assertEquals(engines.length, reader.size());
+                for (int game = 0; game < engines.length; game++) {
+                    GameRecord record = reader.get(game);
+                    PinochleEngine engine = engines[game];
+                    String log = engine.getLogResult();
+                    assertEquals(game, record.getSeed());
+                    assertEquals(engine.getBidWinPlayerIndex(), record.getBidWinner());
+                    assertEquals(engine.getCurrentBid(), record.getFinalBid());
+                    assertEquals(engine.getTrumpSuit(), record.getTrumpSuit());
+                    assertEquals(engine.getWinners(), record.getWinners());
+                    for (int player = 0; player < PinochleEngine.NB_PLAYERS; player++) {
+                        assertEquals(engine.getScores()[player], record.getFinalScore(player));
+                        assertEquals(engine.getMeldScores()[player], record.getMeldScore(player));
+                        assertEquals(TrickRules.getTrickPoints(engine.getTrickWinningCards(player), engine.getTrumpSuit()),
+                                record.getTrickPoints(player));
+                        StringBuilder hand = new StringBuilder("P" + player + "-");
+                        record.getInitialHand(player).forEach(card -> hand.append(card.getCardLog()).append(","));
+                        assertTrue(log.contains(hand.substring(0, hand.length() - 1) + "-"));
+                    }
+                    assertEquals(24, record.getPlayCount());
+                    String firstPlay = "Round0:P" + record.getPlayingPlayer(0) + "-" + record.getPlayedCard(0).getCardLog();
+                    assertTrue(log.contains(firstPlay));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import gamerecord.GameLogParser;
+import gamerecord.GameReplayer;
+import gamerecord.ReplayResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestGameReplay {
+
+    private String readSampleLog() throws IOException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("sample_test1.log")) {
+            return new String(input.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+
+    private ReplayResult replay(String log) {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test1.properties");
+        return new GameReplayer(properties).replay(GameLogParser.parse(log));
+    }
+
+    // The sample log is a game the rules allow, with the recorded scores
+    @Test(timeout = 10000)
+    public void testSampleLogMatches() throws IOException {
+        ReplayResult result = replay(readSampleLog());
+        assertTrue(result.toString(), result.isMatching());
+    }
+
+    // P0 still has clubs (trump), so throwing a diamond on the ace of hearts is reported at that card
+    @Test(timeout = 10000)
+    public void testFirstIllegalCardIsReported() throws IOException {
+        ReplayResult result = replay(readSampleLog().replace("Round0:P1-1H,P0-12C,", "Round0:P1-1H,P0-9D,"));
+        assertFalse(result.isMatching());
+        assertEquals(4, result.getMove()); // Two bids, the trump, the lead of P1, then P0
+        assertTrue(result.getMessage(), result.getMessage().contains("9D"));
+    }
+
+    // A wrong score is found at the end
+    @Test(timeout = 10000)
+    public void testWrongScoreIsReported() throws IOException {
+        ReplayResult result = replay(readSampleLog().replace("Final Score: 74,0,", "Final Score: 75,0,"));
+        assertFalse(result.isMatching());
+        assertEquals(ReplayResult.END_OF_GAME, result.getMove());
+    }
+}
@@ -0,0 +1,59 @@
+import core.CardSet;
+import core.PlayingCard;
+import data.GameDataSnapshot;
+import engine.PinochleEngine;
+import meld.MeldAnalyzer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class TestGameSnapshot {
+
+    private PinochleEngine startTrickTaking() {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test1.properties");
+        PinochleEngine engine = new PinochleEngine(properties, new MeldAnalyzer("melds.json", properties),
+                new Random(30008));
+        engine.deal();
+        engine.startBidding(0);
+        engine.submitBid(0, 0);
+        engine.selectTrump("H");
+        return engine;
+    }
+
+    // A snapshot keeps showing the moment it was taken while the game goes on
+    @Test(timeout = 10000)
+    public void testSnapshotDoesNotChangeWithTheGame() {
+        PinochleEngine engine = startTrickTaking();
+        GameDataSnapshot before = engine.createSnapshot();
+        assertSame(before, engine.createSnapshot());
+
+        List<List<PlayingCard>> hands = new ArrayList<>();
+        for (int i = 0; i < before.getNumberOfPlayers(); i++) {
+            hands.add(new ArrayList<>(before.getPlayerHand(i)));
+        }
+        for (int trick = 0; trick < 3; trick++) {
+            for (int card = 0; card < PinochleEngine.NB_PLAYERS; card++) {
+                int player = engine.getCurrentPlayer();
+                engine.playCard(player, engine.getHand(player).get(0));
+            }
+        }
+        GameDataSnapshot after = engine.createSnapshot();
+
+        for (int i = 0; i < before.getNumberOfPlayers(); i++) {
+            assertEquals(hands.get(i), before.getPlayerHand(i));
+            assertEquals(CardSet.of(hands.get(i)), before.getPlayerCardSet(i));
+            assertEquals(CardSet.of(after.getPlayerHand(i)), after.getPlayerCardSet(i));
+        }
+        assertEquals(0, before.getAllPlayedCards().size());
+        assertEquals(6, after.getAllPlayedCards().size());
+        assertEquals(CardSet.of(after.getAllPlayedCards()), after.getPlayedCardSet());
+        assertNotEquals(before.getVersion(), after.getVersion());
+    }
+}
@@ -0,0 +1,38 @@
+import engine.HeadlessPinochle;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestHeadlessGame {
+
+    private String runningGame(String propertiesFile) {
+        final Properties properties = PropertiesLoader.loadPropertiesFile(propertiesFile);
+        return new HeadlessPinochle(properties).runApp();
+    }
+
+    @Test(timeout = 10000)
+    public void testOriginal() {
+        String logResult = runningGame("properties/test1.properties");
+        assertTrue(logResult.contains("Bid:1-140"));
+        assertTrue(logResult.contains("Trump: C"));
+        assertTrue(logResult.contains("Melding Scores: 190-0"));
+        assertTrue(logResult.contains("Trick Winning: P0:9D,10C,12H,13H,11S,12S,11H,12C,13D,12C,13C,12S,1C,1D,1C,13D-P1:9H,10H,12H,1H,11C,13C,11S,1S"));
+        assertTrue(logResult.contains("Final Score: 268,0"));
+        assertTrue(logResult.contains("Winners: 0"));
+    }
+
+    @Test(timeout = 10000)
+    public void testSmartBidding() {
+        String logResult = runningGame("properties/test4.properties");
+        assertTrue(logResult.contains("Bid:0-220"));
+        assertTrue(logResult.contains("Melding Scores: 190-0"));
+    }
+
+    @Test(timeout = 10000)
+    public void testCutThroat() {
+        String logResult = runningGame("properties/test5.properties");
+        assertTrue(logResult.contains("Initial Cards:P0-10D,9D,12C,11C,10C,9C,9D,10D,11D,11D,12D,13D-"));
+    }
+}
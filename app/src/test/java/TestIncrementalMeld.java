@@ -0,0 +1,98 @@
+import ai.strategy.MeldKeepingDiscardStrategy;
+import core.CardSet;
+import core.PlayingCard;
+import data.GameDataSnapshot;
+import meld.IncrementalMeldEvaluator;
+import meld.MeldAnalyzer;
+import meld.MeldChecker;
+import meld.MeldScoreCache;
+import meld.MemoizedMeldOptimizer;
+import org.junit.Test;
+import protocolframework.DecisionType;
+import protocolframework.Request.GeneralCardDecisionRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestIncrementalMeld {
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+
+    private final List<MeldChecker> checkers = new MeldAnalyzer("melds.json", new Properties()).getAvailableMelds();
+    // No cache, every score is a full search
+    private final MeldAnalyzer fullSearch = new MeldAnalyzer(checkers, new MemoizedMeldOptimizer(), new MeldScoreCache(0));
+
+    // Cards coming and going give the same score as a full search of the hand
+    @Test(timeout = 20000)
+    public void testAddAndRemoveMatchFullSearch() {
+        Random random = new Random(30008);
+        for (int game = 0; game < 50; game++) {
+            List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+            Collections.shuffle(deck, random);
+            String trump = TRUMPS[game % TRUMPS.length];
+            List<PlayingCard> hand = new ArrayList<>(deck.subList(0, 12));
+            List<PlayingCard> pack = new ArrayList<>(deck.subList(12, deck.size()));
+            IncrementalMeldEvaluator evaluator = new IncrementalMeldEvaluator(checkers, trump, CardSet.of(hand));
+
+            for (int step = 0; step < 40; step++) {
+                if (hand.size() > 8 && (hand.size() >= 16 || random.nextBoolean())) {
+                    PlayingCard card = hand.remove(random.nextInt(hand.size()));
+                    evaluator.remove(card);
+                    pack.add(card);
+                } else {
+                    PlayingCard card = pack.remove(random.nextInt(pack.size()));
+                    evaluator.add(card);
+                    hand.add(card);
+                }
+                assertEquals(CardSet.of(hand), evaluator.getHand());
+                assertEquals(hand.toString(), fullSearch.calculateBestScore(hand, trump), evaluator.getScore());
+
+                PlayingCard dropped = hand.get(random.nextInt(hand.size()));
+                PlayingCard added = pack.get(random.nextInt(pack.size()));
+                List<PlayingCard> swapped = new ArrayList<>(hand);
+                swapped.remove(dropped);
+                swapped.add(added);
+                assertEquals(fullSearch.calculateBestScore(swapped, trump), evaluator.scoreWith(added, dropped));
+                if (evaluator.isFree(dropped)) {
+                    assertEquals(evaluator.getScore(), evaluator.scoreWithout(dropped));
+                }
+            }
+        }
+    }
+
+    // The discards leave 12 cards, and no meld points are lost while free cards are left to drop
+    @Test(timeout = 20000)
+    public void testMeldKeepingDiscard() {
+        MeldKeepingDiscardStrategy strategy = new MeldKeepingDiscardStrategy(fullSearch);
+        Random random = new Random(7);
+        for (int game = 0; game < 200; game++) {
+            List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+            Collections.shuffle(deck, random);
+            String trump = TRUMPS[game % TRUMPS.length];
+            List<PlayingCard> hand = new ArrayList<>(deck.subList(0, 13 + random.nextInt(6)));
+            GameDataSnapshot snapshot = new GameDataSnapshot(List.of(hand, deck.subList(20, 32)),
+                    List.of(), trump, 60, new int[]{0, 0}, List.of(), 0, 0);
+
+            List<Integer> discards = strategy.decide(
+                    new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_DISCARD, 0, hand)).getSelectedIndices();
+            assertEquals(hand.size() - 12, discards.size());
+            assertEquals(discards.size(), new HashSet<>(discards).size());
+
+            List<PlayingCard> kept = new ArrayList<>(hand);
+            for (int index : discards) {
+                kept.remove(hand.get(index));
+            }
+            IncrementalMeldEvaluator evaluator = new IncrementalMeldEvaluator(checkers, trump, CardSet.of(hand));
+            long freeCards = hand.stream().filter(evaluator::isFree).count();
+            if (freeCards >= discards.size()) {
+                assertEquals(hand.toString(), evaluator.getScore(), fullSearch.calculateBestScore(kept, trump));
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import ai.AIBuilder;
+import core.PlayingCard;
+import data.GameDataSnapshot;
+import engine.AIPlayerController;
+import engine.HeadlessPinochle;
+import engine.InputChannel;
+import engine.InputPlayerController;
+import engine.PinochleEngine;
+import engine.PlayerController;
+import engine.ScriptedPlayerController;
+import meld.MeldAnalyzer;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestInputPlayerController {
+
+    // Tells the test what the game asks for, the test answers from its own thread
+    private static class AskingController extends InputPlayerController {
+        private final BlockingQueue<String> questions = new LinkedBlockingQueue<>();
+
+        @Override
+        protected void onBidRequested(GameDataSnapshot snapshot, int playerIndex, int currentBid) {
+            questions.add("bid");
+        }
+
+        @Override
+        protected void onTrumpRequested(GameDataSnapshot snapshot, int playerIndex) {
+            questions.add("trump");
+        }
+
+        @Override
+        protected void onCardPlayRequested(GameDataSnapshot snapshot, int playerIndex, List<PlayingCard> hand) {
+            questions.add("card");
+        }
+    }
+
+    // The computer seat plays its script, the human seat is the given controller
+    private CompletableFuture<String> play(Properties properties, PlayerController human) {
+        MeldAnalyzer meldAnalyzer = new MeldAnalyzer("melds.json", properties);
+        AIPlayerController ai = new AIPlayerController(new AIBuilder(properties, meldAnalyzer)
+                .configureFromProperties()
+                .build());
+        PinochleEngine engine = new PinochleEngine(properties, meldAnalyzer, new Random(HeadlessPinochle.DEFAULT_SEED));
+        PlayerController[] controllers = {new ScriptedPlayerController(properties, 0, ai), human};
+        return CompletableFuture.supplyAsync(() -> engine.play(controllers));
+    }
+
+    private PlayingCard card(String cardLog) {
+        return PlayingCard.findByCardLog(PlayingCard.fullDeck(), cardLog);
+    }
+
+    @Test(timeout = 5000)
+    public void testChannel() throws Exception {
+        InputChannel<Integer> channel = new InputChannel<>();
+        assertFalse(channel.offer(1));
+
+        channel.submit(2);
+        assertEquals(2, (int) channel.request().getNow(null));
+
+        CompletableFuture<Integer> move = channel.request();
+        assertTrue(channel.isWaiting());
+        new Thread(() -> channel.offer(3)).start();
+        assertEquals(3, (int) move.get(1, TimeUnit.SECONDS));
+        assertFalse(channel.isWaiting());
+
+        CompletableFuture<Integer> cancelled = channel.request();
+        channel.cancel();
+        assertTrue(cancelled.isCancelled());
+    }
+
+    // Moves submitted before the game starts play the same game as the script
+    @Test(timeout = 10000)
+    public void testSubmittedMoves() throws Exception {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test1.properties");
+        InputPlayerController human = new InputPlayerController();
+        for (String bid : properties.getProperty("players.1.bids").split(",")) {
+            human.getBids().submit(Integer.parseInt(bid));
+        }
+        human.getTrumps().submit(properties.getProperty("players.trump"));
+        for (String cardLog : properties.getProperty("players.1.cardsPlayed").split(",")) {
+            human.getCards().submit(card(cardLog));
+        }
+        assertEquals(new HeadlessPinochle(properties).runApp(), play(properties, human).get(5, TimeUnit.SECONDS));
+    }
+
+    // Moves given from another thread while the game waits, a card not in the hand is asked again
+    @Test(timeout = 10000)
+    public void testMovesFromAnotherThread() throws Exception {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test1.properties");
+        AskingController human = new AskingController();
+        CompletableFuture<String> log = play(properties, human);
+
+        Iterator<String> bids = List.of(properties.getProperty("players.1.bids").split(",")).iterator();
+        Iterator<String> cards = List.of(properties.getProperty("players.1.cardsPlayed").split(",")).iterator();
+        boolean wrongCardGiven = false;
+        while (!log.isDone()) {
+            String question = human.questions.poll(100, TimeUnit.MILLISECONDS);
+            if (question == null) {
+                continue;
+            }
+            switch (question) {
+                case "bid" -> assertTrue(human.getBids().offer(Integer.parseInt(bids.next())));
+                case "trump" -> assertTrue(human.getTrumps().offer(properties.getProperty("players.trump")));
+                default -> {
+                    if (!wrongCardGiven) {
+                        wrongCardGiven = true;
+                        assertTrue(human.getCards().offer(card("10S")));
+                        assertEquals("card", human.questions.poll(1, TimeUnit.SECONDS));
+                    }
+                    assertTrue(human.getCards().offer(card(cards.next())));
+                }
+            }
+        }
+        assertFalse(cards.hasNext());
+        assertEquals(new HeadlessPinochle(properties).runApp(), log.get());
+    }
+}
@@ -0,0 +1,52 @@
+import core.CardList;
+import core.PlayingCard;
+import core.TrickRules;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TestLegalMoves {
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+
+    // The rule as it reads: beat the lead in suit, else trump it, else anything
+    private boolean followsRule(PlayingCard card, List<PlayingCard> hand, PlayingCard lead, String trump) {
+        boolean canBeat = hand.stream().anyMatch(c -> c.isSameSuit(lead)
+                && c.getRankCardValue() > lead.getRankCardValue());
+        if (canBeat) {
+            return card.isSameSuit(lead) && card.getRankCardValue() > lead.getRankCardValue();
+        }
+        boolean hasTrump = hand.stream().anyMatch(c -> TrickRules.isTrump(c, trump));
+        return TrickRules.isTrump(lead, trump) || !hasTrump || TrickRules.isTrump(card, trump);
+    }
+
+    @Test(timeout = 10000)
+    public void testLegalCardsFollowTheRule() {
+        Random random = new Random(30008);
+        for (int game = 0; game < 2000; game++) {
+            List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+            Collections.shuffle(deck, random);
+            List<PlayingCard> hand = new ArrayList<>(deck.subList(0, 1 + random.nextInt(12)));
+            PlayingCard lead = deck.get(12);
+            String trump = TRUMPS[game % TRUMPS.length];
+
+            long legalTypes = TrickRules.legalTypes(hand, List.of(lead), trump);
+            assertEquals(legalTypes, TrickRules.legalTypes(CardList.copyOf(hand), List.of(lead), trump));
+            List<PlayingCard> expected = new ArrayList<>();
+            for (PlayingCard card : hand) {
+                if (followsRule(card, hand, lead, trump)) {
+                    expected.add(card);
+                }
+                assertEquals(TrickRules.isLegal(card, legalTypes),
+                        TrickRules.checkValidTrick(card, hand, List.of(lead), trump));
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, TrickRules.legalCards(hand, legalTypes));
+        }
+    }
+}
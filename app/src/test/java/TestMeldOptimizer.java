@@ -0,0 +1,46 @@
+import core.CardSet;
+import core.PlayingCard;
+import meld.BacktrackingMeldOptimizer;
+import meld.MeldAnalyzer;
+import meld.MeldChecker;
+import meld.MemoizedMeldOptimizer;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestMeldOptimizer {
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+
+    private void compareOptimizers(String additionalMelds) {
+        Properties properties = new Properties();
+        properties.setProperty("melds.additional", additionalMelds);
+        List<MeldChecker> checkers = new MeldAnalyzer("melds.json", properties).getAvailableMelds();
+        MeldAnalyzer backtracking = new MeldAnalyzer(checkers, new BacktrackingMeldOptimizer());
+        MeldAnalyzer memoized = new MeldAnalyzer(checkers, new MemoizedMeldOptimizer());
+
+        Random random = new Random(30008);
+        List<PlayingCard> deck = PlayingCard.fullDeck();
+        for (int i = 0; i < 2000; i++) {
+            Collections.shuffle(deck, random);
+            CardSet hand = CardSet.of(deck.subList(0, 12 + random.nextInt(3)));
+            String trump = TRUMPS[i % TRUMPS.length];
+            assertEquals(hand.toString(), backtracking.calculateBestScore(hand, trump),
+                    memoized.calculateBestScore(hand, trump));
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testAdditionalMelds() {
+        compareOptimizers("true");
+    }
+
+    @Test(timeout = 20000)
+    public void testOriginalMelds() {
+        compareOptimizers("false");
+    }
+}
@@ -0,0 +1,168 @@
+import core.CardSet;
+import core.PlayingCard;
+import meld.MeldAnalyzer;
+import meld.MeldScoreCache;
+import meld.MemoizedMeldOptimizer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TestMeldScoreCache {
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+
+    private final List<CardSet> hands = new ArrayList<>();
+
+    public TestMeldScoreCache() {
+        Random random = new Random(30008);
+        while (hands.size() < 8) {
+            List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+            Collections.shuffle(deck, random);
+            CardSet hand = CardSet.of(deck.subList(0, 12));
+            if (!hands.contains(hand)) {
+                hands.add(hand);
+            }
+        }
+    }
+
+    // Fails the test if the cache calculates a score it should have kept
+    private static int known() {
+        fail("score calculated again");
+        return 0;
+    }
+
+    @Test
+    public void testBound() {
+        MeldScoreCache cache = new MeldScoreCache(3);
+        for (int i = 0; i < hands.size(); i++) {
+            cache.getOrCompute(hands.get(i), "S", () -> 1);
+            assertEquals(Math.min(i + 1, 3), cache.size());
+        }
+        assertEquals(3, cache.getCapacity());
+
+        MeldScoreCache none = new MeldScoreCache(0);
+        AtomicInteger calculated = new AtomicInteger();
+        none.getOrCompute(hands.get(0), "S", calculated::incrementAndGet);
+        none.getOrCompute(hands.get(0), "S", calculated::incrementAndGet);
+        none.put(hands.get(0), "S", 5);
+        assertEquals(2, calculated.get());
+        assertEquals(0, none.size());
+        assertEquals(2, none.getMisses());
+    }
+
+    // The least recently used hand goes first, a lookup counts as a use
+    @Test
+    public void testEvictionOrder() {
+        MeldScoreCache cache = new MeldScoreCache(3);
+        cache.put(hands.get(0), "S", 0);
+        cache.put(hands.get(1), "S", 1);
+        cache.put(hands.get(2), "S", 2);
+        assertEquals(0, cache.getOrCompute(hands.get(0), "S", TestMeldScoreCache::known));
+
+        // Hand 1 is now the eldest
+        cache.put(hands.get(3), "S", 3);
+        assertEquals(0, cache.getOrCompute(hands.get(0), "S", TestMeldScoreCache::known));
+        assertEquals(2, cache.getOrCompute(hands.get(2), "S", TestMeldScoreCache::known));
+        assertEquals(3, cache.getOrCompute(hands.get(3), "S", TestMeldScoreCache::known));
+        assertEquals(11, cache.getOrCompute(hands.get(1), "S", () -> 11));
+
+        // Adding hand 1 back pushed out hand 0, the eldest after the lookups above
+        assertEquals(10, cache.getOrCompute(hands.get(0), "S", () -> 10));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testCounters() {
+        MeldScoreCache cache = new MeldScoreCache(16);
+        assertEquals(0, cache.getHitRate(), 0);
+
+        cache.getOrCompute(hands.get(0), "S", () -> 7);
+        cache.getOrCompute(hands.get(1), "S", () -> 8);
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        assertEquals(7, cache.getOrCompute(hands.get(0), "S", TestMeldScoreCache::known));
+        assertEquals(7, cache.getOrCompute(hands.get(0), "S", TestMeldScoreCache::known));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate(), 1e-9);
+
+        // put is not a lookup
+        cache.put(hands.get(2), "S", 9);
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.getOrCompute(hands.get(0), "S", () -> 7);
+        assertEquals(3, cache.getMisses());
+    }
+
+    // The same hand is a separate entry for each trump, each hit again when asked twice
+    @Test
+    public void testHitForEachTrump() {
+        MeldScoreCache cache = new MeldScoreCache(16);
+        CardSet hand = hands.get(0);
+        for (int i = 0; i < TRUMPS.length; i++) {
+            int score = i;
+            cache.getOrCompute(hand, TRUMPS[i], () -> score);
+        }
+        assertEquals(TRUMPS.length, cache.getMisses());
+        assertEquals(TRUMPS.length, cache.size());
+        for (int i = 0; i < TRUMPS.length; i++) {
+            assertEquals(i, cache.getOrCompute(hand, TRUMPS[i], TestMeldScoreCache::known));
+        }
+        assertEquals(TRUMPS.length, cache.getHits());
+
+        // Any trump that is not a suit shares one entry
+        cache.getOrCompute(hand, null, () -> 20);
+        assertEquals(20, cache.getOrCompute(hand, "X", TestMeldScoreCache::known));
+    }
+
+    // The four trump pass fills the cache, so bidding on the same hand never searches again
+    @Test
+    public void testAnalyzerHitsForEachTrump() {
+        MeldAnalyzer analyzer = new MeldAnalyzer(
+                new MeldAnalyzer("melds.json", new Properties()).getAvailableMelds(),
+                new MemoizedMeldOptimizer(), new MeldScoreCache(16));
+        MeldScoreCache cache = analyzer.getScoreCache();
+        CardSet hand = hands.get(0);
+        analyzer.analyzeAllTrumps(hand);
+        for (String trump : TRUMPS) {
+            analyzer.calculateBestScore(hand, trump);
+            analyzer.calculateBestScore(hand, trump);
+        }
+        assertEquals(0, cache.getMisses());
+        assertEquals(2 * TRUMPS.length, cache.getHits());
+    }
+
+    // Bidding asks for the four scores every round, only the first round searches
+    @Test
+    public void testAllTrumpScoresComeFromTheCache() {
+        MeldAnalyzer analyzer = new MeldAnalyzer(
+                new MeldAnalyzer("melds.json", new Properties()).getAvailableMelds(),
+                new MemoizedMeldOptimizer(), new MeldScoreCache(16));
+        MeldScoreCache cache = analyzer.getScoreCache();
+        CardSet hand = hands.get(1);
+        int[] scores = analyzer.calculateAllTrumpScores(hand);
+        assertEquals(1, cache.getMisses());
+        assertEquals(TRUMPS.length, cache.size());
+
+        for (int round = 0; round < 3; round++) {
+            assertArrayEquals(scores, analyzer.calculateAllTrumpScores(hand));
+        }
+        assertEquals(1, cache.getMisses());
+        assertEquals(3 * TRUMPS.length, cache.getHits());
+        for (int i = 0; i < TRUMPS.length; i++) {
+            assertEquals(analyzer.analyzeAllTrumps(hand).get(i).getScore(), scores[i]);
+        }
+    }
+}
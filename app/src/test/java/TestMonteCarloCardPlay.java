@@ -0,0 +1,68 @@
+import ai.ParallelRootEvaluator;
+import ai.strategy.MonteCarloCardPlayStrategy;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+import org.junit.Test;
+import protocolframework.DecisionType;
+import protocolframework.Request.GeneralCardDecisionRequest;
+import protocolframework.decision.GeneralCardDecision;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestMonteCarloCardPlay {
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+
+    private GeneralCardDecision decide(MonteCarloCardPlayStrategy strategy, List<PlayingCard> myHand,
+                                       List<PlayingCard> opponentHand, List<PlayingCard> trick, String trump) {
+        GameDataSnapshot snapshot = new GameDataSnapshot(List.of(myHand, opponentHand), List.of(), trump,
+                60, new int[]{40, 30}, trick, 24, 0);
+        return strategy.decide(new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_PLAY, 0, myHand));
+    }
+
+    // The strategy is handed the whole hand but only plays cards the rules allow
+    @Test(timeout = 20000)
+    public void testPlaysOnlyLegalCards() {
+        Random random = new Random(30008);
+        for (int game = 0; game < 200; game++) {
+            List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+            Collections.shuffle(deck, random);
+            List<PlayingCard> myHand = new ArrayList<>(deck.subList(0, 12));
+            List<PlayingCard> opponentHand = new ArrayList<>(deck.subList(12, 24));
+            List<PlayingCard> trick = List.of(opponentHand.remove(0));
+            String trump = TRUMPS[game % TRUMPS.length];
+
+            MonteCarloCardPlayStrategy strategy = new MonteCarloCardPlayStrategy(50, 0,
+                    ParallelRootEvaluator.sequential(), game);
+            int index = decide(strategy, myHand, opponentHand, trick, trump).getSelectedIndices().get(0);
+            assertTrue(TrickRules.checkValidTrick(myHand.get(index), myHand, trick, trump));
+        }
+    }
+
+    // Without a time limit the same seed gives the same card, also on several workers
+    @Test(timeout = 20000)
+    public void testSeededSearchIsRepeatable() {
+        List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+        Collections.shuffle(deck, new Random(7));
+        List<PlayingCard> myHand = new ArrayList<>(deck.subList(0, 12));
+        List<PlayingCard> opponentHand = new ArrayList<>(deck.subList(12, 24));
+
+        MonteCarloCardPlayStrategy sequential = new MonteCarloCardPlayStrategy(400, 0,
+                ParallelRootEvaluator.sequential(), 42);
+        MonteCarloCardPlayStrategy parallel = new MonteCarloCardPlayStrategy(400, 0,
+                new ParallelRootEvaluator(new ForkJoinPool(4)), 42);
+        GeneralCardDecision first = decide(sequential, myHand, opponentHand, List.of(), "H");
+        GeneralCardDecision second = decide(parallel, myHand, opponentHand, List.of(), "H");
+        parallel.reset();
+        GeneralCardDecision third = decide(parallel, myHand, opponentHand, List.of(), "H");
+        assertEquals(first.getSelectedIndices(), second.getSelectedIndices());
+        assertEquals(first.getSelectedIndices(), third.getSelectedIndices());
+    }
+}
@@ -0,0 +1,53 @@
+import engine.HeadlessPinochle;
+import org.junit.Test;
+import simulation.ScenarioResult;
+import simulation.ScenarioRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestScenarioRunner {
+    private static final List<String> SCENARIOS = List.of(
+            "properties/test1.properties",
+            "properties/test2.properties",
+            "properties/test3.properties",
+            "properties/test4.properties",
+            "properties/test5.properties");
+
+    // Many scenarios on several workers give the same logs as one game at a time
+    @Test(timeout = 60000)
+    public void testParallelScenariosMatchSequentialGames() {
+        List<String> scenarios = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            scenarios.addAll(SCENARIOS);
+        }
+        Collections.shuffle(scenarios, new Random(7));
+
+        List<ScenarioResult> results = new ScenarioRunner(4).run(scenarios);
+        assertEquals(scenarios.size(), results.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            ScenarioResult result = results.get(i);
+            assertTrue(result.toString(), result.isPassed());
+            assertEquals(scenarios.get(i), result.getName());
+            Properties properties = PropertiesLoader.loadPropertiesFile(scenarios.get(i));
+            assertEquals(new HeadlessPinochle(properties).runApp(), result.getLog());
+        }
+    }
+
+    // A text that is not in the log fails the scenario and is reported
+    @Test(timeout = 10000)
+    public void testMissingExpectationIsReported() {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test1.properties");
+        properties.setProperty(ScenarioRunner.EXPECT_PREFIX + "wrong", "Final Score: 0,268");
+        ScenarioResult result = ScenarioRunner.runScenario("test1", properties);
+        assertFalse(result.isPassed());
+        assertEquals(List.of("Final Score: 0,268"), result.getMissingExpectations());
+    }
+}
@@ -0,0 +1,64 @@
+import org.junit.Test;
+import simulation.SelfPlaySimulator;
+import simulation.SimulationStats;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestSelfPlaySimulator {
+    private static final int GAMES = 200;
+    private static final long SEED = 30008;
+
+    private Properties cutThroat() {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/simulation.properties");
+        properties.setProperty("mode.cutthroat", "true");
+        return properties;
+    }
+
+    // Everything but the time of the first line
+    private String withoutTime(SimulationStats stats) {
+        String text = stats.toString();
+        return text.substring(text.indexOf('\n') + 1);
+    }
+
+    private void assertSameStats(SimulationStats expected, SimulationStats actual) {
+        assertEquals(expected.getGames(), actual.getGames());
+        assertEquals(expected.getDraws(), actual.getDraws());
+        assertEquals(expected.getBidsOpened(0), actual.getBidsOpened(0));
+        assertEquals(expected.getAverageBid(), actual.getAverageBid(), 0);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(expected.getWinRate(i), actual.getWinRate(i), 0);
+            assertEquals(expected.getAverageMeld(i), actual.getAverageMeld(i), 0);
+            assertEquals(expected.getAverageTrickPoints(i), actual.getAverageTrickPoints(i), 0);
+            assertEquals(expected.getBidSuccessRate(i), actual.getBidSuccessRate(i), 0);
+        }
+        assertEquals(withoutTime(expected), withoutTime(actual));
+    }
+
+    // The random draws of the AIs come from the game seeds too, so nothing depends on the threads
+    @Test(timeout = 60000)
+    public void testCutThroatBatchIsRepeatable() {
+        SimulationStats first = new SelfPlaySimulator(cutThroat(), cutThroat()).run(GAMES, 1, SEED);
+        assertEquals(GAMES, first.getGames());
+        assertSameStats(first, new SelfPlaySimulator(cutThroat(), cutThroat()).run(GAMES, 1, SEED));
+        assertSameStats(first, new SelfPlaySimulator(cutThroat(), cutThroat()).run(GAMES, 3, SEED));
+        assertSameStats(first, new SelfPlaySimulator(cutThroat(), cutThroat()).run(GAMES, 8, SEED));
+    }
+
+    // Whatever seat opens the bidding, both configurations open it in half of the games
+    @Test(timeout = 60000)
+    public void testConfigurationsChangeSeats() {
+        Properties smart = PropertiesLoader.loadPropertiesFile("properties/simulation.properties");
+        Properties random = PropertiesLoader.loadPropertiesFile("properties/simulation.properties");
+        random.setProperty("players.0.smartbids", "false");
+        random.setProperty("mode.smarttrick", "false");
+
+        for (String bidFirst : new String[]{"random", "computer", "human"}) {
+            smart.setProperty("players.bid_first", bidFirst);
+            SimulationStats stats = new SelfPlaySimulator(smart, random).run(GAMES, 3, SEED);
+            assertEquals(bidFirst, GAMES / 2, stats.getBidsOpened(0));
+            assertEquals(bidFirst, GAMES / 2, stats.getBidsOpened(1));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import ai.strategy.SmartCardPlayStrategy;
+import core.PlayingCard;
+import core.TrickRules;
+import data.GameDataSnapshot;
+import org.junit.Test;
+import protocolframework.DecisionType;
+import protocolframework.Request.GeneralCardDecisionRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestSmartCardPlay {
+    private static final String[] TRUMPS = {"S", "H", "D", "C"};
+    private static final int POSITIONS_PER_CASE = 40;
+
+    // Chosen by the strategy before it was moved onto CardSet, for the positions below.
+    // One row per trump and leading/following, in the order the positions are drawn
+    private static final int[][] BASELINE_CHOICES = {
+            // S lead, S follow
+            {0, 1, 0, 1, 3, 5, 1, 1, 2, 0, 0, 4, 3, 0, 3, 0, 1, 1, 0, 1, 0, 1, 0, 0, 6, 2, 0, 6, 0, 1, 3, 0, 3, 2, 0, 1, 2, 0, 2, 1},
+            {1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 1, 2, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 3, 0, 0, 0, 3},
+            // H lead, H follow
+            {2, 2, 1, 0, 1, 0, 1, 7, 0, 2, 2, 5, 3, 2, 9, 0, 0, 6, 4, 8, 6, 0, 3, 1, 1, 6, 0, 3, 5, 1, 1, 0, 5, 1, 3, 1, 1, 0, 0, 1},
+            {0, 0, 1, 0, 0, 0, 2, 1, 1, 0, 0, 1, 0, 0, 0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+            // D lead, D follow
+            {0, 0, 0, 1, 7, 2, 5, 2, 8, 0, 6, 0, 2, 0, 3, 4, 7, 0, 6, 0, 4, 0, 1, 0, 2, 5, 1, 0, 0, 3, 0, 0, 0, 8, 0, 2, 0, 8, 0, 1},
+            {1, 0, 0, 0, 0, 0, 1, 1, 0, 1, 0, 0, 0, 2, 0, 4, 0, 1, 0, 0, 1, 0, 3, 0, 1, 0, 0, 0, 0, 0, 2, 1, 0, 0, 0, 0, 0, 0, 0, 0},
+            // C lead, C follow
+            {0, 4, 0, 10, 1, 0, 0, 0, 3, 0, 1, 0, 7, 10, 1, 1, 0, 0, 1, 0, 0, 6, 5, 10, 2, 3, 7, 4, 0, 0, 4, 1, 3, 0, 6, 4, 0, 4, 0, 3},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 2, 0, 0, 0, 0, 1, 1, 1, 3, 1, 0, 0, 1, 3, 0, 0, 1, 2, 2, 0, 7, 2, 0, 5, 0, 0},
+    };
+
+    // A random hand with its legal cards, cards already played and, when following, the lead card
+    // Hands hold both copies of a card now and then, which is where ties come from
+    private static GeneralCardDecisionRequest position(Random random, String trump, boolean following) {
+        List<PlayingCard> deck = new ArrayList<>(PlayingCard.fullDeck());
+        Collections.shuffle(deck, random);
+        int handSize = 1 + random.nextInt(12);
+        int opponentSize = following ? handSize - 1 : handSize;
+        List<PlayingCard> hand = new ArrayList<>(deck.subList(0, handSize));
+        Collections.sort(hand);
+        List<PlayingCard> trick = following ? List.of(deck.get(handSize)) : List.of();
+        int start = handSize + trick.size();
+        List<PlayingCard> opponent = deck.subList(start, start + opponentSize);
+        start += opponentSize;
+        List<PlayingCard> played = deck.subList(start, start + random.nextInt(deck.size() - start + 1));
+        GameDataSnapshot snapshot = new GameDataSnapshot(List.of(hand, opponent), played, trump, 0,
+                new int[]{0, 0}, trick, 0, 0);
+        List<PlayingCard> legalCards = TrickRules.legalCards(hand, TrickRules.legalTypes(hand, trick, trump));
+        return new GeneralCardDecisionRequest(snapshot, DecisionType.CARD_PLAY, 0, legalCards);
+    }
+
+    // The same card as the baseline: the trump nine is worth 10, the first card wins a tie,
+    // and a trick that can not be won gets the cheapest card
+    @Test(timeout = 10000)
+    public void testChoicesMatchBaseline() {
+        SmartCardPlayStrategy strategy = new SmartCardPlayStrategy();
+        Random random = new Random(30008);
+        int row = 0;
+        for (String trump : TRUMPS) {
+            for (boolean following : new boolean[]{false, true}) {
+                for (int i = 0; i < POSITIONS_PER_CASE; i++) {
+                    GeneralCardDecisionRequest request = position(random, trump, following);
+                    List<Integer> chosen = strategy.decide(request).getSelectedIndices();
+                    assertEquals(trump + (following ? " follow " : " lead ") + i + " " + request.getAvailableCards(),
+                            List.of(BASELINE_CHOICES[row][i]), chosen);
+                }
+                row++;
+            }
+        }
+    }
+}
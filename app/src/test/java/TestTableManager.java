@@ -0,0 +1,144 @@
+import ai.AIBuilder;
+import ai.GameAI;
+import ai.ParallelRootEvaluator;
+import data.GameDataSnapshot;
+import engine.AIPlayerController;
+import engine.EnginePhase;
+import engine.HeadlessPinochle;
+import engine.ScriptedPlayerController;
+import meld.MeldAnalyzer;
+import org.junit.Test;
+import server.GameTable;
+import server.LocalTableClient;
+import server.TableClient;
+import server.TableManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestTableManager {
+
+    // Waits for its turn and does nothing, the test moves for it
+    private static class WaitingClient implements TableClient {
+        private final CompletableFuture<GameDataSnapshot> turn = new CompletableFuture<>();
+
+        @Override
+        public void onTurn(GameTable table, EnginePhase phase, int seat, GameDataSnapshot snapshot) {
+            turn.complete(snapshot);
+        }
+    }
+
+    private void assertFailsWith(Class<?> expected, CompletableFuture<Void> move) throws Exception {
+        try {
+            move.get(5, TimeUnit.SECONDS);
+            fail("The move should have been refused");
+        } catch (ExecutionException e) {
+            assertEquals(expected, e.getCause().getClass());
+        }
+    }
+
+    // Scripted clients on the server play the same game as the headless engine
+    @Test(timeout = 30000)
+    public void testScriptedClientsPlayTheSameGame() throws Exception {
+        try (TableManager manager = new TableManager(2, HeadlessPinochle.DEFAULT_SEED)) {
+            for (int n = 1; n <= 4; n++) {
+                Properties properties = PropertiesLoader.loadPropertiesFile("properties/test" + n + ".properties");
+                GameAI gameAI = new AIBuilder(properties, new MeldAnalyzer("melds.json", properties))
+                        .configureFromProperties()
+                        .build();
+                LocalTableClient[] clients = new LocalTableClient[2];
+                for (int seat = 0; seat < clients.length; seat++) {
+                    clients[seat] = new LocalTableClient(
+                            new ScriptedPlayerController(properties, seat, new AIPlayerController(gameAI)));
+                }
+                GameTable table = manager.openTable(properties, HeadlessPinochle.DEFAULT_SEED, clients);
+                assertEquals(new HeadlessPinochle(properties).runApp(), table.getResult().get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    // Many AI tables on a few workers all finish and leave the manager
+    @Test(timeout = 60000)
+    public void testManyTablesOnFewWorkers() throws Exception {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test2.properties");
+        try (TableManager manager = new TableManager(4, 7)) {
+            List<GameTable> tables = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                tables.add(manager.openTable(properties));
+            }
+            for (GameTable table : tables) {
+                assertTrue(table.getResult().get(30, TimeUnit.SECONDS).contains("Final Score:"));
+            }
+            assertEquals(0, manager.getOpenTableCount());
+        }
+    }
+
+    // The AIs of all tables search on the manager's pool, which is stopped with the manager
+    @Test(timeout = 60000)
+    public void testTablesShareTheSearchPool() throws Exception {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test2.properties");
+        properties.setProperty("isAuto", "false");
+        properties.setProperty("mode.montecarlo", "true");
+        properties.setProperty("montecarlo.iterations", "20");
+        properties.setProperty("montecarlo.seed", "1");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (TableManager manager = new TableManager(2, 7, new ParallelRootEvaluator(pool))) {
+            List<GameTable> tables = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                tables.add(manager.openTable(properties));
+            }
+            for (GameTable table : tables) {
+                assertTrue(table.getResult().get(30, TimeUnit.SECONDS).contains("Final Score:"));
+            }
+            assertTrue(pool.getPoolSize() > 0);
+        }
+        assertTrue(pool.isShutdown());
+    }
+
+    // Cut-throat tables are played by the AI only, a client could not answer its choices
+    @Test(timeout = 30000)
+    public void testCutThroatOnlyWithoutClients() throws Exception {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test5.properties");
+        try (TableManager manager = new TableManager(2, 1)) {
+            assertTrue(manager.openTable(properties).getResult().get(10, TimeUnit.SECONDS).contains("Final Score:"));
+            try {
+                manager.openTable(properties, null, new WaitingClient());
+                fail("A cut-throat table with a client should be refused");
+            } catch (IllegalArgumentException e) {
+                assertEquals(0, manager.getOpenTableCount());
+            }
+        }
+    }
+
+    // A move out of turn or a wrong move is refused and the table keeps waiting
+    @Test(timeout = 10000)
+    public void testWrongMovesAreRefused() throws Exception {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test1.properties");
+        properties.setProperty("players.bid_first", "human");
+        try (TableManager manager = new TableManager(2, 1)) {
+            WaitingClient client = new WaitingClient();
+            GameTable table = manager.openTable(properties, null, client);
+            client.turn.get(5, TimeUnit.SECONDS);
+            assertEquals(1, table.getWaitingSeat());
+
+            assertFailsWith(IllegalStateException.class, table.submitBid(0, 10));
+            assertFailsWith(IllegalStateException.class, table.selectTrump(1, "C"));
+            assertFailsWith(IllegalArgumentException.class, table.submitBid(1, -10));
+            assertEquals(1, table.getWaitingSeat());
+
+            table.submitBid(1, 0).get(5, TimeUnit.SECONDS);
+            table.close();
+            assertTrue(table.getResult().isCompletedExceptionally());
+            assertEquals(0, manager.getOpenTableCount());
+        }
+    }
+}
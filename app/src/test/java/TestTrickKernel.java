@@ -0,0 +1,34 @@
+import core.PlayingCard;
+import core.Rank;
+import core.TrickRules;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestTrickKernel {
+    private static final String[] TRUMPS = {null, "S", "H", "D", "C"};
+
+    private int points(PlayingCard card, String trump) {
+        boolean trumpNine = card.getRank() == Rank.NINE && card.getSuitShortHand().equals(trump);
+        return trumpNine ? Rank.NINE_TRUMP : card.getRank().getScoreValue();
+    }
+
+    // Every pair of cards under every trump: same winner and points as the rule written out
+    @Test(timeout = 10000)
+    public void testTableMatchesTheRules() {
+        for (int t = 0; t < TRUMPS.length; t++) {
+            String trump = TRUMPS[t];
+            for (PlayingCard lead : PlayingCard.fullDeck()) {
+                for (PlayingCard follow : PlayingCard.fullDeck()) {
+                    boolean secondWins = follow.isSameSuit(lead)
+                            ? follow.getRankCardValue() > lead.getRankCardValue()
+                            : follow.getSuitShortHand().equals(trump);
+                    int trick = TrickRules.resolveTrick(lead, follow, t - 1);
+                    assertEquals(lead + " " + follow + " " + trump, secondWins, TrickRules.isSecondWinner(trick));
+                    assertEquals(points(lead, trump) + points(follow, trump), TrickRules.trickPoints(trick));
+                    assertEquals(secondWins, TrickRules.doesSecondCardWin(lead, follow, trump));
+                }
+            }
+        }
+    }
+}